@@ -1,5 +1,6 @@
 package com.claimwildcats.api.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "firebase")
@@ -12,6 +13,10 @@ public class FirebaseProperties {
     private String databaseUrl;
     private String storageBucket;
     private final Credentials credentials = new Credentials();
+    private final Items items = new Items();
+    private final Async async = new Async();
+    private final Auth auth = new Auth();
+    private final SlowQueries slowQueries = new SlowQueries();
 
     public boolean isEnabled() {
         return enabled;
@@ -57,6 +62,22 @@ public class FirebaseProperties {
         return credentials;
     }
 
+    public Items getItems() {
+        return items;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Auth getAuth() {
+        return auth;
+    }
+
+    public SlowQueries getSlowQueries() {
+        return slowQueries;
+    }
+
     public static class Credentials {
         /** Filesystem path or classpath reference to the Firebase service account JSON. */
         private String location;
@@ -78,4 +99,294 @@ public class FirebaseProperties {
             this.type = type;
         }
     }
+
+    public static class Items {
+        private final SearchIndex searchIndex = new SearchIndex();
+        private final DetailCache detailCache = new DetailCache();
+        private final Replica replica = new Replica();
+        private final Hotspots hotspots = new Hotspots();
+        private final IndexProbes indexProbes = new IndexProbes();
+        private final Matches matches = new Matches();
+
+        public SearchIndex getSearchIndex() {
+            return searchIndex;
+        }
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        public DetailCache getDetailCache() {
+            return detailCache;
+        }
+
+        public Hotspots getHotspots() {
+            return hotspots;
+        }
+
+        public IndexProbes getIndexProbes() {
+            return indexProbes;
+        }
+
+        public Matches getMatches() {
+            return matches;
+        }
+    }
+
+    public static class SearchIndex {
+        /** Serve item searches from the in-process inverted index once it has been loaded. */
+        private boolean enabled = true;
+        /** Number of documents fetched per page while loading the index at startup. */
+        private int loadBatchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getLoadBatchSize() {
+            return loadBatchSize;
+        }
+
+        public void setLoadBatchSize(int loadBatchSize) {
+            this.loadBatchSize = loadBatchSize;
+        }
+    }
+
+    public static class DetailCache {
+        /** Maximum number of item details kept in memory. */
+        private long maxSize = 1_000;
+        /** How long a cached item detail may be served before it is reloaded from Firestore. */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class Replica {
+        /**
+         * Keep the search index in sync with a realtime listener on the items collection and serve search,
+         * similar-item and per-reporter reads from it instead of querying Firestore.
+         */
+        private boolean enabled = false;
+        /** Wait before subscribing again after the listener fails; doubled after each failure in a row. */
+        private Duration resubscribeDelay = Duration.ofSeconds(1);
+        /** Upper bound on the doubled re-subscribe delay. */
+        private Duration maxResubscribeDelay = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getResubscribeDelay() {
+            return resubscribeDelay;
+        }
+
+        public void setResubscribeDelay(Duration resubscribeDelay) {
+            this.resubscribeDelay = resubscribeDelay;
+        }
+
+        public Duration getMaxResubscribeDelay() {
+            return maxResubscribeDelay;
+        }
+
+        public void setMaxResubscribeDelay(Duration maxResubscribeDelay) {
+            this.maxResubscribeDelay = maxResubscribeDelay;
+        }
+    }
+
+    public static class Hotspots {
+        /** Space-Saving counters kept per day; locations above {@code 1/capacity} of a day's reports are never lost. */
+        private int capacity = 100;
+        /** Number of hotspots returned for each dashboard window. */
+        private int topK = 5;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getTopK() {
+            return topK;
+        }
+
+        public void setTopK(int topK) {
+            this.topK = topK;
+        }
+    }
+
+    public static class Matches {
+        /**
+         * Score each new lost or found item against the open items of the other status in the background, keep the
+         * best candidates in the {@code matches} collection and answer similar-item requests with one read of it.
+         */
+        private boolean enabled = false;
+        /** Items waiting to be matched; once it is full, new work is dropped and matched when first requested. */
+        private int queueCapacity = 1000;
+        /** Candidates kept per item. */
+        private int topN = 8;
+        /** How long shutdown waits for queued items to be matched and stored. */
+        private Duration drainTimeout = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getTopN() {
+            return topN;
+        }
+
+        public void setTopN(int topN) {
+            this.topN = topN;
+        }
+
+        public Duration getDrainTimeout() {
+            return drainTimeout;
+        }
+
+        public void setDrainTimeout(Duration drainTimeout) {
+            this.drainTimeout = drainTimeout;
+        }
+    }
+
+    public static class IndexProbes {
+        /** Probe every filtered feed query at startup rather than learning about missing indexes from a search. */
+        private boolean onStartup = true;
+        /**
+         * How long a query shape found to be missing its composite index is served by the index-free scan before it
+         * is probed again. Zero keeps it on the scan until restart.
+         */
+        private Duration reprobeInterval = Duration.ofMinutes(10);
+
+        public boolean isOnStartup() {
+            return onStartup;
+        }
+
+        public void setOnStartup(boolean onStartup) {
+            this.onStartup = onStartup;
+        }
+
+        public Duration getReprobeInterval() {
+            return reprobeInterval;
+        }
+
+        public void setReprobeInterval(Duration reprobeInterval) {
+            this.reprobeInterval = reprobeInterval;
+        }
+    }
+
+    public static class Async {
+        /** Threads that complete Firestore futures and run the mapping stages chained onto them. */
+        private int callbackThreads = 4;
+
+        public int getCallbackThreads() {
+            return callbackThreads;
+        }
+
+        public void setCallbackThreads(int callbackThreads) {
+            this.callbackThreads = callbackThreads;
+        }
+    }
+
+    public static class Auth {
+        private final TokenCache tokenCache = new TokenCache();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+    }
+
+    public static class TokenCache {
+        /** Reuse verified ID tokens until their {@code exp} instead of checking the signature on every request. */
+        private boolean enabled = true;
+        /** Maximum number of verified tokens kept in memory. */
+        private long maxSize = 10_000;
+        /**
+         * How often a cached token is re-checked against Firebase for revocation. Zero disables revocation
+         * checks, matching plain {@code verifyIdToken}.
+         */
+        private Duration revocationCheckInterval = Duration.ZERO;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getRevocationCheckInterval() {
+            return revocationCheckInterval;
+        }
+
+        public void setRevocationCheckInterval(Duration revocationCheckInterval) {
+            this.revocationCheckInterval = revocationCheckInterval;
+        }
+    }
+
+    public static class SlowQueries {
+        /** Queries that take at least this long, from issue to completion, are kept in the slow-query log. */
+        private Duration threshold = Duration.ofMillis(250);
+        /** Number of recent slow queries kept; older entries are overwritten. */
+        private int capacity = 256;
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.claimwildcats.api.config;
+
+import com.claimwildcats.api.service.QueryCapabilities;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/firestoreindexes}: the query shapes checked against Firestore so far and whether each has the
+ * composite index it needs, with Firestore's index-creation link for the ones that don't.
+ */
+@Component
+@Endpoint(id = "firestoreindexes")
+public class FirestoreIndexesEndpoint {
+
+    private final QueryCapabilities queryCapabilities;
+
+    public FirestoreIndexesEndpoint(QueryCapabilities queryCapabilities) {
+        this.queryCapabilities = queryCapabilities;
+    }
+
+    @ReadOperation
+    public List<QueryCapabilities.QueryCapability> indexes() {
+        return queryCapabilities.capabilities();
+    }
+}
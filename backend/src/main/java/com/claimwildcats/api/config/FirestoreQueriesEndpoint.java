@@ -0,0 +1,38 @@
+package com.claimwildcats.api.config;
+
+import com.claimwildcats.api.service.SlowQueryLog;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/firestorequeries}: the recent slow Firestore queries and the per-shape totals kept by
+ * {@link SlowQueryLog}, for finding the query that needs an index or a tighter limit.
+ */
+@Component
+@Endpoint(id = "firestorequeries")
+public class FirestoreQueriesEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public FirestoreQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public FirestoreQueries queries() {
+        return new FirestoreQueries(
+                slowQueryLog.threshold().toMillis(),
+                slowQueryLog.capacity(),
+                slowQueryLog.slowQueries(),
+                slowQueryLog.shapeStats());
+    }
+
+    public record FirestoreQueries(
+            long thresholdMillis,
+            int capacity,
+            List<SlowQueryLog.SlowQuery> slowQueries,
+            List<SlowQueryLog.ShapeStats> shapes) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.claimwildcats.api.config;
+
+import com.claimwildcats.api.service.FirestoreMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tallies the Firestore calls made on behalf of each {@code /api} request and records them through
+ * {@link FirestoreMetrics} once the response is complete, which for the asynchronous controllers is after the
+ * service futures have finished.
+ */
+@Component
+public class FirestoreRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final FirestoreMetrics firestoreMetrics;
+
+    public FirestoreRequestMetricsFilter(FirestoreMetrics firestoreMetrics) {
+        this.firestoreMetrics = firestoreMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        FirestoreMetrics.RequestTally tally = firestoreMetrics.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            firestoreMetrics.endRequest();
+        }
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String uri)
+                || !uri.startsWith("/api/")) {
+            return;
+        }
+        if (!request.isAsyncStarted()) {
+            firestoreMetrics.recordRequest(tally, request.getMethod(), uri);
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                firestoreMetrics.recordRequest(tally, request.getMethod(), uri);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+}
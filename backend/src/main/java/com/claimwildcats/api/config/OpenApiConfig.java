@@ -17,7 +17,7 @@ public class OpenApiConfig {
         return new OpenAPI()
                 .info(new Info()
                         .title("ClaimWildCats API")
-                        .version("v0.1.0")
+                        .version("v0.2.0")
                         .description("Lost & Found platform for campus operations.")
                         .contact(new Contact().name("ClaimWildCats Team").email("support@claimwildcats.com"))
                         .license(new License().name("MIT")))
@@ -1,15 +1,18 @@
 package com.claimwildcats.api.controller;
 
 import com.claimwildcats.api.domain.AdminDashboardSnapshot;
-import com.claimwildcats.api.domain.ClaimSummary;
 import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.domain.TimeToClaimReport;
 import com.claimwildcats.api.domain.UserProfile;
+import com.claimwildcats.api.dto.ClaimPage;
 import com.claimwildcats.api.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -25,8 +28,17 @@ public class AdminController {
 
     @GetMapping("/dashboard")
     @Operation(summary = "Dashboard snapshot", description = "High level KPIs for moderation.")
-    public AdminDashboardSnapshot dashboard() {
-        return adminService.dashboard();
+    public CompletableFuture<AdminDashboardSnapshot> dashboard() {
+        return adminService.dashboardAsync();
+    }
+
+    @GetMapping("/analytics/time-to-claim")
+    @Operation(
+            summary = "Time-to-claim analytics",
+            description = "p50/p90/p99 hours from report to approved claim over recent ISO weeks, by zone and week.")
+    public CompletableFuture<TimeToClaimReport> timeToClaim(
+            @RequestParam(value = "weeks", defaultValue = "12") int weeks) {
+        return adminService.timeToClaimAsync(weeks);
     }
 
     @GetMapping("/users")
@@ -42,8 +54,15 @@ public class AdminController {
     }
 
     @GetMapping("/claims/pending")
-    @Operation(summary = "Pending claims", description = "Claims awaiting review decisions.")
-    public List<ClaimSummary> pendingClaims() {
-        return adminService.pendingClaims();
+    @Operation(
+            summary = "Pending claims",
+            description = "Claims awaiting review decisions, newest first. Pass the previous response's nextCursor as "
+                    + "cursor to fetch the following page, and expand=item to embed each claimed item's summary. "
+                    + "Since v0.2.0 the body is a page object with the claims under claims, not a bare array.")
+    public CompletableFuture<ClaimPage> pendingClaims(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "expand", required = false) String expand) {
+        return adminService.pendingClaimsAsync(cursor, limit, ClaimExpansion.includesItem(expand));
     }
 }
@@ -3,12 +3,13 @@ package com.claimwildcats.api.controller;
 import com.claimwildcats.api.domain.ClaimStatus;
 import com.claimwildcats.api.domain.ClaimSummary;
 import com.claimwildcats.api.dto.ClaimItemRequest;
+import com.claimwildcats.api.dto.ClaimPage;
 import com.claimwildcats.api.security.SecurityUtils;
 import com.claimwildcats.api.service.ClaimService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,22 +34,32 @@ public class ClaimController {
     }
 
     @GetMapping("/items/{itemId}/claims")
-    @Operation(summary = "List claims", description = "Get all claims associated with an item.")
-    public List<ClaimSummary> list(@PathVariable String itemId) {
-        return claimService.listClaimsForItem(itemId);
+    @Operation(
+            summary = "List claims",
+            description = "Get the claims on an item, newest first, optionally only those with the given status. "
+                    + "Pass the previous response's nextCursor as cursor to fetch the following page, and "
+                    + "expand=item to embed the item's summary in each claim. Since v0.2.0 the body is a page object "
+                    + "with the claims under claims, not a bare array.")
+    public CompletableFuture<ClaimPage> list(
+            @PathVariable String itemId,
+            @RequestParam(value = "status", required = false) ClaimStatus status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "expand", required = false) String expand) {
+        return claimService.listClaimsForItemAsync(itemId, status, cursor, limit, ClaimExpansion.includesItem(expand));
     }
 
     @PostMapping("/items/{itemId}/claims")
     @Operation(summary = "Submit claim", description = "Claim ownership of a found item.")
-    public ClaimSummary submit(@PathVariable String itemId, @Valid @RequestBody ClaimItemRequest request) {
+    public CompletableFuture<ClaimSummary> submit(@PathVariable String itemId, @Valid @RequestBody ClaimItemRequest request) {
         String claimantId = SecurityUtils.currentUserId()
                 .orElseThrow(() -> new AccessDeniedException("Authentication required"));
-        return claimService.submitClaim(itemId, request, claimantId);
+        return claimService.submitClaimAsync(itemId, request, claimantId);
     }
 
     @PatchMapping("/claims/{claimId}/decision")
     @Operation(summary = "Review claim", description = "Approve or deny a claim as a finder or admin.")
-    public ClaimSummary review(
+    public CompletableFuture<ClaimSummary> review(
             @PathVariable String claimId,
             @RequestParam ClaimStatus status,
             @RequestParam(value = "reviewerId", required = false) String reviewerId) {
@@ -56,6 +67,6 @@ public class ClaimController {
         if (reviewer == null) {
             throw new AccessDeniedException("Reviewer identity required");
         }
-        return claimService.reviewClaim(claimId, status, reviewer);
+        return claimService.reviewClaimAsync(claimId, status, reviewer);
     }
 }
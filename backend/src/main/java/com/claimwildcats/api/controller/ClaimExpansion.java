@@ -0,0 +1,32 @@
+package com.claimwildcats.api.controller;
+
+import com.claimwildcats.api.service.InvalidRequestException;
+import java.util.Locale;
+
+/**
+ * Parses the {@code expand} parameter of claim listings, a comma-separated list of related records to embed. An
+ * unsupported name is rejected with {@code 400 Bad Request}.
+ */
+final class ClaimExpansion {
+
+    static final String ITEM = "item";
+
+    private ClaimExpansion() {
+    }
+
+    static boolean includesItem(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return false;
+        }
+        boolean item = false;
+        for (String part : expand.split(",")) {
+            String name = part.trim().toLowerCase(Locale.ROOT);
+            if (name.equals(ITEM)) {
+                item = true;
+            } else if (!name.isEmpty()) {
+                throw new InvalidRequestException("Unsupported expand value: " + part.trim());
+            }
+        }
+        return item;
+    }
+}
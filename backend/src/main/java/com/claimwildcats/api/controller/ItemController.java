@@ -4,8 +4,10 @@ import com.claimwildcats.api.domain.CampusZone;
 import com.claimwildcats.api.domain.ItemDetail;
 import com.claimwildcats.api.domain.ItemStatus;
 import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.domain.UserRole;
 import com.claimwildcats.api.dto.CreateFoundItemRequest;
 import com.claimwildcats.api.dto.CreateLostItemRequest;
+import com.claimwildcats.api.dto.ItemLookup;
 import com.claimwildcats.api.dto.ItemSearchResponse;
 import com.claimwildcats.api.dto.UpdateItemStatusRequest;
 import com.claimwildcats.api.security.SecurityUtils;
@@ -14,6 +16,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.annotation.Validated;
@@ -42,53 +45,67 @@ public class ItemController {
     @GetMapping
     @Operation(
             summary = "Search items",
-            description = "Returns a paginated feed of lost and found posts filtered by status, campus zone, and query.")
-    public ItemSearchResponse browse(
+            description = "Returns a paginated feed of lost and found posts filtered by status, campus zone, and query. "
+                    + "Pass the previous response's nextCursor as cursor to fetch the following page.")
+    public CompletableFuture<ItemSearchResponse> browse(
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "campusZone", required = false) String campusZone,
             @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "pageSize", defaultValue = "12") int pageSize) {
         ItemStatus parsedStatus = ItemStatus.fromValue(status);
         CampusZone parsedZone = CampusZone.fromValue(campusZone);
-        return itemService.searchItems(parsedStatus, parsedZone, query, page, pageSize);
+        return itemService.searchItemsAsync(parsedStatus, parsedZone, query, cursor, page, pageSize);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Get items",
+            description = "Fetch detail for up to 100 reports by id, e.g. ids=a,b,c. Results follow the request order, "
+                    + "one per distinct id, with found=false for ids that match no report.")
+    public CompletableFuture<List<ItemLookup>> lookup(@RequestParam("ids") List<String> ids) {
+        return itemService.findByIdsAsync(ids);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get item", description = "Fetch detail for a single lost or found report.")
-    public ItemDetail get(@PathVariable String id) {
-        return itemService.findById(id);
+    public CompletableFuture<ItemDetail> get(@PathVariable String id) {
+        return itemService.findByIdAsync(id);
     }
 
     @GetMapping("/{id}/similar")
     @Operation(summary = "Similar items", description = "Suggests potential matches for the given item.")
-    public List<ItemSummary> similar(@PathVariable String id) {
-        return itemService.findSimilar(id);
+    public CompletableFuture<List<ItemSummary>> similar(@PathVariable String id) {
+        return itemService.findSimilarAsync(id);
     }
 
     @PostMapping("/lost")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create lost item", description = "Submit a new lost item report.")
-    public ItemDetail reportLost(@Valid @RequestBody CreateLostItemRequest request) {
+    public CompletableFuture<ItemDetail> reportLost(@Valid @RequestBody CreateLostItemRequest request) {
         String reporterId = SecurityUtils.currentUserId()
                 .orElseThrow(() -> new AccessDeniedException("Authentication required"));
-        return itemService.createLostItem(request, reporterId);
+        return itemService.createLostItemAsync(request, reporterId);
     }
 
     @PostMapping("/found")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create found item", description = "Submit a new found item report.")
-    public ItemDetail reportFound(@Valid @RequestBody CreateFoundItemRequest request) {
+    public CompletableFuture<ItemDetail> reportFound(@Valid @RequestBody CreateFoundItemRequest request) {
         String reporterId = SecurityUtils.currentUserId()
                 .orElseThrow(() -> new AccessDeniedException("Authentication required"));
-        return itemService.createFoundItem(request, reporterId);
+        return itemService.createFoundItemAsync(request, reporterId);
     }
 
     @PatchMapping("/{id}/status")
-    @Operation(summary = "Update item status", description = "Owners can update the lifecycle state for their item.")
-    public ItemDetail updateStatus(@PathVariable String id, @Valid @RequestBody UpdateItemStatusRequest request) {
+    @Operation(
+            summary = "Update item status",
+            description = "Owners can update the lifecycle state for their item; admins can update any item.")
+    public CompletableFuture<ItemDetail> updateStatus(@PathVariable String id, @Valid @RequestBody UpdateItemStatusRequest request) {
         String currentUser = SecurityUtils.currentUserId()
                 .orElseThrow(() -> new AccessDeniedException("Authentication required"));
-        return itemService.updateStatus(id, request, currentUser);
+        return itemService.updateStatusAsync(
+                id, request, currentUser, SecurityUtils.currentUserHasRole(UserRole.ADMIN));
     }
 }
@@ -1,15 +1,18 @@
 package com.claimwildcats.api.controller;
 
-import com.claimwildcats.api.domain.ClaimSummary;
+import com.claimwildcats.api.domain.ClaimStatus;
 import com.claimwildcats.api.domain.ItemSummary;
 import com.claimwildcats.api.domain.UserProfile;
+import com.claimwildcats.api.dto.ClaimPage;
 import com.claimwildcats.api.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -25,19 +28,29 @@ public class UserController {
 
     @GetMapping("/{userId}")
     @Operation(summary = "User profile", description = "Fetch profile information for a campus community member.")
-    public UserProfile profile(@PathVariable String userId) {
-        return userService.getProfile(userId);
+    public CompletableFuture<UserProfile> profile(@PathVariable String userId) {
+        return userService.getProfileAsync(userId);
     }
 
     @GetMapping("/{userId}/reports")
     @Operation(summary = "User reports", description = "List lost and found reports created by the user.")
-    public List<ItemSummary> reports(@PathVariable String userId) {
-        return userService.listMyReports(userId);
+    public CompletableFuture<List<ItemSummary>> reports(@PathVariable String userId) {
+        return userService.listMyReportsAsync(userId);
     }
 
     @GetMapping("/{userId}/claims")
-    @Operation(summary = "User claims", description = "List claims submitted by the user.")
-    public List<ClaimSummary> claims(@PathVariable String userId) {
-        return userService.listMyClaims(userId);
+    @Operation(
+            summary = "User claims",
+            description = "List claims submitted by the user, newest first, optionally only those with the given "
+                    + "status. Pass the previous response's nextCursor as cursor to fetch the following page, and "
+                    + "expand=item to embed each claimed item's summary. Since v0.2.0 the body is a page object "
+                    + "with the claims under claims, not a bare array.")
+    public CompletableFuture<ClaimPage> claims(
+            @PathVariable String userId,
+            @RequestParam(value = "status", required = false) ClaimStatus status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "expand", required = false) String expand) {
+        return userService.listMyClaimsAsync(userId, status, cursor, limit, ClaimExpansion.includesItem(expand));
     }
 }
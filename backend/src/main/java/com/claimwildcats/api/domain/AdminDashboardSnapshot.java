@@ -5,7 +5,10 @@ import java.util.List;
 public record AdminDashboardSnapshot(
         double claimRate,
         double averageMatchHours,
+        TimeToClaimStats timeToClaim,
         int itemsLast7Days,
         int itemsLast30Days,
-        List<String> hotspotBuildings) {
+        List<String> hotspotBuildings,
+        List<Hotspot> hotspotsLast7Days,
+        List<Hotspot> hotspotsLast30Days) {
 }
@@ -1,7 +1,12 @@
 package com.claimwildcats.api.domain;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.Instant;
 
+/**
+ * A claim on an item. {@code item} is the claimed item's summary when the listing was asked to expand it, and is
+ * left out of the JSON otherwise or when the item no longer exists.
+ */
 public record ClaimSummary(
         String id,
         String itemId,
@@ -9,5 +14,21 @@ public record ClaimSummary(
         ClaimStatus status,
         Instant submittedAt,
         Instant reviewedAt,
-        String reviewerId) {
+        String reviewerId,
+        @JsonInclude(JsonInclude.Include.NON_NULL) ItemSummary item) {
+
+    public ClaimSummary(
+            String id,
+            String itemId,
+            String claimantId,
+            ClaimStatus status,
+            Instant submittedAt,
+            Instant reviewedAt,
+            String reviewerId) {
+        this(id, itemId, claimantId, status, submittedAt, reviewedAt, reviewerId, null);
+    }
+
+    public ClaimSummary withItem(ItemSummary item) {
+        return new ClaimSummary(id, itemId, claimantId, status, submittedAt, reviewedAt, reviewerId, item);
+    }
 }
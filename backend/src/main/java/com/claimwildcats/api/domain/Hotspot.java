@@ -0,0 +1,15 @@
+package com.claimwildcats.api.domain;
+
+/** A place where items are often reported, with an estimated report count for the window it was computed over. */
+public record Hotspot(String locationText, CampusZone campusZone, long reports) {
+
+    public String label() {
+        if (campusZone == null) {
+            return locationText;
+        }
+        if (locationText == null || locationText.isBlank()) {
+            return campusZone.getJsonValue();
+        }
+        return locationText + " (" + campusZone.getJsonValue() + ")";
+    }
+}
@@ -0,0 +1,12 @@
+package com.claimwildcats.api.domain;
+
+import java.util.Collection;
+
+/** Open and resolved (claimed) item reports for one reporter, as shown on the profile page. */
+public record ReportCounts(int open, int resolved) {
+
+    public static ReportCounts of(Collection<ItemSummary> reports) {
+        int resolved = (int) reports.stream().filter(summary -> summary.status() == ItemStatus.CLAIMED).count();
+        return new ReportCounts(reports.size() - resolved, resolved);
+    }
+}
@@ -0,0 +1,14 @@
+package com.claimwildcats.api.domain;
+
+import java.util.Map;
+
+/**
+ * Time-to-claim over the last {@code weeks} ISO weeks (by approval date), overall, per campus zone and per week.
+ * Weeks are keyed like {@code 2026-W42}, oldest first; items without a zone are grouped under {@code Unknown}.
+ */
+public record TimeToClaimReport(
+        int weeks,
+        TimeToClaimStats overall,
+        Map<String, TimeToClaimStats> byZone,
+        Map<String, TimeToClaimStats> byWeek) {
+}
@@ -0,0 +1,7 @@
+package com.claimwildcats.api.domain;
+
+/** Distribution of hours from an item being reported to a claim on it being approved. */
+public record TimeToClaimStats(long claims, double p50Hours, double p90Hours, double p99Hours) {
+
+    public static final TimeToClaimStats EMPTY = new TimeToClaimStats(0, 0, 0, 0);
+}
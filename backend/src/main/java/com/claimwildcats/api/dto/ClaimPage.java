@@ -0,0 +1,11 @@
+package com.claimwildcats.api.dto;
+
+import com.claimwildcats.api.domain.ClaimSummary;
+import java.util.List;
+
+/**
+ * One page of a claim listing, newest first. {@code nextCursor} is an opaque token for the following page, or
+ * {@code null} when there are no more claims.
+ */
+public record ClaimPage(List<ClaimSummary> claims, int limit, String nextCursor) {
+}
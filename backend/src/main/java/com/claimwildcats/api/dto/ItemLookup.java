@@ -0,0 +1,18 @@
+package com.claimwildcats.api.dto;
+
+import com.claimwildcats.api.domain.ItemDetail;
+
+/**
+ * One requested id in a multi-item lookup. {@code found} is false, and {@code item} is {@code null}, when no item
+ * has that id.
+ */
+public record ItemLookup(String id, boolean found, ItemDetail item) {
+
+    public static ItemLookup of(ItemDetail item) {
+        return new ItemLookup(item.id(), true, item);
+    }
+
+    public static ItemLookup missing(String id) {
+        return new ItemLookup(id, false, null);
+    }
+}
@@ -3,5 +3,10 @@ package com.claimwildcats.api.dto;
 import com.claimwildcats.api.domain.ItemSummary;
 import java.util.List;
 
-public record ItemSearchResponse(List<ItemSummary> items, int page, int pageSize, long totalItems) {
+/**
+ * One page of the item feed. {@code nextCursor} is an opaque token for the following page, or {@code null}
+ * when there are no more results.
+ */
+public record ItemSearchResponse(
+        List<ItemSummary> items, int page, int pageSize, long totalItems, String nextCursor) {
 }
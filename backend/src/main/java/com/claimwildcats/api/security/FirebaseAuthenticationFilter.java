@@ -1,13 +1,15 @@
 package com.claimwildcats.api.security;
 
-import com.google.firebase.auth.FirebaseAuth;
+import com.claimwildcats.api.domain.UserRole;
 import com.google.firebase.auth.FirebaseToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -21,10 +23,10 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(FirebaseAuthenticationFilter.class);
 
-    private final FirebaseAuth firebaseAuth;
+    private final FirebaseTokenCache tokenCache;
 
-    public FirebaseAuthenticationFilter(FirebaseAuth firebaseAuth) {
-        this.firebaseAuth = firebaseAuth;
+    public FirebaseAuthenticationFilter(FirebaseTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -39,8 +41,8 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                FirebaseToken decoded = firebaseAuth.verifyIdToken(token);
-                List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+                FirebaseToken decoded = tokenCache.verify(token);
+                List<GrantedAuthority> authorities = authoritiesFor(decoded);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(decoded.getUid(), token, authorities);
                 authentication.setDetails(decoded);
@@ -52,4 +54,22 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /** Everyone signed in is a USER; a {@code role} custom claim naming another {@link UserRole} adds that role. */
+    private List<GrantedAuthority> authoritiesFor(FirebaseToken decoded) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + UserRole.USER.name()));
+        Object claim = decoded.getClaims() == null ? null : decoded.getClaims().get("role");
+        if (claim instanceof String value) {
+            try {
+                UserRole role = UserRole.valueOf(value.trim().toUpperCase(Locale.US));
+                if (role != UserRole.USER) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_" + role.name()));
+                }
+            } catch (IllegalArgumentException ex) {
+                log.debug("Ignoring unknown role claim '{}' for {}", value, decoded.getUid());
+            }
+        }
+        return authorities;
+    }
 }
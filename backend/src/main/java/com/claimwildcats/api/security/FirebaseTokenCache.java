@@ -0,0 +1,135 @@
+package com.claimwildcats.api.security;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies Firebase ID tokens and remembers the decoded result until the token's {@code exp}, keyed by a SHA-256
+ * hash so raw tokens are never held in memory. With a revocation-check interval configured, a cached token is
+ * re-verified against Firebase with {@code checkRevoked} once per interval. Verification latency is published as
+ * {@code firebase.auth.token.verification}; hits and misses as the {@code cache.*} meters tagged
+ * {@code cache=firebaseIdTokens}.
+ */
+public class FirebaseTokenCache {
+
+    static final String CACHE_NAME = "firebaseIdTokens";
+    static final String VERIFICATION_TIMER = "firebase.auth.token.verification";
+
+    private final FirebaseAuth firebaseAuth;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Duration revocationCheckInterval;
+    private final Cache<String, CachedToken> cache;
+
+    public FirebaseTokenCache(FirebaseAuth firebaseAuth, FirebaseProperties firebaseProperties, MeterRegistry meterRegistry) {
+        this(firebaseAuth, firebaseProperties.getAuth().getTokenCache(), meterRegistry, Clock.systemUTC());
+    }
+
+    FirebaseTokenCache(
+            FirebaseAuth firebaseAuth, FirebaseProperties.TokenCache settings, MeterRegistry meterRegistry, Clock clock) {
+        this.firebaseAuth = firebaseAuth;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.revocationCheckInterval = settings.getRevocationCheckInterval() == null
+                ? Duration.ZERO
+                : settings.getRevocationCheckInterval();
+        if (settings.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(settings.getMaxSize())
+                    // Expiry is wall-clock (the token's exp), so entries age on the same clock.
+                    .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                    .expireAfter(Expiry.<String, CachedToken>writing(
+                            (key, cached) -> Duration.between(clock.instant(), cached.expiresAt())))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /** Returns the decoded token, verifying it with Firebase only on a miss or when a revocation check is due. */
+    public FirebaseToken verify(String idToken) throws FirebaseAuthException {
+        if (cache == null) {
+            return verifyWithFirebase(idToken);
+        }
+
+        String key = hash(idToken);
+        Instant now = clock.instant();
+        CachedToken cached = cache.getIfPresent(key);
+        if (cached != null && now.isBefore(cached.expiresAt()) && !revocationCheckDue(cached, now)) {
+            return cached.decoded();
+        }
+
+        FirebaseToken decoded;
+        try {
+            decoded = verifyWithFirebase(idToken);
+        } catch (FirebaseAuthException ex) {
+            cache.invalidate(key);
+            throw ex;
+        }
+        Instant expiresAt = expiryOf(decoded);
+        if (expiresAt != null && now.isBefore(expiresAt)) {
+            cache.put(key, new CachedToken(decoded, expiresAt, now));
+        }
+        return decoded;
+    }
+
+    private boolean checksRevocation() {
+        return revocationCheckInterval.isPositive();
+    }
+
+    private boolean revocationCheckDue(CachedToken cached, Instant now) {
+        return checksRevocation() && !now.isBefore(cached.verifiedAt().plus(revocationCheckInterval));
+    }
+
+    private FirebaseToken verifyWithFirebase(String idToken) throws FirebaseAuthException {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            FirebaseToken decoded = firebaseAuth.verifyIdToken(idToken, checksRevocation());
+            outcome = "success";
+            return decoded;
+        } finally {
+            Timer.builder(VERIFICATION_TIMER)
+                    .description("Firebase ID token verifications that were not answered from the cache")
+                    .tag("revocation-check", String.valueOf(checksRevocation()))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Instant expiryOf(FirebaseToken decoded) {
+        Object exp = decoded.getClaims() == null ? null : decoded.getClaims().get("exp");
+        return exp instanceof Number seconds ? Instant.ofEpochSecond(seconds.longValue()) : null;
+    }
+
+    private static String hash(String idToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(idToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record CachedToken(FirebaseToken decoded, Instant expiresAt, Instant verifiedAt) {
+    }
+}
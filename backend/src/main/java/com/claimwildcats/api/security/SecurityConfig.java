@@ -1,6 +1,10 @@
 package com.claimwildcats.api.security;
 
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.UserRole;
 import com.google.firebase.auth.FirebaseAuth;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,24 +20,38 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, ObjectProvider<FirebaseAuth> firebaseAuthProvider)
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            ObjectProvider<FirebaseAuth> firebaseAuthProvider,
+            FirebaseProperties firebaseProperties,
+            MeterRegistry meterRegistry)
             throws Exception {
         FirebaseAuth firebaseAuth = firebaseAuthProvider.getIfAvailable();
         if (firebaseAuth != null) {
-            http.addFilterBefore(new FirebaseAuthenticationFilter(firebaseAuth), UsernamePasswordAuthenticationFilter.class);
+            FirebaseTokenCache tokenCache = new FirebaseTokenCache(firebaseAuth, firebaseProperties, meterRegistry);
+            http.addFilterBefore(new FirebaseAuthenticationFilter(tokenCache), UsernamePasswordAuthenticationFilter.class);
         }
 
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async results are dispatched again after the controller returned; the original request
+                        // dispatch was already authorized.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                        .permitAll()
                         .requestMatchers(
                                 "/actuator/health",
+                                "/actuator/health/**",
                                 "/actuator/info",
                                 "/v3/api-docs/**",
                                 "/swagger-ui.html",
                                 "/swagger-ui/**")
                         .permitAll()
+                        // Metrics, Prometheus and the Firestore query and index reports describe the deployment.
+                        .requestMatchers("/actuator/**").hasRole(UserRole.ADMIN.name())
+                        // Admin listings page through real claims, claimant ids and item summaries.
+                        .requestMatchers("/api/admin/**").hasRole(UserRole.ADMIN.name())
                         .requestMatchers(HttpMethod.POST, "/api/items/**").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/items/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/items/**").authenticated()
@@ -1,5 +1,6 @@
 package com.claimwildcats.api.security;
 
+import com.claimwildcats.api.domain.UserRole;
 import java.util.Optional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,4 +20,14 @@ public final class SecurityUtils {
         }
         return Optional.empty();
     }
+
+    public static boolean currentUserHasRole(UserRole role) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        String authority = "ROLE_" + role.name();
+        return authentication.getAuthorities().stream()
+                .anyMatch(granted -> authority.equals(granted.getAuthority()));
+    }
 }
@@ -2,12 +2,16 @@ package com.claimwildcats.api.service;
 
 import com.claimwildcats.api.domain.AdminDashboardSnapshot;
 import com.claimwildcats.api.domain.ClaimStatus;
-import com.claimwildcats.api.domain.ClaimSummary;
 import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.domain.TimeToClaimReport;
+import com.claimwildcats.api.domain.TimeToClaimStats;
 import com.claimwildcats.api.domain.UserProfile;
 import com.claimwildcats.api.domain.UserRole;
+import com.claimwildcats.api.dto.ClaimPage;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,19 +19,48 @@ public class AdminService {
 
     private final ItemService itemService;
     private final ClaimService claimService;
+    private final FirebaseFacade firebaseFacade;
+    private final DashboardRollups dashboardRollups;
+    private final FirestoreMetrics firestoreMetrics;
 
-    public AdminService(ItemService itemService, ClaimService claimService) {
+    public AdminService(
+            ItemService itemService,
+            ClaimService claimService,
+            FirebaseFacade firebaseFacade,
+            DashboardRollups dashboardRollups,
+            FirestoreMetrics firestoreMetrics) {
         this.itemService = itemService;
         this.claimService = claimService;
+        this.firebaseFacade = firebaseFacade;
+        this.dashboardRollups = dashboardRollups;
+        this.firestoreMetrics = firestoreMetrics;
     }
 
     public AdminDashboardSnapshot dashboard() {
-        return new AdminDashboardSnapshot(
-                0.68,
-                36.4,
-                24,
-                102,
-                List.of("Library Atrium", "Engineering West", "Student Center"));
+        return FirestoreFutures.await(dashboardAsync());
+    }
+
+    /** Served from the rollups kept by item and claim writes, so the cost does not grow with the collections. */
+    public CompletableFuture<AdminDashboardSnapshot> dashboardAsync() {
+        return firebaseFacade.getFirestore()
+                .map(dashboardRollups::snapshot)
+                .orElseGet(() -> stubbed("admin.dashboard", new AdminDashboardSnapshot(
+                        0.68,
+                        36.4,
+                        new TimeToClaimStats(42, 20.5, 71.0, 158.0),
+                        24,
+                        102,
+                        List.of("Library Atrium", "Engineering West", "Student Center"),
+                        List.of(),
+                        List.of())));
+    }
+
+    /** Time-to-claim percentiles for the analytics page, merged from the weekly per-zone sketches. */
+    public CompletableFuture<TimeToClaimReport> timeToClaimAsync(int weeks) {
+        return firebaseFacade.getFirestore()
+                .map(firestore -> dashboardRollups.timeToClaimReport(firestore, weeks))
+                .orElseGet(() -> stubbed(
+                        "admin.timeToClaim", new TimeToClaimReport(0, TimeToClaimStats.EMPTY, Map.of(), Map.of())));
     }
 
     public List<UserProfile> listUsers() {
@@ -56,15 +89,14 @@ public class AdminService {
         return itemService.browseItems();
     }
 
-    public List<ClaimSummary> pendingClaims() {
-        return List.of(
-                new ClaimSummary(
-                        "claim-002",
-                        "lost-001",
-                        "user-456",
-                        ClaimStatus.PENDING,
-                        Instant.now().minusSeconds(2400),
-                        null,
-                        null));
+    /** Claims awaiting review across all items, newest first, a page at a time. */
+    public CompletableFuture<ClaimPage> pendingClaimsAsync(String cursor, int limit, boolean expandItems) {
+        return claimService.listClaimsByStatusAsync(ClaimStatus.PENDING, cursor, limit, expandItems);
+    }
+
+    /** Answers {@code call} with stub data because Firestore is not configured, counting the fallback. */
+    private <T> CompletableFuture<T> stubbed(String call, T stub) {
+        firestoreMetrics.fallback(FirestoreMetrics.STUB, call);
+        return CompletableFuture.completedFuture(stub);
     }
 }
@@ -3,19 +3,27 @@ package com.claimwildcats.api.service;
 import com.claimwildcats.api.domain.ClaimStatus;
 import com.claimwildcats.api.domain.ClaimSummary;
 import com.claimwildcats.api.dto.ClaimItemRequest;
+import com.claimwildcats.api.dto.ClaimPage;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.Transaction;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -25,122 +33,293 @@ public class ClaimService {
 
     private static final Logger log = LoggerFactory.getLogger(ClaimService.class);
     private static final String COLLECTION = "claims";
+    private static final String ITEMS_COLLECTION = "items";
+    private static final String CLAIM_ORDER_SHAPE = "submittedAt desc,__name__ desc";
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
 
     private final FirebaseFacade firebaseFacade;
+    private final ItemService itemService;
+    private final FirestoreFutures firestoreFutures;
+    private final DashboardRollups dashboardRollups;
 
-    public ClaimService(FirebaseFacade firebaseFacade) {
+    public ClaimService(
+            FirebaseFacade firebaseFacade,
+            ItemService itemService,
+            FirestoreFutures firestoreFutures,
+            DashboardRollups dashboardRollups) {
         this.firebaseFacade = firebaseFacade;
+        this.itemService = itemService;
+        this.firestoreFutures = firestoreFutures;
+        this.dashboardRollups = dashboardRollups;
     }
 
-    public List<ClaimSummary> listClaimsForItem(String itemId) {
-        return queryClaims("itemId", itemId);
+    public ClaimPage listClaimsForItem(String itemId) {
+        return listClaimsForItem(itemId, null, null, DEFAULT_PAGE_SIZE);
     }
 
-    public List<ClaimSummary> listClaimsForUser(String userId) {
-        return queryClaims("claimantId", userId);
+    public ClaimPage listClaimsForItem(String itemId, ClaimStatus status, String cursor, int limit) {
+        return FirestoreFutures.await(listClaimsForItemAsync(itemId, status, cursor, limit, false));
+    }
+
+    /**
+     * One page of the claims on {@code itemId}, newest first, optionally only those in {@code status}. With
+     * {@code expandItems}, each claim carries the summary of the item it claims; see {@link #withItems}.
+     */
+    public CompletableFuture<ClaimPage> listClaimsForItemAsync(
+            String itemId, ClaimStatus status, String cursor, int limit, boolean expandItems) {
+        return expanded(queryClaims("itemId", itemId, status, cursor, limit, "claims.listForItem"), expandItems);
+    }
+
+    public ClaimPage listClaimsForUser(String userId) {
+        return listClaimsForUser(userId, null, null, DEFAULT_PAGE_SIZE);
+    }
+
+    public ClaimPage listClaimsForUser(String userId, ClaimStatus status, String cursor, int limit) {
+        return FirestoreFutures.await(listClaimsForUserAsync(userId, status, cursor, limit, false));
+    }
+
+    /** One page of the claims submitted by {@code userId}; see {@link #listClaimsForItemAsync}. */
+    public CompletableFuture<ClaimPage> listClaimsForUserAsync(
+            String userId, ClaimStatus status, String cursor, int limit, boolean expandItems) {
+        return expanded(queryClaims("claimantId", userId, status, cursor, limit, "claims.listForUser"), expandItems);
+    }
+
+    /** One page of every claim in {@code status}, newest first, such as the pending claims awaiting review. */
+    public CompletableFuture<ClaimPage> listClaimsByStatusAsync(
+            ClaimStatus status, String cursor, int limit, boolean expandItems) {
+        return expanded(queryClaims(null, null, status, cursor, limit, "claims.listByStatus"), expandItems);
+    }
+
+    /**
+     * Attaches item summaries to {@code claims}. The distinct item ids are resolved together, from the item cache
+     * or one {@code getAll}, so a page of claims costs at most one more round trip however many items it names.
+     * Claims whose item no longer exists are returned without one.
+     */
+    public CompletableFuture<List<ClaimSummary>> withItems(List<ClaimSummary> claims) {
+        Set<String> itemIds = new LinkedHashSet<>();
+        for (ClaimSummary claim : claims) {
+            if (claim.itemId() != null) {
+                itemIds.add(claim.itemId());
+            }
+        }
+        if (itemIds.isEmpty()) {
+            return CompletableFuture.completedFuture(claims);
+        }
+        return itemService.findSummariesByIdsAsync(itemIds).thenApply(items -> {
+            List<ClaimSummary> expanded = new ArrayList<>(claims.size());
+            for (ClaimSummary claim : claims) {
+                expanded.add(claim.withItem(claim.itemId() == null ? null : items.get(claim.itemId())));
+            }
+            return expanded;
+        });
     }
 
     public ClaimSummary submitClaim(String itemId, ClaimItemRequest request, String claimantId) {
+        return FirestoreFutures.await(submitClaimAsync(itemId, request, claimantId));
+    }
+
+    public CompletableFuture<ClaimSummary> submitClaimAsync(String itemId, ClaimItemRequest request, String claimantId) {
         return firebaseFacade.getFirestore()
                 .map(firestore -> persistClaim(firestore, itemId, request, claimantId))
-                .orElseGet(() -> new ClaimSummary(
+                .orElseGet(() -> stubbed("claims.submit", new ClaimSummary(
                         "claim-fallback",
                         itemId,
                         claimantId,
                         ClaimStatus.PENDING,
                         Instant.now(),
                         null,
-                        null));
+                        null)));
     }
 
     public ClaimSummary reviewClaim(String claimId, ClaimStatus newStatus, String reviewerId) {
+        return FirestoreFutures.await(reviewClaimAsync(claimId, newStatus, reviewerId));
+    }
+
+    public CompletableFuture<ClaimSummary> reviewClaimAsync(String claimId, ClaimStatus newStatus, String reviewerId) {
         return firebaseFacade.getFirestore()
                 .map(firestore -> updateClaimStatus(firestore, claimId, newStatus, reviewerId))
-                .orElseGet(() -> new ClaimSummary(
+                .orElseGet(() -> stubbed("claims.review", new ClaimSummary(
                         claimId,
                         "item-123",
                         "user-789",
                         newStatus,
                         Instant.now().minusSeconds(900),
                         Instant.now(),
-                        reviewerId));
+                        reviewerId)));
+    }
+
+    private CompletableFuture<ClaimPage> expanded(CompletableFuture<ClaimPage> page, boolean expandItems) {
+        if (!expandItems) {
+            return page;
+        }
+        return page.thenCompose(claims -> withItems(claims.claims())
+                .thenApply(expanded -> new ClaimPage(expanded, claims.limit(), claims.nextCursor())));
     }
 
-    private List<ClaimSummary> queryClaims(String fieldName, String value) {
+    private CompletableFuture<ClaimPage> queryClaims(
+            String fieldName, String value, ClaimStatus status, String cursor, int limit, String call) {
+        int normalisedLimit = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        KeysetCursor position = KeysetCursor.decode(cursor);
         return firebaseFacade.getFirestore()
-                .map(firestore -> fetchClaims(firestore, fieldName, value))
-                .orElseGet(() -> List.of(new ClaimSummary(
+                .map(firestore -> fetchClaims(firestore, fieldName, value, status, position, normalisedLimit))
+                .orElseGet(() -> stubbed(call, new ClaimPage(List.of(new ClaimSummary(
                         "claim-001",
                         "item-001",
-                        value,
-                        ClaimStatus.PENDING,
+                        "claimantId".equals(fieldName) ? value : "user-001",
+                        status == null ? ClaimStatus.PENDING : status,
                         Instant.now().minusSeconds(1800),
                         null,
-                        null)));
+                        null)), normalisedLimit, null)));
     }
 
-    private List<ClaimSummary> fetchClaims(Firestore firestore, String fieldName, String value) {
-        try {
-            List<QueryDocumentSnapshot> documents = firestore.collection(COLLECTION)
-                    .whereEqualTo(fieldName, value)
-                    .orderBy("submittedAt", Query.Direction.DESCENDING)
-                    .get()
-                    .get()
-                    .getDocuments();
-            List<ClaimSummary> summaries = new ArrayList<>(documents.size());
-            for (QueryDocumentSnapshot doc : documents) {
-                map(doc).ifPresent(summaries::add);
-            }
-            return summaries;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while fetching claims", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to fetch claims from Firestore", e);
+    /**
+     * Reads one page plus one look-ahead document, keyset-paginated on {@code submittedAt} and document id. Each
+     * combination of equality filters needs its composite index; they are listed in {@code firestore.indexes.json}.
+     */
+    private CompletableFuture<ClaimPage> fetchClaims(
+            Firestore firestore, String fieldName, String value, ClaimStatus status, KeysetCursor cursor, int limit) {
+        Query query = firestore.collection(COLLECTION);
+        List<String> filters = new ArrayList<>(2);
+        if (fieldName != null) {
+            query = query.whereEqualTo(fieldName, value);
+            filters.add(fieldName + "==");
+        }
+        if (status != null) {
+            query = query.whereEqualTo("status", status.name());
+            filters.add("status==");
+        }
+        query = query.orderBy("submittedAt", Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.DESCENDING);
+        if (cursor != null) {
+            query = query.startAfter(cursor.startAfterValues());
         }
+        return firestoreFutures.adapt(
+                query.limit(limit + 1).get(),
+                FirestoreOperation.query(COLLECTION, new QueryShape(filters, CLAIM_ORDER_SHAPE, limit + 1, false)),
+                "Failed to fetch claims from Firestore").thenApply(snapshot -> {
+            List<QueryDocumentSnapshot> documents = snapshot.getDocuments();
+            int pageEnd = Math.min(documents.size(), limit);
+            List<ClaimSummary> summaries = new ArrayList<>(pageEnd);
+            for (int i = 0; i < pageEnd; i++) {
+                map(documents.get(i)).ifPresent(summaries::add);
+            }
+            String nextCursor = documents.size() > limit ? KeysetCursor.of(documents.get(limit - 1), "submittedAt").encode() : null;
+            return new ClaimPage(Collections.unmodifiableList(summaries), limit, nextCursor);
+        });
     }
 
-    private ClaimSummary persistClaim(
+    private CompletableFuture<ClaimSummary> persistClaim(
             Firestore firestore, String itemId, ClaimItemRequest request, String claimantId) {
         DocumentReference doc = firestore.collection(COLLECTION).document();
         Map<String, Object> document = new HashMap<>();
         document.put("itemId", itemId);
         document.put("claimantId", claimantId);
         document.put("status", ClaimStatus.PENDING.name());
-        document.put("submittedAt", Timestamp.now());
+        document.put("submittedAt", FieldValue.serverTimestamp());
         document.put("secretDetail", request.secretDetail());
         document.put("justification", request.justification());
         document.put("attachmentUrls", request.attachmentUrls() == null ? List.of() : new ArrayList<>(request.attachmentUrls()));
 
-        try {
-            doc.set(document).get();
-            DocumentSnapshot snapshot = doc.get().get();
-            return map(snapshot).orElseThrow();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while saving claim", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to save claim to Firestore", e);
-        }
+        return firestoreFutures.adapt(
+                doc.set(document),
+                FirestoreOperation.set(COLLECTION),
+                "Failed to save claim to Firestore").thenApply(writeResult -> {
+            // submittedAt is a server timestamp, which resolves to the commit time of this write.
+            Instant submittedAt = toInstant(writeResult.getUpdateTime());
+            return new ClaimSummary(
+                    doc.getId(),
+                    itemId,
+                    claimantId,
+                    ClaimStatus.PENDING,
+                    submittedAt == null ? Instant.now() : submittedAt,
+                    null,
+                    null);
+        });
     }
 
-    private ClaimSummary updateClaimStatus(
+    /**
+     * Writes the review and moves the dashboard's decision counters in one transaction. Approving a claim also
+     * reads its item to record the time from report to claim, with the item's zone and the approval week, on the
+     * claim itself, so a later re-review can take it back out of the rollup and the right sketches.
+     */
+    private CompletableFuture<ClaimSummary> updateClaimStatus(
             Firestore firestore, String claimId, ClaimStatus status, String reviewerId) {
-        try {
-            DocumentReference doc = firestore.collection(COLLECTION).document(claimId);
+        DocumentReference doc = firestore.collection(COLLECTION).document(claimId);
+        return firestoreFutures.adapt(firestore.runTransaction(transaction -> {
+            DocumentSnapshot claim = transaction.get(doc).get();
+            if (!claim.exists()) {
+                throw new IllegalArgumentException("Claim not found: " + claimId);
+            }
+            ClaimStatus previous = ClaimStatus.valueOf(claim.getString("status"));
+            ClaimStatus counted = DashboardRollups.countedDecision(claim);
+            DashboardRollups.ClaimTiming previousTiming = claimTiming(claim);
+            Timestamp reviewedAt = Timestamp.now();
+
             Map<String, Object> updates = new HashMap<>();
             updates.put("status", status.name());
-            updates.put("reviewedAt", Timestamp.now());
+            updates.put("reviewedAt", reviewedAt);
             updates.put("reviewerId", reviewerId);
-            doc.set(updates, SetOptions.merge()).get();
-            DocumentSnapshot refreshed = doc.get().get();
-            return map(refreshed).orElseThrow();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while updating claim", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to update claim in Firestore", e);
+            DashboardRollups.ClaimTiming timing = null;
+            if (status == ClaimStatus.APPROVED) {
+                timing = previous == ClaimStatus.APPROVED
+                        ? previousTiming
+                        : claimTiming(transaction, firestore, claim.getString("itemId"), reviewedAt);
+            }
+            updates.put("timeToClaimSeconds", timing == null ? FieldValue.delete() : timing.seconds());
+            updates.put("timeToClaimZone", timing == null ? FieldValue.delete() : timing.zone());
+            updates.put(
+                    "timeToClaimWeek", timing == null || timing.week() == null ? FieldValue.delete() : timing.week());
+            updates.put(DashboardRollups.COUNTED_DECISION, DashboardRollups.countedDecisionField(status));
+            transaction.set(doc, updates, SetOptions.merge());
+            dashboardRollups.recordClaimReviewed(firestore, transaction, counted, status, previousTiming, timing);
+
+            Instant submittedAt = toInstant(claim.getTimestamp("submittedAt"));
+            return new ClaimSummary(
+                    claimId,
+                    claim.getString("itemId"),
+                    claim.getString("claimantId"),
+                    status,
+                    submittedAt == null ? Instant.now() : submittedAt,
+                    toInstant(reviewedAt),
+                    reviewerId);
+        }), FirestoreOperation.transaction(COLLECTION, "reviewClaim")).handle((summary, failure) -> {
+            if (failure != null) {
+                Throwable cause = FirestoreFutures.unwrap(failure);
+                if (cause instanceof IllegalArgumentException) {
+                    throw (IllegalArgumentException) cause;
+                }
+                throw new IllegalStateException("Failed to update claim in Firestore", cause);
+            }
+            return summary;
+        });
+    }
+
+    /** Answers {@code call} with stub data because Firestore is not configured, counting the fallback. */
+    private <T> CompletableFuture<T> stubbed(String call, T stub) {
+        firestoreFutures.metrics().fallback(FirestoreMetrics.STUB, call);
+        return CompletableFuture.completedFuture(stub);
+    }
+
+    private DashboardRollups.ClaimTiming claimTiming(
+            Transaction transaction, Firestore firestore, String itemId, Timestamp claimedAt) throws Exception {
+        DocumentSnapshot item = transaction.get(firestore.collection(ITEMS_COLLECTION).document(itemId)).get();
+        Instant reportedAt = toInstant(item.getTimestamp("createdAt"));
+        if (reportedAt == null) {
+            return null;
         }
+        Instant approvedAt = toInstant(claimedAt);
+        long seconds = Math.max(0, Duration.between(reportedAt, approvedAt).toSeconds());
+        return dashboardRollups.timingOf(seconds, item.getString("campusZone"), approvedAt);
+    }
+
+    /** The timing stored when the claim was last approved, or null if it has none. */
+    private static DashboardRollups.ClaimTiming claimTiming(DocumentSnapshot claim) {
+        Long seconds = claim.getLong("timeToClaimSeconds");
+        return seconds == null
+                ? null
+                : new DashboardRollups.ClaimTiming(
+                        seconds, claim.getString("timeToClaimZone"), claim.getString("timeToClaimWeek"));
     }
 
     private java.util.Optional<ClaimSummary> map(DocumentSnapshot doc) {
@@ -169,6 +348,6 @@ public class ClaimService {
     private Instant toInstant(Timestamp timestamp) {
         return timestamp == null
                 ? null
-                : timestamp.toDate().toInstant();
+                : Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
     }
 }
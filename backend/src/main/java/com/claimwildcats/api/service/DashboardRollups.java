@@ -0,0 +1,317 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.domain.AdminDashboardSnapshot;
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ClaimStatus;
+import com.claimwildcats.api.domain.Hotspot;
+import com.claimwildcats.api.domain.TimeToClaimReport;
+import com.claimwildcats.api.domain.TimeToClaimStats;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.UpdateBuilder;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rollup counters behind the admin dashboard. Item creates and claim reviews add their increments to the batch or
+ * transaction that performs the write, so the counters move atomically with the data and never need a rescan.
+ * Items are counted per campus-local day in {@value #DAILY_ITEMS_COLLECTION}; claim decisions and time-to-claim
+ * sums live in one {@value #STATS_COLLECTION}/{@value #CLAIM_TOTALS} document. A dashboard read fetches that
+ * document and the last {@value #WINDOW_DAYS} daily documents in a single {@code getAll}, whatever the size of
+ * the collections, and takes hotspots from the {@link HotspotTracker}.
+ *
+ * <p>Approved claims also feed {@link QuantileSketch time-to-claim sketches} in {@value #SKETCH_COLLECTION}: one
+ * document per ISO week of approval and campus zone, plus an all-time document read by the dashboard. Each
+ * sketch is a bounded set of bucket counters, so storage per document and the cost of a report stay constant as
+ * claim history grows.
+ */
+@Component
+public class DashboardRollups {
+
+    static final String STATS_COLLECTION = "stats";
+    static final String CLAIM_TOTALS = "claims";
+    static final String DAILY_ITEMS_COLLECTION = "itemStatsDaily";
+    static final String SKETCH_COLLECTION = "timeToClaimSketches";
+    static final String ALL_TIME_SKETCH = "all";
+    static final String UNKNOWN_ZONE = "Unknown";
+    /** Claim field naming the decision ({@code APPROVED} or {@code DENIED}) the claim totals count it under. */
+    static final String COUNTED_DECISION = "rollupDecision";
+    static final int MAX_REPORT_WEEKS = 52;
+    private static final int WINDOW_DAYS = 30;
+    private static final int RECENT_DAYS = 7;
+
+    private final FirestoreFutures firestoreFutures;
+    private final HotspotTracker hotspotTracker;
+    private final Clock clock;
+
+    @Autowired
+    public DashboardRollups(FirestoreFutures firestoreFutures, HotspotTracker hotspotTracker) {
+        this(firestoreFutures, hotspotTracker, Clock.systemUTC());
+    }
+
+    /** {@code clock} decides which campus-local day a write is counted on; tests pass a fixed one. */
+    DashboardRollups(FirestoreFutures firestoreFutures, HotspotTracker hotspotTracker, Clock clock) {
+        this.firestoreFutures = firestoreFutures;
+        this.hotspotTracker = hotspotTracker;
+        this.clock = clock;
+    }
+
+    /** Counts one new item report on today's daily document. */
+    public void recordItemReported(Firestore firestore, UpdateBuilder<?> writes) {
+        writes.set(
+                dailyDocument(firestore, today()),
+                Map.of("reported", FieldValue.increment(1)),
+                SetOptions.merge());
+    }
+
+    /**
+     * The decision {@code claim} is counted under, or null when the totals do not count it: it is pending, or it was
+     * decided before the rollups existed. Nothing was backfilled for those, so they must not be backed out either.
+     */
+    static ClaimStatus countedDecision(DocumentSnapshot claim) {
+        String decision = claim.getString(COUNTED_DECISION);
+        return decision == null ? null : ClaimStatus.valueOf(decision);
+    }
+
+    /** The value of {@link #COUNTED_DECISION} once a claim is reviewed to {@code next}. */
+    static Object countedDecisionField(ClaimStatus next) {
+        return next == ClaimStatus.PENDING ? FieldValue.delete() : next.name();
+    }
+
+    /**
+     * Moves a claim between decision counters. {@code counted} is the decision the totals already count it under
+     * (see {@link #countedDecision}), so only decisions that were added are backed out. {@code previousTiming} is
+     * the time-to-claim recorded when the claim was last approved, so reopening or denying an approved claim takes
+     * it back out of the average and sketches.
+     */
+    public void recordClaimReviewed(
+            Firestore firestore,
+            UpdateBuilder<?> writes,
+            ClaimStatus counted,
+            ClaimStatus next,
+            ClaimTiming previousTiming,
+            ClaimTiming timing) {
+        if (counted == next) {
+            return;
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        if (counted == ClaimStatus.APPROVED) {
+            deltas.merge("approved", -1L, Long::sum);
+            if (previousTiming != null) {
+                deltas.merge("timeToClaimCount", -1L, Long::sum);
+                deltas.merge("timeToClaimSeconds", -previousTiming.seconds(), Long::sum);
+                recordSketches(firestore, writes, previousTiming, -1);
+            }
+        } else if (counted == ClaimStatus.DENIED) {
+            deltas.merge("denied", -1L, Long::sum);
+        }
+        if (next == ClaimStatus.APPROVED) {
+            deltas.merge("approved", 1L, Long::sum);
+            if (timing != null) {
+                deltas.merge("timeToClaimCount", 1L, Long::sum);
+                deltas.merge("timeToClaimSeconds", timing.seconds(), Long::sum);
+                recordSketches(firestore, writes, timing, 1);
+            }
+        } else if (next == ClaimStatus.DENIED) {
+            deltas.merge("denied", 1L, Long::sum);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<String, Object> increments = new HashMap<>();
+        deltas.forEach((field, delta) -> increments.put(field, FieldValue.increment(delta)));
+        writes.set(firestore.collection(STATS_COLLECTION).document(CLAIM_TOTALS), increments, SetOptions.merge());
+    }
+
+    /** Claims approved before sketches existed carry no week and were never added, so they are not removed. */
+    private void recordSketches(Firestore firestore, UpdateBuilder<?> writes, ClaimTiming timing, long delta) {
+        if (timing.week() == null) {
+            return;
+        }
+        Map<String, Object> increments = QuantileSketch.increments(QuantileSketch.bucketOf(timing.seconds()), delta);
+        writes.set(sketchDocument(firestore, ALL_TIME_SKETCH), increments, SetOptions.merge());
+        writes.set(
+                sketchDocument(firestore, weeklySketchId(timing.week(), zoneKey(timing.zone()))),
+                increments,
+                SetOptions.merge());
+    }
+
+    /** The timing of a claim approved at {@code approvedAt} on an item in {@code campusZone}. */
+    public ClaimTiming timingOf(long seconds, String campusZone, Instant approvedAt) {
+        return new ClaimTiming(
+                seconds, zoneKey(campusZone), isoWeek(LocalDate.ofInstant(approvedAt, ItemService.CAMPUS_ZONE_ID)));
+    }
+
+    /**
+     * Reads the weekly sketches of every zone for the last {@code weeks} ISO weeks (capped at
+     * {@value #MAX_REPORT_WEEKS}) in one {@code getAll} and merges them per zone, per week and overall.
+     */
+    public CompletableFuture<TimeToClaimReport> timeToClaimReport(Firestore firestore, int weeks) {
+        int window = Math.min(Math.max(weeks, 1), MAX_REPORT_WEEKS);
+        List<String> weekKeys = new ArrayList<>(window);
+        LocalDate today = today();
+        for (int weeksAgo = window - 1; weeksAgo >= 0; weeksAgo--) {
+            weekKeys.add(isoWeek(today.minusWeeks(weeksAgo)));
+        }
+        List<String> zoneKeys = new ArrayList<>();
+        for (CampusZone zone : CampusZone.values()) {
+            zoneKeys.add(zone.getJsonValue());
+        }
+        zoneKeys.add(UNKNOWN_ZONE);
+
+        List<DocumentReference> documents = new ArrayList<>(weekKeys.size() * zoneKeys.size());
+        for (String week : weekKeys) {
+            for (String zone : zoneKeys) {
+                documents.add(sketchDocument(firestore, weeklySketchId(week, zone)));
+            }
+        }
+        return firestoreFutures.adapt(
+                        firestore.getAll(documents.toArray(DocumentReference[]::new)),
+                        FirestoreOperation.getAll(SKETCH_COLLECTION, "timeToClaimReport"),
+                        "Failed to load time-to-claim sketches from Firestore")
+                .thenApply(snapshots -> {
+                    QuantileSketch overall = new QuantileSketch();
+                    Map<String, QuantileSketch> byZone = new LinkedHashMap<>();
+                    Map<String, QuantileSketch> byWeek = new LinkedHashMap<>();
+                    zoneKeys.forEach(zone -> byZone.put(zone, new QuantileSketch()));
+                    weekKeys.forEach(week -> byWeek.put(week, new QuantileSketch()));
+                    // getAll answers in request order: each week's zones, oldest week first.
+                    for (int index = 0; index < snapshots.size(); index++) {
+                        QuantileSketch sketch = QuantileSketch.fromDocument(snapshots.get(index));
+                        overall.merge(sketch);
+                        byWeek.get(weekKeys.get(index / zoneKeys.size())).merge(sketch);
+                        byZone.get(zoneKeys.get(index % zoneKeys.size())).merge(sketch);
+                    }
+                    Map<String, TimeToClaimStats> zoneStats = new LinkedHashMap<>();
+                    byZone.forEach((zone, sketch) -> zoneStats.put(zone, stats(sketch)));
+                    Map<String, TimeToClaimStats> weekStats = new LinkedHashMap<>();
+                    byWeek.forEach((week, sketch) -> weekStats.put(week, stats(sketch)));
+                    return new TimeToClaimReport(window, stats(overall), zoneStats, weekStats);
+                });
+    }
+
+    /**
+     * Reads the claim totals, the all-time time-to-claim sketch and the last {@value #WINDOW_DAYS} daily item
+     * documents in one round trip.
+     */
+    public CompletableFuture<AdminDashboardSnapshot> snapshot(Firestore firestore) {
+        LocalDate today = today();
+        List<DocumentReference> documents = new ArrayList<>(WINDOW_DAYS + 2);
+        documents.add(firestore.collection(STATS_COLLECTION).document(CLAIM_TOTALS));
+        documents.add(sketchDocument(firestore, ALL_TIME_SKETCH));
+        for (int daysAgo = 0; daysAgo < WINDOW_DAYS; daysAgo++) {
+            documents.add(dailyDocument(firestore, today.minusDays(daysAgo)));
+        }
+        return firestoreFutures.adapt(
+                        firestore.getAll(documents.toArray(DocumentReference[]::new)),
+                        FirestoreOperation.getAll(STATS_COLLECTION, "dashboard"),
+                        "Failed to load dashboard stats from Firestore")
+                .thenApply(this::toSnapshot);
+    }
+
+    private AdminDashboardSnapshot toSnapshot(List<DocumentSnapshot> snapshots) {
+        DocumentSnapshot claims = snapshots.get(0);
+        long approved = longField(claims, "approved");
+        long denied = longField(claims, "denied");
+        long timeToClaimCount = longField(claims, "timeToClaimCount");
+        long timeToClaimSeconds = longField(claims, "timeToClaimSeconds");
+        TimeToClaimStats timeToClaim = stats(QuantileSketch.fromDocument(snapshots.get(1)));
+
+        int itemsLast7Days = 0;
+        int itemsLast30Days = 0;
+        // getAll answers in request order: the totals and sketch documents, then today and each earlier day.
+        for (int daysAgo = 0; daysAgo < WINDOW_DAYS && daysAgo + 2 < snapshots.size(); daysAgo++) {
+            DocumentSnapshot day = snapshots.get(daysAgo + 2);
+            if (!day.exists()) {
+                continue;
+            }
+            int reported = (int) longField(day, "reported");
+            itemsLast30Days += reported;
+            if (daysAgo < RECENT_DAYS) {
+                itemsLast7Days += reported;
+            }
+        }
+
+        List<Hotspot> hotspotsLast30Days = hotspotTracker.top(WINDOW_DAYS);
+        long decided = approved + denied;
+        return new AdminDashboardSnapshot(
+                decided == 0 ? 0 : approved / (double) decided,
+                timeToClaimCount == 0 ? 0 : timeToClaimSeconds / (double) timeToClaimCount / 3600.0,
+                timeToClaim,
+                itemsLast7Days,
+                itemsLast30Days,
+                hotspotsLast30Days.stream().map(Hotspot::label).toList(),
+                hotspotTracker.top(RECENT_DAYS),
+                hotspotsLast30Days);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock.withZone(ItemService.CAMPUS_ZONE_ID));
+    }
+
+    private DocumentReference dailyDocument(Firestore firestore, LocalDate day) {
+        return firestore.collection(DAILY_ITEMS_COLLECTION).document(day.toString());
+    }
+
+    private DocumentReference sketchDocument(Firestore firestore, String id) {
+        return firestore.collection(SKETCH_COLLECTION).document(id);
+    }
+
+    private static String weeklySketchId(String week, String zone) {
+        return week + "_" + zone;
+    }
+
+    private static String isoWeek(LocalDate day) {
+        return String.format(
+                Locale.US, "%d-W%02d", day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    /** Canonical zone spelling for sketch ids; missing or unrecognised zones are {@value #UNKNOWN_ZONE}. */
+    private static String zoneKey(String campusZone) {
+        try {
+            CampusZone zone = CampusZone.fromValue(campusZone);
+            return zone == null ? UNKNOWN_ZONE : zone.getJsonValue();
+        } catch (IllegalArgumentException ex) {
+            return UNKNOWN_ZONE;
+        }
+    }
+
+    private static TimeToClaimStats stats(QuantileSketch sketch) {
+        return new TimeToClaimStats(
+                sketch.count(),
+                sketch.quantile(0.5) / 3600.0,
+                sketch.quantile(0.9) / 3600.0,
+                sketch.quantile(0.99) / 3600.0);
+    }
+
+    /** Counters never legitimately go below zero; a stray decrement is read as zero rather than skewing the rates. */
+    private static long longField(DocumentSnapshot snapshot, String field) {
+        if (!snapshot.exists()) {
+            return 0;
+        }
+        Long value = snapshot.getLong(field);
+        return value == null ? 0 : Math.max(value, 0);
+    }
+
+    /**
+     * Time-to-claim of an approved claim as stored on the claim document: the seconds from report to approval,
+     * the item's zone and the ISO week of approval that pick its sketch. {@code week} is null for claims
+     * approved before sketches were kept.
+     */
+    public record ClaimTiming(long seconds, String zone, String week) {
+    }
+}
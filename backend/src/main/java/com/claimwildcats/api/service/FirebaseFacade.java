@@ -1,6 +1,9 @@
 package com.claimwildcats.api.service;
 
+import com.google.cloud.firestore.EventListener;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.QuerySnapshot;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.cloud.FirestoreClient;
 import java.util.Optional;
@@ -40,6 +43,14 @@ public class FirebaseFacade {
         return getAppIfReady().map(FirestoreClient::getFirestore);
     }
 
+    /**
+     * Subscribes to realtime updates for a whole collection. The first event carries every document as an
+     * {@code ADDED} change; later events carry only what changed. Returns empty when Firebase is not configured.
+     */
+    public Optional<ListenerRegistration> listenToCollection(String collection, EventListener<QuerySnapshot> listener) {
+        return getFirestore().map(firestore -> firestore.collection(collection).addSnapshotListener(listener));
+    }
+
     public void logReadiness() {
         if (isReady()) {
             log.debug("FirebaseApp is configured and ready.");
@@ -0,0 +1,167 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adapts Firestore {@link ApiFuture}s to {@link CompletableFuture}s without parking a thread on {@code get()}.
+ * Completions are delivered on a small dedicated pool, so the mapping stages chained onto them never run on
+ * the gRPC transport threads. With {@code spring.threads.virtual.enabled} they run on virtual threads instead,
+ * matching the request threads Tomcat uses in that mode. Every call is timed and counted by
+ * {@link FirestoreMetrics} under the {@link FirestoreOperation} it is adapted with, and queries are also
+ * recorded in the {@link SlowQueryLog}.
+ */
+@Component
+public class FirestoreFutures {
+
+    private final Executor callbackExecutor;
+    private final ExecutorService ownedExecutor;
+    private final FirestoreMetrics metrics;
+    private final SlowQueryLog slowQueryLog;
+
+    @Autowired
+    public FirestoreFutures(
+            FirebaseProperties firebaseProperties,
+            Environment environment,
+            FirestoreMetrics metrics,
+            SlowQueryLog slowQueryLog) {
+        this(Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("firestore-callback-", 0).factory())
+                : Executors.newFixedThreadPool(
+                        Math.max(firebaseProperties.getAsync().getCallbackThreads(), 1),
+                        daemonThreads("firestore-callback-")),
+                metrics,
+                slowQueryLog);
+    }
+
+    /** Delivers completions on {@code callbackExecutor}; tests pass {@code Runnable::run}. */
+    FirestoreFutures(Executor callbackExecutor) {
+        this(callbackExecutor, new FirestoreMetrics(new SimpleMeterRegistry()));
+    }
+
+    FirestoreFutures(Executor callbackExecutor, FirestoreMetrics metrics) {
+        this(callbackExecutor, metrics, new SlowQueryLog(new FirebaseProperties.SlowQueries(), Clock.systemUTC()));
+    }
+
+    FirestoreFutures(Executor callbackExecutor, FirestoreMetrics metrics, SlowQueryLog slowQueryLog) {
+        this.callbackExecutor = callbackExecutor;
+        this.ownedExecutor = callbackExecutor instanceof ExecutorService service ? service : null;
+        this.metrics = metrics;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public FirestoreMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Completes with the RPC's result or, unchanged, with the exception it failed with. The call is recorded as
+     * {@code operation}, and is tallied against the request, if any, that issued it.
+     */
+    public <T> CompletableFuture<T> adapt(ApiFuture<T> future, FirestoreOperation operation) {
+        CompletableFuture<T> adapted = new CompletableFuture<>();
+        FirestoreMetrics.RequestTally tally = metrics.currentRequest();
+        long start = System.nanoTime();
+        ApiFutures.addCallback(future, new ApiFutureCallback<>() {
+            @Override
+            public void onSuccess(T result) {
+                long elapsed = System.nanoTime() - start;
+                int documents = metrics.recordCall(operation, result, null, elapsed, tally);
+                slowQueryLog.record(operation, documents, elapsed, false);
+                metrics.completeWithin(tally, () -> adapted.complete(result));
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+                long elapsed = System.nanoTime() - start;
+                metrics.recordCall(operation, null, failure, elapsed, tally);
+                slowQueryLog.record(operation, 0, elapsed, true);
+                metrics.completeWithin(tally, () -> adapted.completeExceptionally(failure));
+            }
+        }, callbackExecutor);
+        adapted.whenComplete((result, failure) -> {
+            if (adapted.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return adapted;
+    }
+
+    /**
+     * Like {@link #adapt(ApiFuture, FirestoreOperation)}, but a failed RPC surfaces as an
+     * {@link IllegalStateException} carrying {@code failureMessage}, which is how the blocking service methods have
+     * always reported Firestore errors.
+     */
+    public <T> CompletableFuture<T> adapt(ApiFuture<T> future, FirestoreOperation operation, String failureMessage) {
+        CompletableFuture<T> adapted = new CompletableFuture<>();
+        adapt(future, operation).whenComplete((result, failure) -> {
+            if (failure == null) {
+                adapted.complete(result);
+            } else {
+                adapted.completeExceptionally(new IllegalStateException(failureMessage, unwrap(failure)));
+            }
+        });
+        return adapted;
+    }
+
+    /**
+     * Blocks for an async service result on behalf of the synchronous API. Runtime failures are rethrown as
+     * they were raised, so callers see the same exceptions as before the service layer went async.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Firestore", e);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Firestore call failed", cause);
+        }
+    }
+
+    /** Strips the {@link CompletionException}/{@link ExecutionException} wrappers added by future stages. */
+    public static Throwable unwrap(Throwable failure) {
+        Throwable current = failure;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+}
@@ -0,0 +1,179 @@
+package com.claimwildcats.api.service;
+
+import com.google.cloud.firestore.AggregateQuerySnapshot;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Firestore meters, all tagged with the {@link FirestoreOperation} they describe:
+ * <ul>
+ *   <li>{@value #OPERATION_TIMER}: latency of every call made through {@link FirestoreFutures}, with
+ *       {@code outcome} {@code success} or {@code failure} and a percentile histogram for Prometheus;</li>
+ *   <li>{@value #DOCUMENTS_READ}: documents returned per read, with an aggregation counted as one read;</li>
+ *   <li>{@value #FALLBACKS}: reads answered by a degraded path, tagged with the {@code path} taken
+ *       ({@link #INDEX_FREE_SCAN}, {@link #STUB_SEARCH} or {@link #STUB}) and the service {@code call};</li>
+ *   <li>{@value #REQUEST_DOCUMENTS_READ} and {@value #REQUEST_OPERATIONS}: the same per HTTP request, tagged with
+ *       its method and URI template.</li>
+ * </ul>
+ * Reads made inside a transaction are timed as part of the transaction and not counted as documents read.
+ */
+@Component
+public class FirestoreMetrics {
+
+    static final String OPERATION_TIMER = "firestore.operation";
+    static final String DOCUMENTS_READ = "firestore.documents.read";
+    static final String FALLBACKS = "firestore.fallback";
+    static final String REQUEST_DOCUMENTS_READ = "firestore.request.documents.read";
+    static final String REQUEST_OPERATIONS = "firestore.request.operations";
+
+    /** Item search scanned the collection client-side because a composite index is missing. */
+    public static final String INDEX_FREE_SCAN = "searchWithoutIndex";
+    /** Item search failed outright and answered with stub data. */
+    public static final String STUB_SEARCH = "fallbackSearch";
+    /** Firestore is not configured, so the service answered with stub data. */
+    public static final String STUB = "stub";
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<RequestTally> currentRequest = new ThreadLocal<>();
+
+    public FirestoreMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Counts one answer from a degraded path; {@code call} names the service method, e.g. {@code items.search}. */
+    public void fallback(String path, String call) {
+        Counter.builder(FALLBACKS)
+                .description("Reads answered without the intended Firestore query")
+                .tag("path", path)
+                .tag("call", call)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Starts tallying the Firestore calls issued by the current thread, and by the completion stages of those
+     * calls, until {@link #endRequest} is called on this thread.
+     */
+    public RequestTally beginRequest() {
+        RequestTally tally = new RequestTally();
+        currentRequest.set(tally);
+        return tally;
+    }
+
+    /** Stops attributing calls from this thread; stages still in flight keep adding to the tally. */
+    public void endRequest() {
+        currentRequest.remove();
+    }
+
+    /** Records a finished request's tally under its method and URI template. */
+    public void recordRequest(RequestTally tally, String method, String uri) {
+        DistributionSummary.builder(REQUEST_DOCUMENTS_READ)
+                .description("Firestore documents read per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(tally.documentsRead());
+        DistributionSummary.builder(REQUEST_OPERATIONS)
+                .description("Firestore calls per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(tally.operations());
+    }
+
+    RequestTally currentRequest() {
+        return currentRequest.get();
+    }
+
+    /**
+     * Runs {@code completion} with {@code tally} as the current request, so calls issued by the stages it
+     * completes are attributed to the request that issued the call they depend on.
+     */
+    void completeWithin(RequestTally tally, Runnable completion) {
+        RequestTally previous = currentRequest.get();
+        if (tally == previous) {
+            completion.run();
+            return;
+        }
+        currentRequest.set(tally);
+        try {
+            completion.run();
+        } finally {
+            if (previous == null) {
+                currentRequest.remove();
+            } else {
+                currentRequest.set(previous);
+            }
+        }
+    }
+
+    /** Records one finished call and returns the number of documents it read. */
+    int recordCall(FirestoreOperation operation, Object result, Throwable failure, long nanos, RequestTally tally) {
+        Timer.builder(OPERATION_TIMER)
+                .description("Latency of Firestore calls as seen by the services")
+                .tags("collection", operation.collection(), "operation", operation.operation(),
+                        "shape", operation.shape(), "outcome", failure == null ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        int documents = 0;
+        if (failure == null && operation.isRead()) {
+            documents = documentsIn(result);
+            DistributionSummary.builder(DOCUMENTS_READ)
+                    .description("Documents returned per Firestore read")
+                    .tags("collection", operation.collection(), "operation", operation.operation(),
+                            "shape", operation.shape())
+                    .register(meterRegistry)
+                    .record(documents);
+        }
+        if (tally != null) {
+            tally.operations.incrementAndGet();
+            tally.documentsRead.addAndGet(documents);
+        }
+        return documents;
+    }
+
+    private static int documentsIn(Object result) {
+        if (result instanceof QuerySnapshot snapshot) {
+            return snapshot.size();
+        }
+        if (result instanceof DocumentSnapshot snapshot) {
+            return snapshot.exists() ? 1 : 0;
+        }
+        if (result instanceof AggregateQuerySnapshot) {
+            return 1;
+        }
+        if (result instanceof List<?> snapshots) {
+            int documents = 0;
+            for (Object snapshot : snapshots) {
+                if (snapshot instanceof DocumentSnapshot document && document.exists()) {
+                    documents++;
+                }
+            }
+            return documents;
+        }
+        return 0;
+    }
+
+    /** Firestore calls and documents read on behalf of one HTTP request. */
+    public static final class RequestTally {
+        private final AtomicInteger operations = new AtomicInteger();
+        private final AtomicInteger documentsRead = new AtomicInteger();
+
+        public int operations() {
+            return operations.get();
+        }
+
+        public int documentsRead() {
+            return documentsRead.get();
+        }
+    }
+}
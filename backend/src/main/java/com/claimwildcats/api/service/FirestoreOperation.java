@@ -0,0 +1,49 @@
+package com.claimwildcats.api.service;
+
+/**
+ * Names one kind of Firestore call for {@link FirestoreMetrics}: the collection it touches, what it does and its
+ * shape. Queries and aggregations carry their {@link QueryShape}, whose description is the shape, so every call
+ * served by the same index lands in the same series; document reads and writes name the call site instead.
+ */
+public record FirestoreOperation(String collection, String operation, String shape, QueryShape query) {
+
+    public static FirestoreOperation get(String collection) {
+        return new FirestoreOperation(collection, "get", "document", null);
+    }
+
+    public static FirestoreOperation getAll(String collection, String shape) {
+        return new FirestoreOperation(collection, "getAll", shape, null);
+    }
+
+    public static FirestoreOperation query(String collection, QueryShape query) {
+        return new FirestoreOperation(collection, "query", query.describe(), query);
+    }
+
+    public static FirestoreOperation count(String collection, QueryShape query) {
+        return new FirestoreOperation(collection, "count", query.describe(), query);
+    }
+
+    public static FirestoreOperation set(String collection) {
+        return new FirestoreOperation(collection, "set", "document", null);
+    }
+
+    public static FirestoreOperation update(String collection) {
+        return new FirestoreOperation(collection, "update", "document", null);
+    }
+
+    public static FirestoreOperation commit(String collection, String shape) {
+        return new FirestoreOperation(collection, "commit", shape, null);
+    }
+
+    public static FirestoreOperation transaction(String collection, String shape) {
+        return new FirestoreOperation(collection, "transaction", shape, null);
+    }
+
+    /** Whether the call returns documents, so its result counts towards documents read. */
+    boolean isRead() {
+        return switch (operation) {
+            case "get", "getAll", "query", "count" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.Hotspot;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streaming top-K of report locations ({@code locationText} within a campus zone) over the last
+ * {@value #WINDOW_DAYS} days, in bounded memory. Each campus-local day has its own Space-Saving summary of
+ * {@code firebase.items.hotspots.capacity} counters in a ring of day slots; a window query merges the slots it
+ * covers, so answering costs {@code days x capacity} whatever the number of reports. Counts are estimates that
+ * never undercount, overcounting a location by at most its slot's smallest counter, and any location with more
+ * than {@code 1/capacity} of a day's reports is guaranteed to be kept.
+ *
+ * <p>The tracker is fed from the item write path and rebuilt from the startup scan or replica snapshot, so it
+ * reflects the reports this instance has seen.
+ */
+@Component
+public class HotspotTracker {
+
+    static final int WINDOW_DAYS = 30;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int capacity;
+    private final int topK;
+    private final Clock clock;
+    private final DaySlot[] slots = new DaySlot[WINDOW_DAYS];
+
+    @Autowired
+    public HotspotTracker(FirebaseProperties firebaseProperties) {
+        this(firebaseProperties.getItems().getHotspots(), Clock.systemUTC());
+    }
+
+    HotspotTracker(FirebaseProperties.Hotspots settings, Clock clock) {
+        this.capacity = Math.max(settings.getCapacity(), 1);
+        this.topK = Math.max(settings.getTopK(), 1);
+        this.clock = clock;
+    }
+
+    /** Counts one report; reports older than the window, or without a location or zone, are ignored. */
+    public synchronized void record(String locationText, CampusZone campusZone, Instant reportedAt) {
+        String location = normalize(locationText);
+        if ((location == null && campusZone == null) || reportedAt == null) {
+            return;
+        }
+        long day = LocalDate.ofInstant(reportedAt, ItemService.CAMPUS_ZONE_ID).toEpochDay();
+        long today = today();
+        if (day > today || day <= today - WINDOW_DAYS) {
+            return;
+        }
+        int index = (int) Math.floorMod(day, (long) WINDOW_DAYS);
+        DaySlot slot = slots[index];
+        if (slot == null || slot.day() < day) {
+            slot = new DaySlot(day, new SpaceSaving<>(capacity));
+            slots[index] = slot;
+        } else if (slot.day() > day) {
+            return;
+        }
+        slot.summary().offer(new Location(location, campusZone));
+    }
+
+    /** The top locations over the last {@code days} campus-local days, including today. */
+    public synchronized List<Hotspot> top(int days) {
+        long today = today();
+        int window = Math.min(Math.max(days, 1), WINDOW_DAYS);
+        Map<Location, Long> merged = new HashMap<>();
+        // Newest day first, so a location is displayed with its most recent spelling.
+        for (long day = today; day > today - window; day--) {
+            DaySlot slot = slots[(int) Math.floorMod(day, (long) WINDOW_DAYS)];
+            if (slot != null && slot.day() == day) {
+                slot.summary().counts().forEach((location, count) -> merged.merge(location, count, Long::sum));
+            }
+        }
+        return merged.entrySet().stream()
+                .sorted(Map.Entry.<Location, Long>comparingByValue().reversed()
+                        .thenComparing(entry -> entry.getKey().key()))
+                .limit(topK)
+                .map(entry -> new Hotspot(entry.getKey().display(), entry.getKey().campusZone(), entry.getValue()))
+                .toList();
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(slots, null);
+    }
+
+    private long today() {
+        return LocalDate.now(clock.withZone(ItemService.CAMPUS_ZONE_ID)).toEpochDay();
+    }
+
+    private static String normalize(String locationText) {
+        if (locationText == null || locationText.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(locationText.trim()).replaceAll(" ");
+    }
+
+    /** Locations compare case-insensitively and ignoring repeated whitespace. */
+    private record Location(String display, CampusZone campusZone) {
+
+        String key() {
+            return (display == null ? "" : display.toLowerCase(Locale.US)) + "|" + campusZone;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Location location && key().equals(location.key());
+        }
+
+        @Override
+        public int hashCode() {
+            return key().hashCode();
+        }
+    }
+
+    private record DaySlot(long day, SpaceSaving<Location> summary) {
+    }
+
+    /**
+     * Space-Saving heavy-hitter summary (Metwally et al.): at most {@code capacity} counters; an unseen item
+     * replaces the smallest counter and inherits its count.
+     */
+    static final class SpaceSaving<T> {
+        private final int capacity;
+        private final Map<T, long[]> counters = new HashMap<>();
+
+        SpaceSaving(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(T item) {
+            long[] counter = counters.get(item);
+            if (counter != null) {
+                counter[0]++;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(item, new long[] {1});
+                return;
+            }
+            Map.Entry<T, long[]> smallest = null;
+            for (Map.Entry<T, long[]> entry : counters.entrySet()) {
+                if (smallest == null || entry.getValue()[0] < smallest.getValue()[0]) {
+                    smallest = entry;
+                }
+            }
+            long inherited = smallest.getValue()[0];
+            counters.remove(smallest.getKey());
+            counters.put(item, new long[] {inherited + 1});
+        }
+
+        Map<T, Long> counts() {
+            Map<T, Long> counts = new HashMap<>(counters.size());
+            counters.forEach((item, counter) -> counts.put(item, counter[0]));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.claimwildcats.api.service;
+
+/** A {@code cursor} parameter that is not a token a previous response returned as {@code nextCursor}. */
+public class InvalidCursorException extends InvalidRequestException {
+
+    public InvalidCursorException(String token, Throwable cause) {
+        super("Invalid cursor: " + token, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.claimwildcats.api.service;
+
+/**
+ * A request parameter the API cannot act on, such as a malformed cursor. It is the client's mistake, so the
+ * controllers answer it with {@code 400 Bad Request}; other {@link IllegalArgumentException}s are not mapped.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
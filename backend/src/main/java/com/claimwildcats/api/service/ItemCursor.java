@@ -0,0 +1,69 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.domain.ItemSummary;
+import com.google.cloud.firestore.DocumentSnapshot;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keyset position in the item feed, which is ordered by {@code createdAt} descending and then by document id
+ * descending, encoded as a {@link KeysetCursor}.
+ */
+record ItemCursor(Instant createdAt, String id) {
+
+    static final Comparator<ItemSummary> FEED_ORDER = Comparator
+            .comparing(ItemSummary::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ItemSummary::id, Comparator.reverseOrder());
+
+    static ItemCursor of(ItemSummary summary) {
+        return new ItemCursor(summary.createdAt(), summary.id());
+    }
+
+    static ItemCursor of(DocumentSnapshot doc) {
+        return of(KeysetCursor.of(doc, "createdAt"));
+    }
+
+    static ItemCursor decode(String token) {
+        KeysetCursor cursor = KeysetCursor.decode(token);
+        return cursor == null ? null : of(cursor);
+    }
+
+    private static ItemCursor of(KeysetCursor cursor) {
+        return new ItemCursor(cursor.timestamp(), cursor.id());
+    }
+
+    String encode() {
+        return keyset().encode();
+    }
+
+    /** Values for {@code Query.startAfter} on a query ordered by {@code createdAt} and document id. */
+    Object[] startAfterValues() {
+        return keyset().startAfterValues();
+    }
+
+    private KeysetCursor keyset() {
+        return new KeysetCursor(createdAt, id);
+    }
+
+    /** A summary that sorts exactly where this cursor points, for comparisons under {@link #FEED_ORDER}. */
+    ItemSummary probe() {
+        return new ItemSummary(id, null, null, null, null, createdAt, null, null);
+    }
+
+    /** Index of the first element in a feed-ordered list that sorts after this cursor. */
+    int positionIn(List<ItemSummary> feed) {
+        ItemSummary probe = probe();
+        int low = 0;
+        int high = feed.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (FEED_ORDER.compare(feed.get(mid), probe) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,65 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.ItemDetail;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, TTL-evicting cache of item details keyed by id. Entries are futures, so concurrent misses for the same
+ * id share one Firestore read without blocking a thread. Hit, miss and eviction counts are published as the
+ * {@code cache.*} meters tagged {@code cache=itemDetails}.
+ */
+@Component
+public class ItemDetailCache {
+
+    static final String CACHE_NAME = "itemDetails";
+
+    private final AsyncCache<String, ItemDetail> cache;
+
+    public ItemDetailCache(FirebaseProperties firebaseProperties, MeterRegistry meterRegistry) {
+        FirebaseProperties.DetailCache settings = firebaseProperties.getItems().getDetailCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** Returns the cached detail, loading and caching it on a miss. Failed loads are not cached. */
+    public CompletableFuture<ItemDetail> get(String id, Function<String, CompletableFuture<ItemDetail>> loader) {
+        return cache.get(id, (key, executor) -> loader.apply(key));
+    }
+
+    /** Returns the detail only if it is cached and already loaded; never waits for an in-flight read. */
+    public Optional<ItemDetail> getIfPresent(String id) {
+        CompletableFuture<ItemDetail> cached = cache.getIfPresent(id);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cached.join());
+    }
+
+    public void put(ItemDetail detail) {
+        cache.put(detail.id(), CompletableFuture.completedFuture(detail));
+    }
+
+    /**
+     * Caches {@code detail} unless an entry, possibly still loading, already exists. For details read outside
+     * {@link #get}, which may be older than what a concurrent write has just put.
+     */
+    public void putIfAbsent(ItemDetail detail) {
+        cache.asMap().putIfAbsent(detail.id(), CompletableFuture.completedFuture(detail));
+    }
+
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.domain.ItemSummary;
+
+/** A candidate for a lost or found report and its {@link MatchScoring} score, between 0 and 1. */
+public record ItemMatch(ItemSummary item, double score) {
+}
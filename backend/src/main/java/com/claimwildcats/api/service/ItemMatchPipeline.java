@@ -0,0 +1,279 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputes similar-item candidates off the request path. When a lost or found report is written, one worker
+ * thread scores it against the open reports of the other status with {@link ItemSearchIndex#similar} and stores the
+ * best {@code firebase.items.matches.top-n} in {@code matches/{itemId}}, candidate summaries included, so
+ * {@link #stored} answers a similar-items request with one document read. The candidates' own lists are then
+ * recomputed too, since the new report may belong in them.
+ *
+ * <p>The queue is bounded. When it is full, work is dropped and counted rather than making the request that
+ * reported the item wait; an item without stored matches is matched when someone first asks for them. Refreshes of
+ * candidates' lists only use the first half of the queue, so a burst of new reports is never shed in their favour.
+ * Shutdown stops taking work, refreshes queued by the items being drained included, and waits up to
+ * {@code drain-timeout} for the queue to empty.
+ *
+ * <p>Meters: {@value #QUEUE_DEPTH} is the number of items waiting, and {@value #JOBS} counts items by
+ * {@code trigger} ({@code reported}, {@code refresh}, {@code requested}) and {@code outcome} ({@code stored},
+ * {@code skipped} when the item isn't in the search index, {@code failed} or {@code rejected}).
+ */
+@Component
+public class ItemMatchPipeline {
+
+    static final String COLLECTION = "matches";
+    static final String QUEUE_DEPTH = "item.matches.queue.depth";
+    static final String JOBS = "item.matches.jobs";
+
+    private static final Logger log = LoggerFactory.getLogger(ItemMatchPipeline.class);
+
+    public enum Trigger {
+        /** A report was created or changed status. */
+        REPORTED,
+        /** A newer report was stored as one of this item's candidates, so its own list may be out of date. */
+        REFRESH,
+        /** Someone asked for the item's matches and none were stored. */
+        REQUESTED
+    }
+
+    private final FirebaseFacade firebaseFacade;
+    private final FirebaseProperties.Matches settings;
+    private final ItemSearchIndex searchIndex;
+    private final FirestoreFutures firestoreFutures;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor worker;
+
+    @Autowired
+    public ItemMatchPipeline(
+            FirebaseFacade firebaseFacade,
+            FirebaseProperties firebaseProperties,
+            ItemSearchIndex searchIndex,
+            FirestoreFutures firestoreFutures,
+            MeterRegistry meterRegistry) {
+        this(firebaseFacade, firebaseProperties.getItems().getMatches(), searchIndex, firestoreFutures, meterRegistry);
+    }
+
+    ItemMatchPipeline(
+            FirebaseFacade firebaseFacade,
+            FirebaseProperties.Matches settings,
+            ItemSearchIndex searchIndex,
+            FirestoreFutures firestoreFutures,
+            MeterRegistry meterRegistry) {
+        this.firebaseFacade = firebaseFacade;
+        this.settings = settings;
+        this.searchIndex = searchIndex;
+        this.firestoreFutures = firestoreFutures;
+        this.meterRegistry = meterRegistry;
+        if (settings.isEnabled()) {
+            CustomizableThreadFactory threads = new CustomizableThreadFactory("item-matches-");
+            threads.setDaemon(true);
+            this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(settings.getQueueCapacity(), 1)), threads);
+            Gauge.builder(QUEUE_DEPTH, worker, executor -> executor.getQueue().size())
+                    .description("Items waiting to be matched")
+                    .register(meterRegistry);
+        } else {
+            this.worker = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return worker != null;
+    }
+
+    /** Queues {@code id} to be matched; returns false when the pipeline is off, shutting down or its queue is full. */
+    public boolean submit(String id, Trigger trigger) {
+        if (worker == null) {
+            return false;
+        }
+        if (trigger == Trigger.REFRESH && worker.getQueue().remainingCapacity() < settings.getQueueCapacity() / 2) {
+            count(trigger, "rejected");
+            return false;
+        }
+        try {
+            worker.execute(() -> match(id, trigger));
+            return true;
+        } catch (RejectedExecutionException e) {
+            count(trigger, "rejected");
+            return false;
+        }
+    }
+
+    /**
+     * The stored candidates for {@code id}, best first, or empty when none have been stored. Candidates the search
+     * index now knows under another status, claimed items mostly, are left out.
+     */
+    public CompletableFuture<Optional<List<ItemSummary>>> stored(Firestore firestore, String id) {
+        return firestoreFutures.adapt(
+                firestore.collection(COLLECTION).document(id).get(),
+                FirestoreOperation.get(COLLECTION),
+                "Failed to read item matches").thenApply(snapshot -> {
+            if (!snapshot.exists()) {
+                return Optional.empty();
+            }
+            List<ItemSummary> candidates = new ArrayList<>();
+            for (Map<String, Object> candidate : candidatesOf(snapshot)) {
+                ItemSummary summary = fromStored(candidate);
+                if (isStillOpen(summary)) {
+                    candidates.add(summary);
+                }
+            }
+            return Optional.of(candidates);
+        });
+    }
+
+    /** Stops taking work and waits for the queued items to be matched and stored. */
+    @PreDestroy
+    public void drain() {
+        if (worker == null) {
+            return;
+        }
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(settings.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                int abandoned = worker.shutdownNow().size();
+                log.warn("Stopped matching items with {} still queued after {}", abandoned, settings.getDrainTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.shutdownNow();
+        }
+    }
+
+    void match(String id, Trigger trigger) {
+        Optional<Firestore> firestore = firebaseFacade.getFirestore();
+        Optional<ItemSummary> item = searchIndex.isReady() ? searchIndex.find(id) : Optional.empty();
+        if (firestore.isEmpty() || item.isEmpty()) {
+            count(trigger, "skipped");
+            return;
+        }
+        ItemStatus candidateStatus = candidateStatus(item.get().status());
+        List<ItemMatch> matches = candidateStatus == null
+                ? List.of()
+                : searchIndex.similar(id, candidateStatus, settings.getTopN());
+        try {
+            FirestoreFutures.await(firestoreFutures.adapt(
+                    firestore.get().collection(COLLECTION).document(id).set(toStored(item.get(), matches)),
+                    FirestoreOperation.set(COLLECTION),
+                    "Failed to store item matches"));
+            count(trigger, "stored");
+        } catch (RuntimeException e) {
+            log.warn("Could not store matches for item {}: {}", id, e.getMessage());
+            count(trigger, "failed");
+            return;
+        }
+        if (trigger == Trigger.REPORTED) {
+            for (ItemMatch match : matches) {
+                submit(match.item().id(), Trigger.REFRESH);
+            }
+        }
+    }
+
+    /** Lost reports are matched against found items and the other way round; claimed items have no candidates. */
+    static ItemStatus candidateStatus(ItemStatus status) {
+        if (status == ItemStatus.LOST) {
+            return ItemStatus.FOUND;
+        }
+        return status == ItemStatus.FOUND ? ItemStatus.LOST : null;
+    }
+
+    private boolean isStillOpen(ItemSummary candidate) {
+        if (!searchIndex.isReady()) {
+            return true;
+        }
+        return searchIndex.find(candidate.id())
+                .map(indexed -> indexed.status() == candidate.status())
+                .orElse(false);
+    }
+
+    private static Map<String, Object> toStored(ItemSummary item, List<ItemMatch> matches) {
+        List<Map<String, Object>> candidates = new ArrayList<>(matches.size());
+        for (ItemMatch match : matches) {
+            ItemSummary candidate = match.item();
+            Map<String, Object> stored = new HashMap<>();
+            stored.put("id", candidate.id());
+            stored.put("score", match.score());
+            stored.put("title", candidate.title());
+            stored.put("status", candidate.status().storageValue());
+            stored.put("locationText", candidate.locationText());
+            stored.put("campusZone", candidate.campusZone() == null ? null : candidate.campusZone().getJsonValue());
+            stored.put("createdAt", timestampOf(candidate.createdAt()));
+            stored.put("lastSeenAt", timestampOf(candidate.lastSeenAt()));
+            stored.put("tags", candidate.tags() == null ? List.of() : candidate.tags());
+            candidates.add(stored);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("itemStatus", item.status().storageValue());
+        data.put("candidates", candidates);
+        data.put("computedAt", FieldValue.serverTimestamp());
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> candidatesOf(DocumentSnapshot snapshot) {
+        Object candidates = snapshot.get("candidates");
+        return candidates instanceof List<?> list ? (List<Map<String, Object>>) list : List.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ItemSummary fromStored(Map<String, Object> stored) {
+        Object tags = stored.get("tags");
+        return new ItemSummary(
+                (String) stored.get("id"),
+                (String) stored.get("title"),
+                ItemStatus.fromValue((String) stored.get("status")),
+                (String) stored.get("locationText"),
+                CampusZone.fromValue((String) stored.get("campusZone")),
+                instantOf(stored.get("createdAt")),
+                instantOf(stored.get("lastSeenAt")),
+                tags instanceof List<?> list ? List.copyOf((List<String>) list) : List.of());
+    }
+
+    private static Timestamp timestampOf(Instant instant) {
+        return instant == null ? null : Timestamp.ofTimeSecondsAndNanos(instant.getEpochSecond(), instant.getNano());
+    }
+
+    private static Instant instantOf(Object value) {
+        return value instanceof Timestamp timestamp
+                ? Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos())
+                : null;
+    }
+
+    private void count(Trigger trigger, String outcome) {
+        Counter.builder(JOBS)
+                .description("Items matched in the background, by trigger and outcome")
+                .tag("trigger", trigger.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,464 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process inverted index over item reports. Title, description and tag tokens map to posting lists of
+ * item ids, next to per-status and per-campus-zone postings, so searches cover the whole collection without
+ * reading Firestore. Query tokens match indexed tokens by prefix to keep search-as-you-type working.
+ */
+@Component
+public class ItemSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    /**
+     * {@link #searchPage} sorts the matches instead of walking the feed when the most selective filter keeps at
+     * most one item in this many.
+     */
+    private static final int SORT_SELECTIVITY = 8;
+    /**
+     * {@link #similar} ignores tokens found in more than this share of all items (and more than
+     * {@link #MIN_COMMON_POSTING} of them): "a" and "the" say nothing about a match, but would make nearly every
+     * item a candidate.
+     */
+    private static final int COMMON_TOKEN_DIVISOR = 4;
+    private static final int MIN_COMMON_POSTING = 50;
+    /** Cached token-vector norms are recomputed once the index has grown or shrunk by this share since. */
+    private static final double NORM_REFRESH_DRIFT = 0.1;
+    /** Lower score first; on equal scores the older report is the worse match. */
+    private static final Comparator<ItemMatch> WORST_MATCH_FIRST = Comparator.comparingDouble(ItemMatch::score)
+            .thenComparing(ItemMatch::item, ItemCursor.FEED_ORDER.reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<String>> postings = new TreeMap<>();
+    private final Map<ItemStatus, Set<String>> byStatus = new EnumMap<>(ItemStatus.class);
+    private final Map<CampusZone, Set<String>> byZone = new EnumMap<>(CampusZone.class);
+    private final Map<String, Set<String>> byReporter = new HashMap<>();
+    private final NavigableSet<ItemSummary> ordered = new TreeSet<>(ItemCursor.FEED_ORDER);
+    /** Squared TF-IDF norm of each item's tokens, as of the last refresh or of its own upsert. */
+    private final Map<String, Double> squaredNorms = new HashMap<>();
+    private int normsComputedAtSize;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            entries.clear();
+            postings.clear();
+            byStatus.clear();
+            byZone.clear();
+            byReporter.clear();
+            ordered.clear();
+            squaredNorms.clear();
+            normsComputedAtSize = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(ItemSummary summary, String description) {
+        upsert(summary, description, null);
+    }
+
+    public void upsert(ItemSummary summary, String description, String reporterId) {
+        Set<String> tokens = new HashSet<>(tokenize(summary.title()));
+        tokens.addAll(tokenize(description));
+        if (summary.tags() != null) {
+            for (String tag : summary.tags()) {
+                tokens.addAll(tokenize(tag));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(summary.id());
+            entries.put(summary.id(), new Entry(summary, tokens, normaliseTags(summary.tags()), reporterId));
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new HashSet<>()).add(summary.id());
+            }
+            if (summary.status() != null) {
+                byStatus.computeIfAbsent(summary.status(), key -> new HashSet<>()).add(summary.id());
+            }
+            if (summary.campusZone() != null) {
+                byZone.computeIfAbsent(summary.campusZone(), key -> new HashSet<>()).add(summary.id());
+            }
+            if (reporterId != null) {
+                byReporter.computeIfAbsent(reporterId, key -> new HashSet<>()).add(summary.id());
+            }
+            ordered.add(summary);
+            squaredNorms.put(summary.id(), squaredNorm(tokens));
+            refreshNormsIfDrifted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            refreshNormsIfDrifted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<ItemSummary> find(String id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            return entry == null ? Optional.empty() : Optional.of(entry.summary());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the items reported by {@code reporterId} in feed order. */
+    public List<ItemSummary> listByReporter(String reporterId) {
+        lock.readLock().lock();
+        try {
+            Set<String> ids = byReporter.getOrDefault(reporterId, Set.of());
+            List<ItemSummary> reports = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                reports.add(entries.get(id).summary());
+            }
+            reports.sort(ItemCursor.FEED_ORDER);
+            return reports;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns every indexed item matching the filters in feed order (newest first). A {@code null} status or
+     * zone and a blank query leave that dimension unfiltered; each query token must prefix-match an indexed token.
+     */
+    public List<ItemSummary> search(ItemStatus status, CampusZone campusZone, String query) {
+        lock.readLock().lock();
+        try {
+            List<Set<String>> filters = filters(status, campusZone, query);
+            if (filters.isEmpty()) {
+                return new ArrayList<>(ordered);
+            }
+
+            Set<String> candidates = new HashSet<>(filters.get(0));
+            for (int i = 1; i < filters.size() && !candidates.isEmpty(); i++) {
+                candidates.retainAll(filters.get(i));
+            }
+            List<ItemSummary> matches = new ArrayList<>(candidates.size());
+            for (String id : candidates) {
+                matches.add(entries.get(id).summary());
+            }
+            matches.sort(ItemCursor.FEED_ORDER);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} items with {@code candidateStatus} that best match item {@code id}, best first, scored by
+     * {@link MatchScoring}. The text component is the TF-IDF cosine similarity of the two items' title, description
+     * and tag tokens, so a shared "airpods" counts for far more than a shared "black". Tags are tokenised too, so only
+     * candidates found through the item's own postings can score above zero, and only they are scored. Returns an
+     * empty list for an item that isn't indexed.
+     *
+     * <p>Candidate norms come from {@link #squaredNorms}, which lag document frequencies by at most a tenth of the
+     * index size; the ranking barely moves and a call no longer has to walk every candidate's tokens.
+     */
+    public List<ItemMatch> similar(String id, ItemStatus candidateStatus, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry root = entries.get(id);
+            Set<String> candidates = byStatus.getOrDefault(candidateStatus, Set.of());
+            if (root == null || candidates.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+
+            double rootNorm = 0;
+            int commonPosting = Math.max(MIN_COMMON_POSTING, entries.size() / COMMON_TOKEN_DIVISOR);
+            Map<String, Double> dotProducts = new HashMap<>();
+            for (String token : root.tokens()) {
+                Set<String> posting = postings.get(token);
+                double weight = squaredIdf(posting);
+                rootNorm += weight;
+                if (posting.size() > commonPosting) {
+                    continue;
+                }
+                for (String candidate : posting) {
+                    if (candidates.contains(candidate)) {
+                        dotProducts.merge(candidate, weight, Double::sum);
+                    }
+                }
+            }
+
+            PriorityQueue<ItemMatch> best = new PriorityQueue<>(limit + 1, WORST_MATCH_FIRST);
+            dotProducts.remove(id);
+            for (Map.Entry<String, Double> dotProduct : dotProducts.entrySet()) {
+                Entry candidate = entries.get(dotProduct.getKey());
+                double text = Math.min(1.0,
+                        dotProduct.getValue() / Math.sqrt(rootNorm * squaredNorms.get(dotProduct.getKey())));
+                double score = MatchScoring.score(
+                        text,
+                        MatchScoring.tags(root.tags(), candidate.tags()),
+                        MatchScoring.zone(root.summary().campusZone(), candidate.summary().campusZone()),
+                        MatchScoring.time(root.summary(), candidate.summary()));
+                if (score <= 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new ItemMatch(candidate.summary(), score));
+                } else if (score > best.peek().score()) {
+                    best.poll();
+                    best.add(new ItemMatch(candidate.summary(), score));
+                }
+            }
+            List<ItemMatch> matches = new ArrayList<>(best);
+            matches.sort(WORST_MATCH_FIRST.reversed());
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refreshNormsIfDrifted() {
+        if (Math.abs(entries.size() - normsComputedAtSize) <= normsComputedAtSize * NORM_REFRESH_DRIFT) {
+            return;
+        }
+        for (Entry entry : entries.values()) {
+            squaredNorms.put(entry.summary().id(), squaredNorm(entry.tokens()));
+        }
+        normsComputedAtSize = entries.size();
+    }
+
+    /** Squared length of an item's token vector; each token appears once, so its weight is just its idf. */
+    private double squaredNorm(Set<String> tokens) {
+        double norm = 0;
+        for (String token : tokens) {
+            norm += squaredIdf(postings.get(token));
+        }
+        return norm;
+    }
+
+    /** Square of a token's smoothed inverse document frequency, from its posting list. */
+    private double squaredIdf(Set<String> posting) {
+        double idf = Math.log(1.0 + (double) entries.size() / posting.size());
+        return idf * idf;
+    }
+
+    private static Set<String> normaliseTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> normalised = new HashSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) {
+                normalised.add(tag.trim().toLowerCase(Locale.US));
+            }
+        }
+        return normalised;
+    }
+
+    /**
+     * One page of {@link #search}'s result, by {@code cursor} when one is given and by page number otherwise, without
+     * building the full result: matches outside the page are only counted, and only the page is collected. When the
+     * narrowest filter, whether a status, a zone or a keyword token's prefix matches, keeps at most one item in
+     * {@link #SORT_SELECTIVITY}, just its matches are sorted; otherwise the feed is walked in order until the page is
+     * full. A broad keyword walks the feed like any other broad filter.
+     */
+    public Page searchPage(
+            ItemStatus status, CampusZone campusZone, String query, ItemCursor cursor, int page, int pageSize) {
+        lock.readLock().lock();
+        try {
+            List<Set<String>> filters = filters(status, campusZone, query);
+            if (!filters.isEmpty() && filters.get(0).size() * SORT_SELECTIVITY <= ordered.size()) {
+                return sortedPage(filters, cursor, page, pageSize);
+            }
+            int total = filters.isEmpty() ? ordered.size() : countMatches(filters);
+            Iterable<ItemSummary> feed = cursor == null ? ordered : ordered.tailSet(cursor.probe(), false);
+            int toSkip = cursor == null ? page * pageSize : 0;
+            ItemSummary[] slice = new ItemSummary[pageSize];
+            int collected = 0;
+            boolean hasMore = false;
+            for (ItemSummary summary : feed) {
+                if (!matchesAll(filters, 0, summary.id())) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                } else if (collected < pageSize) {
+                    slice[collected++] = summary;
+                } else {
+                    hasMore = true;
+                    break;
+                }
+            }
+            return new Page(pageOf(slice, collected), total, hasMore);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Page sortedPage(List<Set<String>> filters, ItemCursor cursor, int page, int pageSize) {
+        Set<String> narrowest = filters.get(0);
+        ItemSummary[] matches = new ItemSummary[narrowest.size()];
+        int count = 0;
+        for (String id : narrowest) {
+            if (matchesAll(filters, 1, id)) {
+                matches[count++] = entries.get(id).summary();
+            }
+        }
+        Arrays.sort(matches, 0, count, ItemCursor.FEED_ORDER);
+        int from = cursor != null
+                ? cursor.positionIn(Arrays.asList(matches).subList(0, count))
+                : Math.min(page * pageSize, count);
+        int to = Math.min(from + pageSize, count);
+        return new Page(pageOf(Arrays.copyOfRange(matches, from, to), to - from), count, to < count && to > from);
+    }
+
+    /** Filter postings for a search, the most selective first; an empty list leaves the feed unfiltered. */
+    private List<Set<String>> filters(ItemStatus status, CampusZone campusZone, String query) {
+        List<Set<String>> filters = new ArrayList<>();
+        if (status != null) {
+            filters.add(byStatus.getOrDefault(status, Set.of()));
+        }
+        if (campusZone != null) {
+            filters.add(byZone.getOrDefault(campusZone, Set.of()));
+        }
+        for (String token : tokenize(query)) {
+            filters.add(prefixMatches(token));
+        }
+        filters.sort(Comparator.comparingInt(Set::size));
+        return filters;
+    }
+
+    private int countMatches(List<Set<String>> filters) {
+        int count = 0;
+        for (String id : filters.get(0)) {
+            if (matchesAll(filters, 1, id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean matchesAll(List<Set<String>> filters, int from, String id) {
+        for (int i = from; i < filters.size(); i++) {
+            if (!filters.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The first {@code length} entries of {@code slice}, read-only and without another copy. */
+    private static List<ItemSummary> pageOf(ItemSummary[] slice, int length) {
+        return Collections.unmodifiableList(Arrays.asList(length == slice.length ? slice : Arrays.copyOf(slice, length)));
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String part : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.US))) {
+            if (!part.isEmpty()) {
+                tokens.add(part);
+            }
+        }
+        return tokens;
+    }
+
+    private Set<String> prefixMatches(String token) {
+        NavigableMap<String, Set<String>> range = postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue();
+        }
+        Set<String> ids = new HashSet<>();
+        for (Set<String> posting : range.values()) {
+            ids.addAll(posting);
+        }
+        return ids;
+    }
+
+    private void removeInternal(String id) {
+        Entry existing = entries.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String token : existing.tokens()) {
+            removeFromPosting(postings, token, id);
+        }
+        if (existing.summary().status() != null) {
+            removeFromPosting(byStatus, existing.summary().status(), id);
+        }
+        if (existing.summary().campusZone() != null) {
+            removeFromPosting(byZone, existing.summary().campusZone(), id);
+        }
+        if (existing.reporterId() != null) {
+            removeFromPosting(byReporter, existing.reporterId(), id);
+        }
+        ordered.remove(existing.summary());
+        squaredNorms.remove(id);
+    }
+
+    private static <K> void removeFromPosting(Map<K, Set<String>> index, K key, String id) {
+        Set<String> posting = index.get(key);
+        if (posting != null && posting.remove(id) && posting.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private record Entry(ItemSummary summary, Set<String> tokens, Set<String> tags, String reporterId) {
+    }
+
+    /**
+     * A page of search results in feed order, the number of items matching the search overall, and whether any
+     * match follows the page.
+     */
+    public record Page(List<ItemSummary> items, int totalMatches, boolean hasMore) {
+    }
+}
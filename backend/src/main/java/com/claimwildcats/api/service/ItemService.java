@@ -5,36 +5,64 @@ import com.claimwildcats.api.domain.CampusZone;
 import com.claimwildcats.api.domain.ItemDetail;
 import com.claimwildcats.api.domain.ItemStatus;
 import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.domain.ReportCounts;
 import com.claimwildcats.api.dto.CreateFoundItemRequest;
 import com.claimwildcats.api.dto.CreateLostItemRequest;
+import com.claimwildcats.api.dto.ItemLookup;
 import com.claimwildcats.api.dto.ItemSearchResponse;
 import com.claimwildcats.api.dto.UpdateItemStatusRequest;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
 import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.AggregateQuerySnapshot;
 import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentChange;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreException;
+import com.google.cloud.firestore.ListenerRegistration;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
 import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
 import com.google.cloud.firestore.WriteResult;
+import io.grpc.Status;
+import jakarta.annotation.PreDestroy;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -44,26 +72,153 @@ public class ItemService {
     private static final Logger log = LoggerFactory.getLogger(ItemService.class);
     private static final String COLLECTION = "items";
     private static final int MAX_FETCH = 200;
-    private static final ZoneId CAMPUS_ZONE_ID = ZoneId.of("Asia/Manila");
+    private static final int SCAN_BATCH_SIZE = 50;
+    private static final int SIMILAR_LIMIT = 8;
+    /** Most ids one multi-item lookup may ask for, so a single request can't become an unbounded batch read. */
+    public static final int MAX_LOOKUP_IDS = 100;
+    private static final String FEED_ORDER_SHAPE = "createdAt desc,__name__ desc";
+    /**
+     * Lower-cased title, description and tags, written with each item so keyword scans can match descriptions
+     * without downloading them.
+     */
+    static final String SEARCH_TEXT_FIELD = "searchText";
+    /** The fields {@link #mapSummary} reads; queries that only produce summaries select just these. */
+    static final String[] SUMMARY_FIELDS = {
+        "title", "status", "locationText", "campusZone", "createdAt", "lastSeenAt", "tags"
+    };
+    static final String[] SEARCHABLE_SUMMARY_FIELDS = {
+        "title", "status", "locationText", "campusZone", "createdAt", "lastSeenAt", "tags", SEARCH_TEXT_FIELD
+    };
+    private static final int WRITE_BATCH_LIMIT = 500;
+    static final ZoneId CAMPUS_ZONE_ID = ZoneId.of("Asia/Manila");
 
     private final FirebaseFacade firebaseFacade;
     private final FirebaseProperties firebaseProperties;
+    private final ItemSearchIndex searchIndex;
+    private final ItemDetailCache detailCache;
+    private final FirestoreFutures firestoreFutures;
+    private final DashboardRollups dashboardRollups;
+    private final HotspotTracker hotspotTracker;
+    private final QueryCapabilities queryCapabilities;
+    private final ItemMatchPipeline matchPipeline;
+    /**
+     * Per item, the read time of the newest status transaction applied to the detail cache and search index.
+     * Transactions on one item commit in the order of their reads, but their callbacks can finish in any order.
+     * Racing callbacks finish within moments of each other, so entries expire after the detail-cache TTL rather
+     * than piling up for every item ever updated.
+     */
+    private final Map<String, Timestamp> appliedStatusReads;
+    private volatile ListenerRegistration replicaRegistration;
+    /** Listener failures since the replica last received a snapshot; sets the re-subscribe backoff. */
+    private final AtomicInteger replicaFailures = new AtomicInteger();
+    private volatile boolean replicaStopped;
 
-    public ItemService(FirebaseFacade firebaseFacade, FirebaseProperties firebaseProperties) {
+    public ItemService(
+            FirebaseFacade firebaseFacade,
+            FirebaseProperties firebaseProperties,
+            ItemSearchIndex searchIndex,
+            ItemDetailCache detailCache,
+            FirestoreFutures firestoreFutures,
+            DashboardRollups dashboardRollups,
+            HotspotTracker hotspotTracker,
+            QueryCapabilities queryCapabilities,
+            ItemMatchPipeline matchPipeline) {
         this.firebaseFacade = firebaseFacade;
         this.firebaseProperties = firebaseProperties;
+        this.searchIndex = searchIndex;
+        this.detailCache = detailCache;
+        this.firestoreFutures = firestoreFutures;
+        this.dashboardRollups = dashboardRollups;
+        this.hotspotTracker = hotspotTracker;
+        this.queryCapabilities = queryCapabilities;
+        this.matchPipeline = matchPipeline;
+        this.appliedStatusReads = Caffeine.newBuilder()
+                .expireAfterWrite(firebaseProperties.getItems().getDetailCache().getTtl())
+                .<String, Timestamp>build()
+                .asMap();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSearchIndex() {
+        if (firebaseProperties.getItems().getReplica().isEnabled()) {
+            startReplica();
+        } else if (firebaseProperties.getItems().getSearchIndex().isEnabled()) {
+            firebaseFacade.getFirestore().ifPresent(this::rebuildSearchIndex);
+        } else {
+            firebaseFacade.getFirestore().ifPresent(this::scanForMissingSearchText);
+        }
+    }
+
+    /**
+     * Checks which filtered feed queries have their composite index, so searches on a shape without one go straight
+     * to the index-free scan. The probes run in the background and read at most one document each.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void probeSearchIndexes() {
+        if (!firebaseProperties.getItems().getIndexProbes().isOnStartup()) {
+            return;
+        }
+        firebaseFacade.getFirestore().ifPresent(firestore -> {
+            probeFeedQuery(firestore, ItemStatus.FOUND, null);
+            probeFeedQuery(firestore, null, CampusZone.MAIN);
+            probeFeedQuery(firestore, ItemStatus.FOUND, CampusZone.MAIN);
+        });
+    }
+
+    CompletableFuture<QueryCapabilities.Support> probeFeedQuery(
+            Firestore firestore, ItemStatus status, CampusZone campusZone) {
+        List<String> filters = new ArrayList<>(2);
+        Query filtered = filterFeed(firestore, status, campusZone, filters);
+        QueryShape shape = new QueryShape(filters, FEED_ORDER_SHAPE, null, false);
+        return queryCapabilities.probe(COLLECTION, shape, () -> probeFeed(filtered, shape));
+    }
+
+    /** Reads one document of a filtered feed, which fails the same way the full query would without its index. */
+    private CompletableFuture<QuerySnapshot> probeFeed(Query filtered, QueryShape shape) {
+        return firestoreFutures.adapt(
+                feedOrder(filtered).limit(1).select(FieldPath.documentId()).get(),
+                FirestoreOperation.query(COLLECTION, shape.withLimit(1)));
+    }
+
+    @PreDestroy
+    public void stopReplica() {
+        replicaStopped = true;
+        ListenerRegistration registration = replicaRegistration;
+        if (registration != null) {
+            registration.remove();
+            replicaRegistration = null;
+        }
     }
 
     public ItemSearchResponse searchItems(
             ItemStatus status, CampusZone campusZone, String query, int page, int pageSize) {
+        return searchItems(status, campusZone, query, null, page, pageSize);
+    }
+
+    public ItemSearchResponse searchItems(
+            ItemStatus status, CampusZone campusZone, String query, String cursor, int page, int pageSize) {
+        return FirestoreFutures.await(searchItemsAsync(status, campusZone, query, cursor, page, pageSize));
+    }
+
+    /**
+     * Returns one page of the item feed. A non-blank {@code cursor} (the {@code nextCursor} of a previous
+     * response) takes precedence over {@code page}, which is kept for offset-based clients.
+     */
+    public CompletableFuture<ItemSearchResponse> searchItemsAsync(
+            ItemStatus status, CampusZone campusZone, String query, String cursor, int page, int pageSize) {
         int normalisedPage = Math.max(page, 0);
         int normalisedPageSize = Math.min(Math.max(pageSize, 1), 50);
-        String trimmedQuery = query == null ? null : query.trim().toLowerCase();
+        String trimmedQuery = query == null || query.isBlank() ? null : query.trim().toLowerCase();
+        ItemCursor position = ItemCursor.decode(cursor);
 
         return firebaseFacade.getFirestore()
-                .map(firestore -> searchWithFirestore(
-                        firestore, status, campusZone, trimmedQuery, normalisedPage, normalisedPageSize))
-                .orElseGet(() -> fallbackSearch(status, campusZone, trimmedQuery, normalisedPage, normalisedPageSize));
+                .map(firestore -> searchIndexAvailable()
+                        ? CompletableFuture.completedFuture(searchFromIndex(
+                                status, campusZone, trimmedQuery, position, normalisedPage, normalisedPageSize))
+                        : searchWithFirestore(
+                                firestore, status, campusZone, trimmedQuery, position, normalisedPage, normalisedPageSize))
+                .orElseGet(() -> stubbed("items.search", () -> fallbackSearch(
+                        status, campusZone, trimmedQuery, position, normalisedPage, normalisedPageSize)));
     }
 
     public List<ItemSummary> browseItems() {
@@ -71,29 +226,88 @@ public class ItemService {
     }
 
     public ItemDetail findById(String id) {
+        return FirestoreFutures.await(findByIdAsync(id));
+    }
+
+    public CompletableFuture<ItemDetail> findByIdAsync(String id) {
         return firebaseFacade.getFirestore()
-                .map(firestore -> fetchItemDetail(firestore, id))
-                .orElseGet(() -> stubDetail(id));
+                .map(firestore -> cachedItemDetail(firestore, id))
+                .orElseGet(() -> stubbed("items.findById", () -> stubDetail(id)));
+    }
+
+    public List<ItemLookup> findByIds(List<String> ids) {
+        return FirestoreFutures.await(findByIdsAsync(ids));
+    }
+
+    /**
+     * Looks up several items at once: cached details are used as they are and the rest are read in one
+     * {@code getAll}. The answer has one entry per distinct id, in the order they were first requested, marked
+     * missing when there is no such item.
+     */
+    public CompletableFuture<List<ItemLookup>> findByIdsAsync(List<String> ids) {
+        List<String> distinctIds = distinctIds(ids);
+        return detailsByIds(distinctIds, "items.findByIds")
+                .thenApply(details -> {
+                    List<ItemLookup> lookups = new ArrayList<>(distinctIds.size());
+                    for (String id : distinctIds) {
+                        ItemDetail detail = details.get(id);
+                        lookups.add(detail == null ? ItemLookup.missing(id) : ItemLookup.of(detail));
+                    }
+                    return lookups;
+                });
+    }
+
+    /**
+     * Summaries of the existing items among {@code ids}, by id, read like {@link #findByIdsAsync} but without its
+     * cap; for callers whose ids come from an already bounded result, such as a page of claims.
+     */
+    public CompletableFuture<Map<String, ItemSummary>> findSummariesByIdsAsync(Collection<String> ids) {
+        List<String> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        return detailsByIds(distinctIds, "items.findSummariesByIds")
+                .thenApply(details -> {
+                    Map<String, ItemSummary> summaries = new HashMap<>();
+                    details.forEach((id, detail) -> summaries.put(id, toSummary(detail)));
+                    return summaries;
+                });
     }
 
     public ItemDetail createLostItem(CreateLostItemRequest request, String reporterId) {
+        return FirestoreFutures.await(createLostItemAsync(request, reporterId));
+    }
+
+    public CompletableFuture<ItemDetail> createLostItemAsync(CreateLostItemRequest request, String reporterId) {
         return firebaseFacade.getFirestore()
                 .map(firestore -> persistItem(firestore, request, reporterId, ItemStatus.LOST))
-                .orElseGet(() -> fallbackCreate(request, reporterId, ItemStatus.LOST));
+                .orElseGet(() -> stubbed("items.createLost", () -> fallbackCreate(request, reporterId, ItemStatus.LOST)));
     }
 
     public ItemDetail createFoundItem(CreateFoundItemRequest request, String reporterId) {
+        return FirestoreFutures.await(createFoundItemAsync(request, reporterId));
+    }
+
+    public CompletableFuture<ItemDetail> createFoundItemAsync(CreateFoundItemRequest request, String reporterId) {
         return firebaseFacade.getFirestore()
                 .map(firestore -> persistItem(firestore, request, reporterId, ItemStatus.FOUND))
-                .orElseGet(() -> fallbackCreate(request, reporterId, ItemStatus.FOUND));
+                .orElseGet(() -> stubbed("items.createFound", () -> fallbackCreate(request, reporterId, ItemStatus.FOUND)));
     }
 
     public ItemDetail updateStatus(String id, UpdateItemStatusRequest request, String currentUserId) {
+        return updateStatus(id, request, currentUserId, false);
+    }
+
+    public ItemDetail updateStatus(
+            String id, UpdateItemStatusRequest request, String currentUserId, boolean asAdmin) {
+        return FirestoreFutures.await(updateStatusAsync(id, request, currentUserId, asAdmin));
+    }
+
+    /** Updates an item's status; only its reporter may do so unless {@code asAdmin} is set. */
+    public CompletableFuture<ItemDetail> updateStatusAsync(
+            String id, UpdateItemStatusRequest request, String currentUserId, boolean asAdmin) {
         return firebaseFacade.getFirestore()
-                .map(firestore -> updateStatusInternal(firestore, id, request, currentUserId))
-                .orElseGet(() -> {
-                    ItemDetail existing = findById(id);
-                    if (!Objects.equals(existing.reporterId(), currentUserId)) {
+                .map(firestore -> updateStatusInternal(firestore, id, request, currentUserId, asAdmin))
+                .orElseGet(() -> stubbed("items.updateStatus", () -> {
+                    ItemDetail existing = stubDetail(id);
+                    if (!asAdmin && !Objects.equals(existing.reporterId(), currentUserId)) {
                         throw new AccessDeniedException("You can only update your own reports");
                     }
                     return new ItemDetail(
@@ -108,14 +322,18 @@ public class ItemService {
                             existing.tags(),
                             existing.docUrls(),
                             existing.reporterId());
-                });
+                }));
     }
 
     public List<ItemSummary> findSimilar(String id) {
+        return FirestoreFutures.await(findSimilarAsync(id));
+    }
+
+    public CompletableFuture<List<ItemSummary>> findSimilarAsync(String id) {
         return firebaseFacade.getFirestore()
                 .map(firestore -> findSimilarInternal(firestore, id))
-                .orElseGet(() -> {
-                    ItemDetail detail = findById(id);
+                .orElseGet(() -> stubbed("items.findSimilar", () -> {
+                    ItemDetail detail = stubDetail(id);
                     return List.of(new ItemSummary(
                             detail.id() + "-match",
                             "Possible Match",
@@ -125,97 +343,422 @@ public class ItemService {
                             Instant.now(),
                             detail.lastSeenAt(),
                             detail.tags()));
-                });
+                }));
     }
 
     public List<ItemSummary> listReportsForUser(String userId) {
+        return FirestoreFutures.await(listReportsForUserAsync(userId));
+    }
+
+    public CompletableFuture<List<ItemSummary>> listReportsForUserAsync(String userId) {
         return firebaseFacade.getFirestore()
-                .map(firestore -> fetchItemsByReporter(firestore, userId))
-                .orElseGet(this::stubItems);
+                .map(firestore -> replicaAvailable()
+                        ? CompletableFuture.completedFuture(limit(searchIndex.listByReporter(userId), MAX_FETCH))
+                        : fetchItemsByReporter(firestore, userId))
+                .orElseGet(() -> stubbed("items.listByReporter", this::stubItems));
     }
 
-    private ItemSearchResponse searchWithFirestore(
-            Firestore firestore,
-            ItemStatus status,
-            CampusZone campusZone,
-            String query,
-            int page,
-            int pageSize) {
-        try {
-            Query firestoreQuery = firestore.collection(COLLECTION).orderBy("createdAt", Query.Direction.DESCENDING);
-            if (status != null) {
-                firestoreQuery = firestoreQuery.whereEqualTo("status", status.storageValue());
+    /**
+     * Counts the open and resolved reports of {@code userId} with two aggregation queries issued side by side,
+     * so no item documents are downloaded. The replica answers locally once it is warm.
+     */
+    public CompletableFuture<ReportCounts> countReportsForUserAsync(String userId) {
+        return firebaseFacade.getFirestore()
+                .map(firestore -> replicaAvailable()
+                        ? CompletableFuture.completedFuture(ReportCounts.of(searchIndex.listByReporter(userId)))
+                        : countReportsByReporter(firestore, userId))
+                .orElseGet(() -> stubbed("items.countByReporter", () -> ReportCounts.of(stubItems())));
+    }
+
+    /** Answers {@code call} with stub data because Firestore is not configured, counting the fallback. */
+    private <T> CompletableFuture<T> stubbed(String call, Supplier<T> stub) {
+        firestoreFutures.metrics().fallback(FirestoreMetrics.STUB, call);
+        return CompletableFuture.completedFuture(stub.get());
+    }
+
+    private boolean indexMaintained() {
+        FirebaseProperties.Items settings = firebaseProperties.getItems();
+        return settings.getSearchIndex().isEnabled() || settings.getReplica().isEnabled();
+    }
+
+    private boolean searchIndexAvailable() {
+        return indexMaintained() && searchIndex.isReady();
+    }
+
+    private boolean replicaAvailable() {
+        return firebaseProperties.getItems().getReplica().isEnabled() && searchIndex.isReady();
+    }
+
+    private void startReplica() {
+        replicaRegistration = firebaseFacade.listenToCollection(COLLECTION, this::applyReplicaSnapshot).orElse(null);
+        if (replicaRegistration != null) {
+            log.info("Listening to {} for the local item replica; reads query Firestore until the first snapshot arrives", COLLECTION);
+        }
+    }
+
+    /**
+     * Applies one realtime listener event to the search index. The first event marks the replica warm. An error
+     * ends the listener for good, so it empties the index, sending reads back to Firestore, and subscribes again
+     * after a backoff; the new listener's first event warms the replica again.
+     */
+    void applyReplicaSnapshot(QuerySnapshot snapshot, FirestoreException error) {
+        if (error != null) {
+            log.error("Item replica listener failed; reads will query Firestore directly", error);
+            searchIndex.clear();
+            resubscribeReplica();
+            return;
+        }
+        replicaFailures.set(0);
+        Map<String, String> missingSearchText = new HashMap<>();
+        for (DocumentChange change : snapshot.getDocumentChanges()) {
+            QueryDocumentSnapshot doc = change.getDocument();
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                searchIndex.remove(doc.getId());
+            } else {
+                indexDocument(doc);
             }
-            if (campusZone != null) {
-                firestoreQuery = firestoreQuery.whereEqualTo("campusZone", campusZone.getJsonValue());
+            if (change.getType() == DocumentChange.Type.ADDED) {
+                recordHotspot(doc);
+                if (doc.getString(SEARCH_TEXT_FIELD) == null) {
+                    missingSearchText.put(doc.getId(), searchTextOf(doc));
+                }
+            }
+            detailCache.invalidate(doc.getId());
+        }
+        if (!missingSearchText.isEmpty()) {
+            firebaseFacade.getFirestore().ifPresent(firestore -> startSearchTextBackfill(firestore, missingSearchText));
+        }
+        if (!searchIndex.isReady()) {
+            searchIndex.markReady();
+            log.info("Item replica is warm with {} items", searchIndex.size());
+        }
+    }
+
+    private void resubscribeReplica() {
+        ListenerRegistration failed = replicaRegistration;
+        replicaRegistration = null;
+        if (failed != null) {
+            failed.remove();
+        }
+        if (replicaStopped) {
+            return;
+        }
+        Duration delay = replicaBackoff(replicaFailures.incrementAndGet());
+        log.info("Subscribing to {} again in {}", COLLECTION, delay);
+        CompletableFuture.runAsync(() -> {
+            if (!replicaStopped) {
+                // The new listener replays every document as ADDED, which rebuilds the hotspots.
+                hotspotTracker.clear();
+                startReplica();
             }
+        }, CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)).exceptionally(failure -> {
+            log.warn("Failed to subscribe to {} for the item replica", COLLECTION, failure);
+            resubscribeReplica();
+            return null;
+        });
+    }
 
-            List<QueryDocumentSnapshot> documents = firestoreQuery.limit(MAX_FETCH).get().get().getDocuments();
-            List<ItemSummary> matches = new ArrayList<>();
-            for (QueryDocumentSnapshot doc : documents) {
-                if (matchesQuery(doc, query)) {
-                    mapSummary(doc).ifPresent(matches::add);
+    /** The re-subscribe delay after {@code failures} listener failures in a row: doubling, up to the maximum. */
+    Duration replicaBackoff(int failures) {
+        FirebaseProperties.Replica settings = firebaseProperties.getItems().getReplica();
+        Duration delay = settings.getResubscribeDelay().multipliedBy(1L << Math.min(Math.max(failures - 1, 0), 16));
+        return delay.compareTo(settings.getMaxResubscribeDelay()) > 0 ? settings.getMaxResubscribeDelay() : delay;
+    }
+
+    private void rebuildSearchIndex(Firestore firestore) {
+        searchIndex.clear();
+        hotspotTracker.clear();
+        try {
+            Map<String, String> missingSearchText = new HashMap<>();
+            forEachItem(firestore.collection(COLLECTION), doc -> {
+                indexDocument(doc);
+                recordHotspot(doc);
+                if (doc.getString(SEARCH_TEXT_FIELD) == null) {
+                    missingSearchText.put(doc.getId(), searchTextOf(doc));
                 }
-            }
+            });
+            searchIndex.markReady();
+            log.info("Loaded {} items into the search index", searchIndex.size());
+            startSearchTextBackfill(firestore, missingSearchText);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while loading the item search index; searches will query Firestore directly");
+        } catch (ExecutionException e) {
+            log.warn("Failed to load the item search index; searches will query Firestore directly", e);
+        }
+    }
 
-            return paginate(matches, page, pageSize);
+    /**
+     * Finds items without {@link #SEARCH_TEXT_FIELD} when neither the index load nor the replica reads the collection,
+     * reading only the fields the search text is built from.
+     */
+    private void scanForMissingSearchText(Firestore firestore) {
+        try {
+            Map<String, String> missingSearchText = new HashMap<>();
+            forEachItem(firestore.collection(COLLECTION).select("title", "description", "tags", SEARCH_TEXT_FIELD), doc -> {
+                if (doc.getString(SEARCH_TEXT_FIELD) == null) {
+                    missingSearchText.put(doc.getId(), searchTextOf(doc));
+                }
+            });
+            startSearchTextBackfill(firestore, missingSearchText);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while searching items", e);
+            log.warn("Interrupted while looking for items without {}", SEARCH_TEXT_FIELD);
         } catch (ExecutionException e) {
-            if (requiresCompositeIndex(e)) {
-                log.warn("Firestore is missing an index for filtered item search; applying client-side filtering instead", e.getCause());
-                return searchWithoutIndex(firestore, status, campusZone, query, page, pageSize);
+            log.warn("Failed to look for items without {}", SEARCH_TEXT_FIELD, e);
+        }
+    }
+
+    /** Pages through {@code items} in document id order, {@code load-batch-size} documents per read. */
+    private void forEachItem(Query items, Consumer<QueryDocumentSnapshot> action)
+            throws InterruptedException, ExecutionException {
+        int batchSize = Math.max(firebaseProperties.getItems().getSearchIndex().getLoadBatchSize(), 1);
+        Query base = items.orderBy(FieldPath.documentId()).limit(batchSize);
+        QueryDocumentSnapshot last = null;
+        while (true) {
+            Query page = last == null ? base : base.startAfter(last);
+            List<QueryDocumentSnapshot> documents = firestoreFutures
+                    .adapt(page.get(), FirestoreOperation.query(
+                            COLLECTION, new QueryShape(List.of(), "__name__", batchSize, false)))
+                    .get()
+                    .getDocuments();
+            documents.forEach(action);
+            if (documents.size() < batchSize) {
+                return;
+            }
+            last = documents.get(documents.size() - 1);
+        }
+    }
+
+    private void startSearchTextBackfill(Firestore firestore, Map<String, String> missing) {
+        backfillSearchText(firestore, missing).exceptionally(failure -> {
+            log.warn("Failed to backfill {}; keyword scans match those items on title and tags only",
+                    SEARCH_TEXT_FIELD, failure);
+            return null;
+        });
+    }
+
+    /**
+     * Writes {@link #SEARCH_TEXT_FIELD} to items created before it existed, so projected keyword scans match their
+     * descriptions too. Until then a scan matches those items on title and tags only. The writes are updates, which
+     * Firestore rejects for a missing document, so an item deleted since it was read is not brought back as a bare
+     * document. Completes with the number of items written.
+     */
+    CompletableFuture<Integer> backfillSearchText(Firestore firestore, Map<String, String> missing) {
+        List<Map.Entry<String, String>> entries = List.copyOf(missing.entrySet());
+        CompletableFuture<Integer> written = CompletableFuture.completedFuture(0);
+        for (int from = 0; from < entries.size(); from += WRITE_BATCH_LIMIT) {
+            List<Map.Entry<String, String>> chunk = entries.subList(from, Math.min(from + WRITE_BATCH_LIMIT, entries.size()));
+            written = written.thenCompose(count -> backfillBatch(firestore, chunk).thenApply(batch -> count + batch));
+        }
+        return written.whenComplete((count, failure) -> {
+            if (count != null && count > 0) {
+                log.info("Backfilled {} on {} items", SEARCH_TEXT_FIELD, count);
             }
-            log.error("Failed to search items in Firestore; falling back to stub data (status={}, campusZone={}, query={})", status, campusZone, query, e);
-            return fallbackSearch(status, campusZone, query, page, pageSize);
+        });
+    }
+
+    /**
+     * Writes one batch of search texts. A batch fails as a whole when one of its items is gone, so it is then
+     * written item by item, skipping the deleted ones.
+     */
+    private CompletableFuture<Integer> backfillBatch(Firestore firestore, List<Map.Entry<String, String>> chunk) {
+        CollectionReference collection = firestore.collection(COLLECTION);
+        WriteBatch batch = firestore.batch();
+        for (Map.Entry<String, String> entry : chunk) {
+            batch.update(collection.document(entry.getKey()), Map.of(SEARCH_TEXT_FIELD, entry.getValue()));
         }
+        return firestoreFutures.adapt(batch.commit(), FirestoreOperation.commit(COLLECTION, "backfillSearchText"))
+                .thenApply(results -> chunk.size())
+                .exceptionallyCompose(failure -> {
+                    if (!isNotFound(failure)) {
+                        return CompletableFuture.failedFuture(failure);
+                    }
+                    List<CompletableFuture<Boolean>> updates = chunk.stream()
+                            .map(entry -> firestoreFutures.adapt(
+                                            collection.document(entry.getKey())
+                                                    .update(Map.of(SEARCH_TEXT_FIELD, entry.getValue())),
+                                            FirestoreOperation.update(COLLECTION))
+                                    .thenApply(result -> true)
+                                    .exceptionallyCompose(itemFailure -> isNotFound(itemFailure)
+                                            ? CompletableFuture.completedFuture(false)
+                                            : CompletableFuture.failedFuture(itemFailure)))
+                            .toList();
+                    return CompletableFuture.allOf(updates.toArray(CompletableFuture[]::new))
+                            .thenApply(done -> (int) updates.stream().filter(CompletableFuture::join).count());
+                });
     }
 
-    private ItemSearchResponse searchWithoutIndex(
+    /** Whether {@code failure}'s cause chain holds Firestore's {@code NOT_FOUND}, as an update of a deleted item does. */
+    private static boolean isNotFound(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof ApiException api && api.getStatusCode().getCode() == StatusCode.Code.NOT_FOUND) {
+                return true;
+            }
+            if (current instanceof FirestoreException firestoreError && firestoreError.getStatus() != null
+                    && firestoreError.getStatus().getCode() == Status.Code.NOT_FOUND) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private CompletableFuture<ItemSearchResponse> searchWithFirestore(
             Firestore firestore,
             ItemStatus status,
             CampusZone campusZone,
             String query,
+            ItemCursor cursor,
             int page,
             int pageSize) {
-        try {
-            List<QueryDocumentSnapshot> documents = firestore.collection(COLLECTION)
-                    .orderBy("createdAt", Query.Direction.DESCENDING)
-                    .limit(MAX_FETCH)
-                    .get()
-                    .get()
-                    .getDocuments();
-            List<ItemSummary> matches = new ArrayList<>();
-            for (QueryDocumentSnapshot doc : documents) {
-                if (status != null) {
-                    String docStatus = doc.getString("status");
-                    if (docStatus == null || !docStatus.equalsIgnoreCase(status.storageValue())) {
-                        continue;
-                    }
-                }
-                if (campusZone != null) {
-                    String zoneValue = safeLower(doc.getString("campusZone"));
-                    if (zoneValue == null || !zoneValue.equals(campusZone.getJsonValue().toLowerCase(Locale.US))) {
-                        continue;
-                    }
+        List<String> filters = new ArrayList<>(2);
+        Query firestoreQuery = filterFeed(firestore, status, campusZone, filters);
+        QueryShape shape = new QueryShape(filters, FEED_ORDER_SHAPE, null, false);
+        if (!queryCapabilities.isUsable(COLLECTION, shape)) {
+            queryCapabilities.reprobeIfDue(COLLECTION, shape, () -> probeFeed(firestoreQuery, shape));
+            firestoreFutures.metrics().fallback(FirestoreMetrics.INDEX_FREE_SCAN, "items.search");
+            return searchWithoutIndex(firestore, status, campusZone, query, cursor, page, pageSize);
+        }
+        CompletableFuture<ItemSearchResponse> result = query == null
+                ? readPage(firestoreQuery, shape, cursor, page, pageSize)
+                : scanPage(firestoreQuery, shape, doc -> matchesQuery(doc, query), cursor, page, pageSize);
+        return result.thenApply(response -> {
+            queryCapabilities.recordSupported(COLLECTION, shape);
+            return response;
+        }).exceptionallyCompose(failure -> {
+            Throwable cause = FirestoreFutures.unwrap(failure);
+            if (queryCapabilities.recordFailure(COLLECTION, shape, cause)) {
+                firestoreFutures.metrics().fallback(FirestoreMetrics.INDEX_FREE_SCAN, "items.search");
+                return searchWithoutIndex(firestore, status, campusZone, query, cursor, page, pageSize);
+            }
+            log.error("Failed to search items in Firestore; falling back to stub data (status={}, campusZone={}, query={})", status, campusZone, query, cause);
+            firestoreFutures.metrics().fallback(FirestoreMetrics.STUB_SEARCH, "items.search");
+            return CompletableFuture.completedFuture(fallbackSearch(status, campusZone, query, cursor, page, pageSize));
+        });
+    }
+
+    /** Applies the equality filters of a feed search to the collection, adding their shape to {@code filters}. */
+    private Query filterFeed(Firestore firestore, ItemStatus status, CampusZone campusZone, List<String> filters) {
+        Query filtered = firestore.collection(COLLECTION);
+        if (status != null) {
+            filtered = filtered.whereEqualTo("status", status.storageValue());
+            filters.add("status==");
+        }
+        if (campusZone != null) {
+            filtered = filtered.whereEqualTo("campusZone", campusZone.getJsonValue());
+            filters.add("campusZone==");
+        }
+        return filtered;
+    }
+
+    private CompletableFuture<ItemSearchResponse> searchWithoutIndex(
+            Firestore firestore,
+            ItemStatus status,
+            CampusZone campusZone,
+            String query,
+            ItemCursor cursor,
+            int page,
+            int pageSize) {
+        QueryShape shape = new QueryShape(List.of(), FEED_ORDER_SHAPE, null, true);
+        return scanPage(firestore.collection(COLLECTION), shape, doc -> {
+            if (status != null) {
+                String docStatus = doc.getString("status");
+                if (docStatus == null || !docStatus.equalsIgnoreCase(status.storageValue())) {
+                    return false;
                 }
-                if (!matchesQuery(doc, query)) {
-                    continue;
+            }
+            if (campusZone != null) {
+                String zoneValue = safeLower(doc.getString("campusZone"));
+                if (zoneValue == null || !zoneValue.equals(campusZone.getJsonValue().toLowerCase(Locale.US))) {
+                    return false;
                 }
-                mapSummary(doc).ifPresent(matches::add);
             }
-            return paginate(matches, page, pageSize);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while searching items without index", e);
-        } catch (ExecutionException e) {
-            log.error("Failed to search items in Firestore without index fallback; returning stub data", e);
-            return fallbackSearch(status, campusZone, query, page, pageSize);
+            return matchesQuery(doc, query);
+        }, cursor, page, pageSize).exceptionally(failure -> {
+            log.error("Failed to search items in Firestore without index fallback; returning stub data", FirestoreFutures.unwrap(failure));
+            firestoreFutures.metrics().fallback(FirestoreMetrics.STUB_SEARCH, "items.search");
+            return fallbackSearch(status, campusZone, query, cursor, page, pageSize);
+        });
+    }
+
+    /**
+     * Reads exactly one page (plus one look-ahead document) of a server-filtered feed query and counts the
+     * full result set with an aggregation query issued alongside it.
+     */
+    private CompletableFuture<ItemSearchResponse> readPage(
+            Query filtered, QueryShape shape, ItemCursor cursor, int page, int pageSize) {
+        CompletableFuture<AggregateQuerySnapshot> total = firestoreFutures.adapt(
+                filtered.count().get(),
+                FirestoreOperation.count(COLLECTION, QueryShape.filtered(shape.filters())),
+                "Failed to search items in Firestore");
+        Query ordered = feedOrder(filtered);
+        Query pageQuery = cursor != null
+                ? ordered.startAfter(cursor.startAfterValues())
+                : ordered.offset(page * pageSize);
+        return firestoreFutures.adapt(
+                        pageQuery.limit(pageSize + 1).select(SUMMARY_FIELDS).get(),
+                        FirestoreOperation.query(COLLECTION, shape.withLimit(pageSize + 1)),
+                        "Failed to search items in Firestore")
+                .thenCombine(total, (snapshot, count) -> {
+                    List<QueryDocumentSnapshot> documents = snapshot.getDocuments();
+                    int pageEnd = Math.min(documents.size(), pageSize);
+                    List<ItemSummary> items = new ArrayList<>(pageEnd);
+                    for (int i = 0; i < pageEnd; i++) {
+                        mapSummary(documents.get(i)).ifPresent(items::add);
+                    }
+                    String nextCursor = documents.size() > pageSize
+                            ? ItemCursor.of(documents.get(pageSize - 1)).encode()
+                            : null;
+                    return new ItemSearchResponse(
+                            Collections.unmodifiableList(items), page, pageSize, count.getCount(), nextCursor);
+                });
+    }
+
+    /**
+     * Walks a window of up to {@link #MAX_FETCH} feed documents in keyset batches, applying {@code filter}
+     * client-side. {@code totalItems} is the exact number of matches in that window, as it was before cursors,
+     * so offset-based clients never see more pages than they can reach. When the window holds more matches than
+     * the page, the cursor points at the page's last item; when the window ends first and more documents
+     * remain, it points past the window so the next request resumes from there. A page number beyond the
+     * window's matches gets an empty page and no cursor.
+     */
+    private CompletableFuture<ItemSearchResponse> scanPage(
+            Query filtered,
+            QueryShape shape,
+            Predicate<QueryDocumentSnapshot> filter,
+            ItemCursor cursor,
+            int page,
+            int pageSize) {
+        return scanBatches(feedOrder(filtered), shape, new FeedScan(filter, cursor, page, pageSize));
+    }
+
+    private CompletableFuture<ItemSearchResponse> scanBatches(Query ordered, QueryShape shape, FeedScan scan) {
+        if (scan.isComplete()) {
+            return CompletableFuture.completedFuture(scan.response());
         }
+        int batchSize = scan.nextBatchSize();
+        ItemCursor position = scan.position();
+        Query batch = position == null ? ordered : ordered.startAfter(position.startAfterValues());
+        return firestoreFutures.adapt(
+                        batch.limit(batchSize).select(SEARCHABLE_SUMMARY_FIELDS).get(),
+                        FirestoreOperation.query(COLLECTION, shape.withLimit(batchSize)),
+                        "Failed to search items in Firestore")
+                .thenCompose(snapshot -> {
+                    scan.accept(snapshot.getDocuments(), batchSize);
+                    return scanBatches(ordered, shape, scan);
+                });
     }
+
+    private Query feedOrder(Query query) {
+        return query.orderBy("createdAt", Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.DESCENDING);
+    }
+
     private ItemSearchResponse fallbackSearch(
-            ItemStatus status, CampusZone campusZone, String query, int page, int pageSize) {
+            ItemStatus status, CampusZone campusZone, String query, ItemCursor cursor, int page, int pageSize) {
         List<ItemSummary> all = new ArrayList<>(stubItems());
         if (status != null) {
             all.removeIf(item -> item.status() != status);
@@ -226,33 +769,44 @@ public class ItemService {
         if (query != null) {
             all.removeIf(item -> !matchesQuery(item, query));
         }
-        return paginate(all, page, pageSize);
+        all.sort(ItemCursor.FEED_ORDER);
+        return paginate(all, cursor, page, pageSize);
     }
 
-    private ItemSearchResponse paginate(List<ItemSummary> source, int page, int pageSize) {
+    /**
+     * A page of the in-memory index's results. Only the page is mapped into the response; matches outside it are
+     * counted for {@code totalItems} but never copied.
+     */
+    private ItemSearchResponse searchFromIndex(
+            ItemStatus status, CampusZone campusZone, String query, ItemCursor cursor, int page, int pageSize) {
+        ItemSearchIndex.Page result = searchIndex.searchPage(status, campusZone, query, cursor, page, pageSize);
+        List<ItemSummary> items = result.items();
+        String nextCursor = result.hasMore() ? ItemCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new ItemSearchResponse(items, page, pageSize, result.totalMatches(), nextCursor);
+    }
+
+    /** Pages through a feed-ordered in-memory list, by cursor when one is given and by page number otherwise. */
+    ItemSearchResponse paginate(List<ItemSummary> source, ItemCursor cursor, int page, int pageSize) {
         int total = source.size();
-        int fromIndex = Math.min(page * pageSize, total);
+        int fromIndex = cursor != null ? cursor.positionIn(source) : Math.min(page * pageSize, total);
         int toIndex = Math.min(fromIndex + pageSize, total);
         List<ItemSummary> slice = source.subList(fromIndex, toIndex);
-        return new ItemSearchResponse(List.copyOf(slice), page, pageSize, total);
+        String nextCursor = toIndex < total && toIndex > fromIndex
+                ? ItemCursor.of(source.get(toIndex - 1)).encode()
+                : null;
+        return new ItemSearchResponse(List.copyOf(slice), page, pageSize, total, nextCursor);
     }
 
-    private boolean requiresCompositeIndex(ExecutionException e) {
-        Throwable cause = e.getCause();
-        if (cause == null) {
-            return false;
-        }
-        String message = cause.getMessage();
-        if (message == null) {
-            return false;
-        }
-        return message.contains("requires an index");
-    }
-    private boolean matchesQuery(QueryDocumentSnapshot doc, String query) {
+    boolean matchesQuery(QueryDocumentSnapshot doc, String query) {
         if (query == null || query.isBlank()) {
             return true;
         }
         String lowerQuery = query.toLowerCase();
+        String searchText = doc.getString(SEARCH_TEXT_FIELD);
+        if (searchText != null) {
+            return searchText.contains(lowerQuery);
+        }
+        // Not yet backfilled; a projected scan has no description for these, so they match on title and tags.
         String title = safeLower(doc.getString("title"));
         String description = safeLower(doc.getString("description"));
         if ((title != null && title.contains(lowerQuery)) || (description != null && description.contains(lowerQuery))) {
@@ -266,7 +820,7 @@ public class ItemService {
         return false;
     }
 
-    private boolean matchesQuery(ItemSummary summary, String query) {
+    boolean matchesQuery(ItemSummary summary, String query) {
         String lowerQuery = query.toLowerCase();
         if (summary.title().toLowerCase(Locale.US).contains(lowerQuery)) {
             return true;
@@ -280,22 +834,83 @@ public class ItemService {
         return false;
     }
 
-    private ItemDetail fetchItemDetail(Firestore firestore, String id) {
-        try {
-            DocumentSnapshot snapshot = firestore.collection(COLLECTION).document(id).get().get();
-            if (!snapshot.exists()) {
-                throw new IllegalArgumentException("Item not found: " + id);
+    private CompletableFuture<ItemDetail> cachedItemDetail(Firestore firestore, String id) {
+        return detailCache.get(id, key -> fetchItemDetail(firestore, key));
+    }
+
+    private CompletableFuture<ItemDetail> fetchItemDetail(Firestore firestore, String id) {
+        return firestoreFutures.adapt(
+                        firestore.collection(COLLECTION).document(id).get(),
+                        FirestoreOperation.get(COLLECTION),
+                        "Failed to load item from Firestore")
+                .thenApply(snapshot -> {
+                    if (!snapshot.exists()) {
+                        throw new IllegalArgumentException("Item not found: " + id);
+                    }
+                    return mapDetail(snapshot);
+                });
+    }
+
+    private CompletableFuture<Map<String, ItemDetail>> detailsByIds(List<String> distinctIds, String call) {
+        return firebaseFacade.getFirestore()
+                .map(firestore -> loadDetails(firestore, distinctIds))
+                .orElseGet(() -> stubbed(call, () -> {
+                    Map<String, ItemDetail> details = new HashMap<>();
+                    distinctIds.forEach(id -> details.put(id, stubDetail(id)));
+                    return details;
+                }));
+    }
+
+    private static List<String> distinctIds(List<String> ids) {
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        if (ids != null) {
+            for (String id : ids) {
+                if (id != null && !id.isBlank()) {
+                    distinct.add(id.trim());
+                }
+            }
+        }
+        if (distinct.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidRequestException("At most " + MAX_LOOKUP_IDS + " item ids can be looked up at once");
+        }
+        return List.copyOf(distinct);
+    }
+
+    /**
+     * Details of the existing items among {@code ids}, by id. Cached ones cost nothing; the others are read in a
+     * single {@code getAll} and cached unless a newer write got there first.
+     */
+    private CompletableFuture<Map<String, ItemDetail>> loadDetails(Firestore firestore, List<String> ids) {
+        Map<String, ItemDetail> details = new HashMap<>();
+        List<DocumentReference> misses = new ArrayList<>();
+        for (String id : ids) {
+            Optional<ItemDetail> cached = detailCache.getIfPresent(id);
+            if (cached.isPresent()) {
+                details.put(id, cached.get());
+            } else {
+                misses.add(firestore.collection(COLLECTION).document(id));
             }
-            return mapDetail(snapshot);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while loading item", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to load item from Firestore", e);
         }
+        if (misses.isEmpty()) {
+            return CompletableFuture.completedFuture(details);
+        }
+        return firestoreFutures.adapt(
+                        firestore.getAll(misses.toArray(DocumentReference[]::new)),
+                        FirestoreOperation.getAll(COLLECTION, "findByIds"),
+                        "Failed to load items from Firestore")
+                .thenApply(snapshots -> {
+                    for (DocumentSnapshot snapshot : snapshots) {
+                        if (snapshot.exists()) {
+                            ItemDetail detail = mapDetail(snapshot);
+                            detailCache.putIfAbsent(detail);
+                            details.put(detail.id(), detail);
+                        }
+                    }
+                    return details;
+                });
     }
 
-    private ItemDetail persistItem(
+    private CompletableFuture<ItemDetail> persistItem(
             Firestore firestore, Object request, String reporterId, ItemStatus status) {
         CollectionReference collection = firestore.collection(COLLECTION);
         List<String> docUrls = docUrlsOf(request);
@@ -306,111 +921,247 @@ public class ItemService {
             ensureDocUrlsMatchItem(docUrls, itemId);
         }
 
+        Instant lastSeenAt = storedPrecision(lastSeenAtOf(request));
+        List<String> tags = tagsOf(request);
         Map<String, Object> data = new HashMap<>();
         data.put("title", titleOf(request));
         data.put("description", descriptionOf(request));
         data.put("status", status.storageValue());
         data.put("locationText", locationOf(request));
         data.put("campusZone", campusZoneOf(request));
-        data.put("lastSeenAt", timestampOf(lastSeenAtOf(request)));
-        data.put("tags", tagsOf(request));
+        data.put("lastSeenAt", timestampOf(lastSeenAt));
+        data.put("tags", tags);
+        data.put(SEARCH_TEXT_FIELD, searchTextOf(titleOf(request), descriptionOf(request), tags));
         data.put("docUrls", docUrls);
         data.put("reporterId", reporterId);
-        data.put("createdAt", timestampOf(ZonedDateTime.now(CAMPUS_ZONE_ID).toInstant()));
+        data.put("createdAt", FieldValue.serverTimestamp());
 
-        try {
-            WriteResult writeResult = doc.set(data).get();
-            log.debug("Saved item {} at {}", doc.getId(), writeResult.getUpdateTime());
-            DocumentSnapshot saved = doc.get().get();
-            return mapDetail(saved);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while saving item", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to save item to Firestore", e);
-        }
+        // The dashboard rollup is committed with the item, so the counters never drift from the collection.
+        WriteBatch batch = firestore.batch();
+        batch.set(doc, data);
+        dashboardRollups.recordItemReported(firestore, batch);
+        return firestoreFutures.adapt(
+                batch.commit(),
+                FirestoreOperation.commit(COLLECTION, "createItem"),
+                "Failed to save item to Firestore").thenApply(writeResults -> {
+            WriteResult writeResult = writeResults.get(0);
+            log.debug("Saved item {} at {}", itemId, writeResult.getUpdateTime());
+            // createdAt is a server timestamp, which resolves to the commit time of this write.
+            ItemDetail detail = new ItemDetail(
+                    itemId,
+                    titleOf(request),
+                    descriptionOf(request),
+                    status,
+                    locationOf(request),
+                    campusZoneEnumOf(request),
+                    lastSeenAt,
+                    commitTime(writeResult),
+                    tags,
+                    docUrls,
+                    reporterId);
+            detailCache.put(detail);
+            indexDetail(detail);
+            matchPipeline.submit(itemId, ItemMatchPipeline.Trigger.REPORTED);
+            if (!firebaseProperties.getItems().getReplica().isEnabled()) {
+                // With the replica on, this report reaches the tracker as an ADDED change instead.
+                hotspotTracker.record(detail.locationText(), detail.campusZone(), detail.createdAt());
+            }
+            return detail;
+        });
     }
 
-    private ItemDetail updateStatusInternal(
-            Firestore firestore, String id, UpdateItemStatusRequest request, String currentUserId) {
-        try {
-            DocumentReference document = firestore.collection(COLLECTION).document(id);
-            DocumentSnapshot snapshot = document.get().get();
+    /**
+     * Checks ownership and writes the new status in one transaction, so a concurrent update from the owner and an
+     * admin is serialised by Firestore (the loser is retried against the winner's data) instead of overwriting it
+     * unseen. The response is built from the snapshot the transaction committed against.
+     */
+    private CompletableFuture<ItemDetail> updateStatusInternal(
+            Firestore firestore, String id, UpdateItemStatusRequest request, String currentUserId, boolean asAdmin) {
+        DocumentReference document = firestore.collection(COLLECTION).document(id);
+        return firestoreFutures.adapt(firestore.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(document).get();
             if (!snapshot.exists()) {
                 throw new IllegalArgumentException("Item not found: " + id);
             }
             ItemDetail detail = mapDetail(snapshot);
-            if (!Objects.equals(detail.reporterId(), currentUserId)) {
+            if (!asAdmin && !Objects.equals(detail.reporterId(), currentUserId)) {
                 throw new AccessDeniedException("You can only update your own reports");
             }
 
             Map<String, Object> updates = new HashMap<>();
             updates.put("status", request.status().storageValue());
-            updates.put("updatedAt", Timestamp.now());
+            updates.put("updatedAt", FieldValue.serverTimestamp());
             if (request.note() != null && !request.note().isBlank()) {
                 updates.put("statusNote", request.note());
             }
-            document.set(updates, SetOptions.merge()).get();
-            DocumentSnapshot refreshed = document.get().get();
-            return mapDetail(refreshed);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while updating item", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to update item in Firestore", e);
+            transaction.set(document, updates, SetOptions.merge());
+            return new StatusUpdate(withStatus(detail, request.status()), snapshot.getUpdateTime());
+        }), FirestoreOperation.transaction(COLLECTION, "updateStatus")).handle((update, failure) -> {
+            if (failure != null) {
+                Throwable cause = FirestoreFutures.unwrap(failure);
+                if (cause instanceof AccessDeniedException || cause instanceof IllegalArgumentException) {
+                    throw (RuntimeException) cause;
+                }
+                detailCache.invalidate(id);
+                throw new IllegalStateException("Failed to update item in Firestore", cause);
+            }
+            applyStatusUpdate(update);
+            matchPipeline.submit(id, ItemMatchPipeline.Trigger.REPORTED);
+            return update.detail();
+        });
+    }
+
+    /**
+     * Puts a committed status change into the detail cache and search index unless a transaction that read the
+     * item later, and so committed later, has already been applied.
+     */
+    private void applyStatusUpdate(StatusUpdate update) {
+        ItemDetail updated = update.detail();
+        if (update.readTime() == null) {
+            detailCache.put(updated);
+            indexDetail(updated);
+            return;
         }
+        appliedStatusReads.compute(updated.id(), (id, applied) -> {
+            if (applied != null && applied.compareTo(update.readTime()) >= 0) {
+                return applied;
+            }
+            detailCache.put(updated);
+            indexDetail(updated);
+            return update.readTime();
+        });
     }
 
-    private List<ItemSummary> findSimilarInternal(Firestore firestore, String id) {
-        ItemDetail root = fetchItemDetail(firestore, id);
-        try {
+    /** The outcome of a status transaction and the update time of the document version it read. */
+    private record StatusUpdate(ItemDetail detail, Timestamp readTime) {
+    }
+
+    private ItemDetail withStatus(ItemDetail detail, ItemStatus status) {
+        return new ItemDetail(
+                detail.id(),
+                detail.title(),
+                detail.description(),
+                status,
+                detail.locationText(),
+                detail.campusZone(),
+                detail.lastSeenAt(),
+                detail.createdAt(),
+                detail.tags(),
+                detail.docUrls(),
+                detail.reporterId());
+    }
+
+    /**
+     * With the match pipeline on, one read of the candidates it stored for {@code id}. An item it hasn't matched yet
+     * is queued and answered as if the pipeline were off this once.
+     */
+    private CompletableFuture<List<ItemSummary>> findSimilarInternal(Firestore firestore, String id) {
+        if (!matchPipeline.isEnabled()) {
+            return computeSimilar(firestore, id);
+        }
+        return matchPipeline.stored(firestore, id)
+                .exceptionally(failure -> {
+                    log.warn("Could not read stored matches for item {}: {}", id,
+                            FirestoreFutures.unwrap(failure).getMessage());
+                    return Optional.empty();
+                })
+                .thenCompose(stored -> {
+                    if (stored.isPresent()) {
+                        return CompletableFuture.completedFuture(stored.get());
+                    }
+                    matchPipeline.submit(id, ItemMatchPipeline.Trigger.REQUESTED);
+                    return computeSimilar(firestore, id);
+                });
+    }
+
+    /**
+     * Open reports of the other status that may be the item {@code id} describes: found items for a lost report and
+     * lost reports for a found one. With the index loaded they are the best scored candidates from
+     * {@link ItemSearchIndex#similar}; otherwise the newest such reports in the same zone.
+     */
+    private CompletableFuture<List<ItemSummary>> computeSimilar(Firestore firestore, String id) {
+        Optional<ItemSummary> indexed = searchIndexAvailable() ? searchIndex.find(id) : Optional.empty();
+        if (indexed.isPresent()) {
+            ItemStatus candidateStatus = ItemMatchPipeline.candidateStatus(indexed.get().status());
+            if (candidateStatus == null) {
+                return CompletableFuture.completedFuture(List.of());
+            }
+            List<ItemMatch> matches = searchIndex.similar(id, candidateStatus, SIMILAR_LIMIT);
+            List<ItemSummary> items = new ArrayList<>(matches.size());
+            for (ItemMatch match : matches) {
+                items.add(match.item());
+            }
+            return CompletableFuture.completedFuture(items);
+        }
+        return cachedItemDetail(firestore, id).thenCompose(root -> {
+            ItemStatus candidateStatus = ItemMatchPipeline.candidateStatus(root.status());
+            if (candidateStatus == null) {
+                return CompletableFuture.completedFuture(null);
+            }
             Query query = firestore.collection(COLLECTION)
-                    .whereEqualTo("status", ItemStatus.FOUND.storageValue())
+                    .whereEqualTo("status", candidateStatus.storageValue())
                     .orderBy("createdAt", Query.Direction.DESCENDING)
-                    .limit(8);
+                    .limit(SIMILAR_LIMIT)
+                    .select(SUMMARY_FIELDS);
+            List<String> filters = List.of("status==");
             if (root.campusZone() != null) {
                 query = query.whereEqualTo("campusZone", root.campusZone().getJsonValue());
+                filters = List.of("status==", "campusZone==");
+            }
+            return firestoreFutures.adapt(
+                    query.get(),
+                    FirestoreOperation.query(COLLECTION, new QueryShape(filters, "createdAt desc", SIMILAR_LIMIT, false)),
+                    "Failed to find similar items");
+        }).thenApply(snapshot -> {
+            if (snapshot == null) {
+                return List.of();
             }
-            List<QueryDocumentSnapshot> documents = query.get().get().getDocuments();
             List<ItemSummary> summaries = new ArrayList<>();
-            for (QueryDocumentSnapshot doc : documents) {
+            for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
                 if (doc.getId().equals(id)) {
                     continue;
                 }
                 mapSummary(doc).ifPresent(summaries::add);
             }
             return summaries;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while finding similar items", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to find similar items", e);
-        }
+        });
     }
 
-    private List<ItemSummary> fetchItemsByReporter(Firestore firestore, String userId) {
-        try {
-            List<QueryDocumentSnapshot> documents = firestore.collection(COLLECTION)
-                    .whereEqualTo("reporterId", userId)
-                    .orderBy("createdAt", Query.Direction.DESCENDING)
-                    .limit(MAX_FETCH)
-                    .get()
-                    .get()
-                    .getDocuments();
+    private CompletableFuture<List<ItemSummary>> fetchItemsByReporter(Firestore firestore, String userId) {
+        Query query = firestore.collection(COLLECTION)
+                .whereEqualTo("reporterId", userId)
+                .orderBy("createdAt", Query.Direction.DESCENDING)
+                .limit(MAX_FETCH)
+                .select(SUMMARY_FIELDS);
+        return firestoreFutures.adapt(
+                query.get(),
+                FirestoreOperation.query(
+                        COLLECTION, new QueryShape(List.of("reporterId=="), "createdAt desc", MAX_FETCH, false)),
+                "Failed to fetch user reports from Firestore").thenApply(snapshot -> {
+            List<QueryDocumentSnapshot> documents = snapshot.getDocuments();
             List<ItemSummary> summaries = new ArrayList<>(documents.size());
             for (QueryDocumentSnapshot doc : documents) {
                 mapSummary(doc).ifPresent(summaries::add);
             }
             return summaries;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while fetching user reports", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to fetch user reports from Firestore", e);
-        }
+        });
     }
 
-    private Optional<ItemSummary> mapSummary(DocumentSnapshot doc) {
+    private CompletableFuture<ReportCounts> countReportsByReporter(Firestore firestore, String userId) {
+        Query reported = firestore.collection(COLLECTION).whereEqualTo("reporterId", userId);
+        CompletableFuture<AggregateQuerySnapshot> resolved = firestoreFutures.adapt(
+                reported.whereEqualTo("status", ItemStatus.CLAIMED.storageValue()).count().get(),
+                FirestoreOperation.count(COLLECTION, QueryShape.filtered(List.of("reporterId==", "status=="))),
+                "Failed to count user reports in Firestore");
+        return firestoreFutures.adapt(
+                        reported.count().get(),
+                        FirestoreOperation.count(COLLECTION, QueryShape.filtered(List.of("reporterId=="))),
+                        "Failed to count user reports in Firestore")
+                .thenCombine(resolved, (total, claimed) -> new ReportCounts(
+                        (int) (total.getCount() - claimed.getCount()), (int) claimed.getCount()));
+    }
+
+    Optional<ItemSummary> mapSummary(DocumentSnapshot doc) {
         try {
             ItemStatus status = ItemStatus.fromValue(doc.getString("status"));
             Instant createdAt = toInstant(doc.getTimestamp("createdAt"));
@@ -430,7 +1181,64 @@ public class ItemService {
         }
     }
 
-    private ItemDetail mapDetail(DocumentSnapshot doc) {
+    /** Title, description and tags lower-cased and joined by newlines, so a match never spans two of them. */
+    static String searchTextOf(String title, String description, List<String> tags) {
+        StringBuilder text = new StringBuilder();
+        text.append(title == null ? "" : title.toLowerCase(Locale.US))
+                .append('\n')
+                .append(description == null ? "" : description.toLowerCase(Locale.US));
+        if (tags != null) {
+            for (String tag : tags) {
+                text.append('\n').append(tag.toLowerCase(Locale.US));
+            }
+        }
+        return text.toString();
+    }
+
+    private String searchTextOf(DocumentSnapshot doc) {
+        return searchTextOf(doc.getString("title"), doc.getString("description"), extractStringList(doc, "tags"));
+    }
+
+    private void indexDetail(ItemDetail detail) {
+        if (!indexMaintained()) {
+            return;
+        }
+        searchIndex.upsert(toSummary(detail), detail.description(), detail.reporterId());
+    }
+
+    private void indexDocument(DocumentSnapshot doc) {
+        mapSummary(doc).ifPresent(summary ->
+                searchIndex.upsert(summary, doc.getString("description"), doc.getString("reporterId")));
+    }
+
+    private void recordHotspot(DocumentSnapshot doc) {
+        try {
+            hotspotTracker.record(
+                    doc.getString("locationText"),
+                    CampusZone.fromValue(doc.getString("campusZone")),
+                    toInstant(doc.getTimestamp("createdAt")));
+        } catch (IllegalArgumentException ex) {
+            log.debug("Not counting item {} as a hotspot report: {}", doc.getId(), ex.getMessage());
+        }
+    }
+
+    private List<ItemSummary> limit(List<ItemSummary> items, int max) {
+        return items.size() <= max ? List.copyOf(items) : List.copyOf(items.subList(0, max));
+    }
+
+    private ItemSummary toSummary(ItemDetail detail) {
+        return new ItemSummary(
+                detail.id(),
+                detail.title(),
+                detail.status(),
+                detail.locationText(),
+                detail.campusZone(),
+                detail.createdAt(),
+                detail.lastSeenAt(),
+                detail.tags());
+    }
+
+    ItemDetail mapDetail(DocumentSnapshot doc) {
         List<String> tags = extractStringList(doc, "tags");
         List<String> docUrls = extractStringList(doc, "docUrls");
         return new ItemDetail(
@@ -447,7 +1255,7 @@ public class ItemService {
                 doc.getString("reporterId"));
     }
 
-    private List<String> extractStringList(DocumentSnapshot doc, String field) {
+    List<String> extractStringList(DocumentSnapshot doc, String field) {
         Object raw = doc.get(field);
         if (!(raw instanceof List<?> rawList)) {
             return List.of();
@@ -485,7 +1293,17 @@ public class ItemService {
     }
 
     private Instant toInstant(Timestamp timestamp) {
-        return timestamp == null ? null : timestamp.toDate().toInstant();
+        return timestamp == null ? null : Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+
+    private Instant commitTime(WriteResult writeResult) {
+        Instant committed = toInstant(writeResult.getUpdateTime());
+        return committed == null ? Instant.now() : committed;
+    }
+
+    /** Firestore keeps timestamps at microsecond precision; responses should match what a later read returns. */
+    private Instant storedPrecision(Instant instant) {
+        return instant == null ? null : instant.truncatedTo(ChronoUnit.MICROS);
     }
 
     private Timestamp timestampOf(Instant instant) {
@@ -628,7 +1446,7 @@ public class ItemService {
         }
     }
 
-    private String parseItemIdAndValidate(String docUrl, String bucket) {
+    String parseItemIdAndValidate(String docUrl, String bucket) {
         String path = parseStoragePath(docUrl, bucket);
         String itemId = extractItemIdFromPath(path);
         if (!hasImageExtension(path)) {
@@ -637,7 +1455,7 @@ public class ItemService {
         return itemId;
     }
 
-    private String parseStoragePath(String rawUrl, String bucket) {
+    String parseStoragePath(String rawUrl, String bucket) {
         if (rawUrl == null) {
             throw new IllegalArgumentException("Document URLs cannot be null.");
         }
@@ -666,7 +1484,8 @@ public class ItemService {
         }
         String hostLower = Optional.ofNullable(uri.getHost()).map(h -> h.toLowerCase(Locale.US)).orElse("");
         if ("firebasestorage.googleapis.com".equals(hostLower)) {
-            String[] segments = uri.getPath().split("/");
+            // The object name is one percent-encoded segment (items%2F{id}%2F...), so split the raw path.
+            String[] segments = uri.getRawPath().split("/");
             if (segments.length < 6) {
                 throw new IllegalArgumentException("Document URLs must include an object path under items/.");
             }
@@ -735,6 +1554,70 @@ public class ItemService {
             throw new IllegalStateException("firebase.storage-bucket must be configured to accept document URLs.");
         }
     }
+    /** Progress of one {@link #scanPage} walk; each batch's stage runs only after the previous one finished. */
+    private final class FeedScan {
+        private final Predicate<QueryDocumentSnapshot> filter;
+        private final int page;
+        private final int pageSize;
+        private final int toSkip;
+        private final List<ItemSummary> items;
+        private int matched;
+        private int scanned;
+        private final ItemCursor start;
+        private QueryDocumentSnapshot lastScanned;
+        private QueryDocumentSnapshot lastOnPage;
+        private boolean exhausted;
+
+        private FeedScan(Predicate<QueryDocumentSnapshot> filter, ItemCursor cursor, int page, int pageSize) {
+            this.filter = filter;
+            this.page = page;
+            this.pageSize = pageSize;
+            this.toSkip = cursor == null ? page * pageSize : 0;
+            this.items = new ArrayList<>(pageSize);
+            this.start = cursor;
+        }
+
+        /** Where the next batch starts; built from the last document read only when a batch or cursor needs it. */
+        private ItemCursor position() {
+            return lastScanned == null ? start : ItemCursor.of(lastScanned);
+        }
+
+        private boolean isComplete() {
+            return exhausted || scanned >= MAX_FETCH;
+        }
+
+        private int nextBatchSize() {
+            return Math.min(MAX_FETCH - scanned, Math.max(pageSize + 1, SCAN_BATCH_SIZE));
+        }
+
+        private void accept(List<QueryDocumentSnapshot> documents, int batchSize) {
+            for (QueryDocumentSnapshot doc : documents) {
+                scanned++;
+                lastScanned = doc;
+                if (!filter.test(doc)) {
+                    continue;
+                }
+                matched++;
+                if (matched <= toSkip || matched > toSkip + pageSize) {
+                    continue;
+                }
+                lastOnPage = doc;
+                mapSummary(doc).ifPresent(items::add);
+            }
+            exhausted = documents.size() < batchSize;
+        }
+
+        private ItemSearchResponse response() {
+            String nextCursor = null;
+            if (matched > toSkip + pageSize) {
+                nextCursor = ItemCursor.of(lastOnPage).encode();
+            } else if (!exhausted && matched >= toSkip && position() != null) {
+                nextCursor = position().encode();
+            }
+            return new ItemSearchResponse(Collections.unmodifiableList(items), page, pageSize, matched, nextCursor);
+        }
+    }
+
     private List<ItemSummary> stubItems() {
         Instant now = Instant.now();
         return List.of(
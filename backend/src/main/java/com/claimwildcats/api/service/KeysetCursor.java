@@ -0,0 +1,57 @@
+package com.claimwildcats.api.service;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentSnapshot;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in a listing ordered by a timestamp field descending and then by document id descending, as the
+ * item feed and claim listings are. The timestamp keeps Firestore's nanosecond precision, so documents written in the
+ * same millisecond are neither skipped nor repeated. Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+record KeysetCursor(Instant timestamp, String id) {
+
+    static KeysetCursor of(DocumentSnapshot doc, String timestampField) {
+        Timestamp timestamp = doc.getTimestamp(timestampField);
+        return new KeysetCursor(
+                timestamp == null ? null : Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos()),
+                doc.getId());
+    }
+
+    /** Parses a client's cursor; one this class did not encode is an {@link InvalidCursorException}. */
+    static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new InvalidCursorException(token, null);
+            }
+            String timestamp = raw.substring(0, separator);
+            return new KeysetCursor(
+                    timestamp.isEmpty() ? null : Instant.parse(timestamp),
+                    raw.substring(separator + 1));
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException(token, ex);
+        }
+    }
+
+    String encode() {
+        String raw = (timestamp == null ? "" : timestamp.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Values for {@code Query.startAfter} on a query ordered by the timestamp field and document id. */
+    Object[] startAfterValues() {
+        Timestamp value = timestamp == null
+                ? null
+                : Timestamp.ofTimeSecondsAndNanos(timestamp.getEpochSecond(), timestamp.getNano());
+        return new Object[] {value, id};
+    }
+}
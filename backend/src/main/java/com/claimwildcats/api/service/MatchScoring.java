@@ -0,0 +1,116 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parts of a lost-to-found match score that don't need the index: exact tag overlap, how close the two campus
+ * zones are and how far apart the two reports are in time. {@link ItemSearchIndex#similar} adds the text similarity
+ * and combines them with {@link #score}. Every component is between 0 and 1, and so is the combined score.
+ */
+final class MatchScoring {
+
+    static final double TEXT_WEIGHT = 0.7;
+    static final double TAG_WEIGHT = 0.3;
+    /** Share of the score kept by a candidate seen at the far end of campus, long before or after. */
+    static final double CONTEXT_FLOOR = 0.5;
+    static final double ZONE_WEIGHT = 0.25;
+    static final double TIME_WEIGHT = 0.25;
+
+    /** Time distance at which the time component has decayed to 1/e. */
+    static final Duration TIME_SCALE = Duration.ofDays(3);
+    /**
+     * A found item reported more than this long before the lost item was last seen can't be it, barring clock or
+     * data-entry slips, so its time component is cut to {@link #EARLY_FACTOR}.
+     */
+    static final Duration EARLY_GRACE = Duration.ofDays(1);
+    static final double EARLY_FACTOR = 0.25;
+
+    private static final double SAME_ZONE = 1.0;
+    private static final double NEIGHBOURING_ZONE = 0.5;
+    /** {@code OTHER} or a missing zone could be anywhere, including next door. */
+    private static final double UNKNOWN_ZONE = 0.25;
+
+    /** Zones within a short walk of each other. */
+    private static final Map<CampusZone, Set<CampusZone>> NEIGHBOURS = new EnumMap<>(CampusZone.class);
+
+    static {
+        neighbours(CampusZone.MAIN, CampusZone.LIBRARY, CampusZone.CANTEEN, CampusZone.LABS, CampusZone.GATE1);
+        neighbours(CampusZone.LIBRARY, CampusZone.LABS, CampusZone.CANTEEN);
+        neighbours(CampusZone.GYM, CampusZone.PARKING, CampusZone.GATE2);
+        neighbours(CampusZone.PARKING, CampusZone.GATE1, CampusZone.GATE2);
+    }
+
+    private MatchScoring() {
+    }
+
+    /**
+     * What the two reports describe decides whether they can match at all; where and when they were seen only
+     * reorders reports that look alike. A weighted sum of all four would rank a newer notebook from the same
+     * building above the earbuds case turned in next door.
+     */
+    static double score(double text, double tags, double zone, double time) {
+        double likeness = TEXT_WEIGHT * text + TAG_WEIGHT * tags;
+        return likeness * (CONTEXT_FLOOR + ZONE_WEIGHT * zone + TIME_WEIGHT * time);
+    }
+
+    /** Jaccard overlap of two normalised tag sets; 0 when either is empty. */
+    static double tags(Set<String> first, Set<String> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+        Set<String> smaller = first.size() <= second.size() ? first : second;
+        Set<String> larger = smaller == first ? second : first;
+        int shared = 0;
+        for (String tag : smaller) {
+            if (larger.contains(tag)) {
+                shared++;
+            }
+        }
+        return (double) shared / (first.size() + second.size() - shared);
+    }
+
+    static double zone(CampusZone first, CampusZone second) {
+        if (first == null || second == null || first == CampusZone.OTHER || second == CampusZone.OTHER) {
+            return UNKNOWN_ZONE;
+        }
+        if (first == second) {
+            return SAME_ZONE;
+        }
+        return NEIGHBOURS.getOrDefault(first, Set.of()).contains(second) ? NEIGHBOURING_ZONE : 0;
+    }
+
+    /**
+     * Exponential decay over the gap between when each item was last seen, falling back to when it was reported.
+     * When {@code root} is a lost report, candidates reported well before it was lost are penalised.
+     */
+    static double time(ItemSummary root, ItemSummary candidate) {
+        Instant rootSeen = seenAt(root);
+        Instant candidateSeen = seenAt(candidate);
+        if (rootSeen == null || candidateSeen == null) {
+            return 0;
+        }
+        long gapMillis = candidateSeen.toEpochMilli() - rootSeen.toEpochMilli();
+        double decay = Math.exp(-(double) Math.abs(gapMillis) / TIME_SCALE.toMillis());
+        boolean foundBeforeLost = root.status() == ItemStatus.LOST && -gapMillis > EARLY_GRACE.toMillis();
+        return foundBeforeLost ? decay * EARLY_FACTOR : decay;
+    }
+
+    private static Instant seenAt(ItemSummary summary) {
+        return summary.lastSeenAt() != null ? summary.lastSeenAt() : summary.createdAt();
+    }
+
+    private static void neighbours(CampusZone zone, CampusZone... nearby) {
+        for (CampusZone other : nearby) {
+            NEIGHBOURS.computeIfAbsent(zone, key -> EnumSet.noneOf(CampusZone.class)).add(other);
+            NEIGHBOURS.computeIfAbsent(other, key -> EnumSet.noneOf(CampusZone.class)).add(zone);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.claimwildcats.api.service;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldValue;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch over positive values with logarithmic buckets (the DDSketch layout): bucket {@code i}
+ * holds values in {@code (γ^(i-1), γ^i]}, so every quantile is answered within {@value #RELATIVE_ACCURACY} relative
+ * error. Sketches merge by adding bucket counts and support removals the same way, which is what lets them live in
+ * Firestore as plain counters updated with {@link FieldValue#increment(long)}. Covering one second to ten years
+ * takes fewer than 500 buckets, so a sketch stays small however many values it has seen.
+ */
+public final class QuantileSketch {
+
+    static final double RELATIVE_ACCURACY = 0.02;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final NavigableMap<Integer, Long> buckets = new TreeMap<>();
+    private long count;
+
+    /** The bucket {@code value} falls in; values up to 1 share bucket 0. */
+    public static int bucketOf(double value) {
+        return value <= 1 ? 0 : (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    /** Field updates that add {@code delta} values to {@code bucket} in a sketch stored by {@link #fromDocument}. */
+    public static Map<String, Object> increments(int bucket, long delta) {
+        return Map.of(
+                "count", FieldValue.increment(delta),
+                "buckets", Map.of(Integer.toString(bucket), FieldValue.increment(delta)));
+    }
+
+    /** Reads a sketch written with {@link #increments}; a missing document is an empty sketch. */
+    public static QuantileSketch fromDocument(DocumentSnapshot snapshot) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (snapshot.exists() && snapshot.get("buckets") instanceof Map<?, ?> stored) {
+            stored.forEach((bucket, value) -> {
+                if (value instanceof Number number) {
+                    sketch.add(Integer.parseInt(bucket.toString()), number.longValue());
+                }
+            });
+        }
+        return sketch;
+    }
+
+    public void add(double value) {
+        add(bucketOf(value), 1);
+    }
+
+    public void add(int bucket, long delta) {
+        long updated = buckets.getOrDefault(bucket, 0L) + delta;
+        if (updated > 0) {
+            buckets.put(bucket, updated);
+        } else {
+            buckets.remove(bucket);
+        }
+        count = Math.max(count + delta, 0);
+    }
+
+    public void merge(QuantileSketch other) {
+        other.buckets.forEach(this::add);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /** Estimated {@code quantile} (0..1) of the values seen, or 0 for an empty sketch. */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return valueOf(bucket.getKey());
+            }
+        }
+        return valueOf(buckets.lastKey());
+    }
+
+    private static double valueOf(int bucket) {
+        return bucket == 0 ? 0 : 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,193 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which Firestore query shapes the database can serve. A query that needs a composite index nobody has created
+ * fails with {@code FAILED_PRECONDITION}; once a shape has failed that way, in a probe or a real request, callers
+ * see {@link #isUsable} return false and go straight to their index-free plan instead of paying for the failing
+ * round trip every time. A missing shape is probed again, in the background, by the first request that finds its
+ * last check at least {@code firebase.items.index-probes.reprobe-interval} old, so a newly built index is picked
+ * up without a restart.
+ */
+@Component
+public class QueryCapabilities {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCapabilities.class);
+
+    public enum Support {
+        /** Probed, but the probe failed for a reason other than a missing index. */
+        UNKNOWN,
+        SUPPORTED,
+        MISSING
+    }
+
+    private final Duration reprobeInterval;
+    private final Clock clock;
+    private final Map<ShapeKey, QueryCapability> capabilities = new ConcurrentHashMap<>();
+    private final Set<ShapeKey> probing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public QueryCapabilities(FirebaseProperties firebaseProperties) {
+        this(firebaseProperties.getItems().getIndexProbes(), Clock.systemUTC());
+    }
+
+    QueryCapabilities(FirebaseProperties.IndexProbes settings, Clock clock) {
+        this.reprobeInterval = settings.getReprobeInterval() == null ? Duration.ZERO : settings.getReprobeInterval();
+        this.clock = clock;
+    }
+
+    /** Whether queries of {@code shape} should be sent to Firestore: true unless the shape is known to lack its index. */
+    public boolean isUsable(String collection, QueryShape shape) {
+        QueryCapability capability = capabilities.get(key(collection, shape));
+        return capability == null || capability.support() != Support.MISSING;
+    }
+
+    /**
+     * Starts a probe of a shape known to be missing its index once its last check is a re-probe interval old. The
+     * caller does not wait for it and keeps using its fallback for the current request.
+     */
+    public void reprobeIfDue(String collection, QueryShape shape, Supplier<CompletableFuture<?>> query) {
+        QueryCapability capability = capabilities.get(key(collection, shape));
+        if (capability != null && capability.nextProbeAt() != null
+                && !clock.instant().isBefore(capability.nextProbeAt())) {
+            probe(collection, shape, query);
+        }
+    }
+
+    /**
+     * Runs {@code query}, a cheap read of {@code shape}, and records whether Firestore could serve it. While one
+     * probe of a shape is in flight, further probes of it complete at once with the currently known support.
+     */
+    public CompletableFuture<Support> probe(String collection, QueryShape shape, Supplier<CompletableFuture<?>> query) {
+        ShapeKey key = key(collection, shape);
+        if (!probing.add(key)) {
+            return CompletableFuture.completedFuture(support(key));
+        }
+        CompletableFuture<?> running;
+        try {
+            running = query.get();
+        } catch (RuntimeException e) {
+            running = CompletableFuture.failedFuture(e);
+        }
+        return running.handle((result, failure) -> {
+            try {
+                if (failure == null) {
+                    recordSupported(collection, shape);
+                } else if (!recordFailure(collection, shape, failure)) {
+                    Throwable cause = FirestoreFutures.unwrap(failure);
+                    log.warn("Probe of Firestore query {} {} failed; keeping its previous state", collection,
+                            key.describe(), cause);
+                    capabilities.compute(key, (ignored, previous) -> capability(
+                            key, previous == null ? Support.UNKNOWN : previous.support(), String.valueOf(cause)));
+                }
+                return support(key);
+            } finally {
+                probing.remove(key);
+            }
+        });
+    }
+
+    /** Records a query of {@code shape} that Firestore served. */
+    public void recordSupported(String collection, QueryShape shape) {
+        ShapeKey key = key(collection, shape);
+        QueryCapability previous = capabilities.get(key);
+        if (previous != null && previous.support() == Support.SUPPORTED) {
+            return;
+        }
+        capabilities.put(key, capability(key, Support.SUPPORTED, null));
+        if (previous != null && previous.support() == Support.MISSING) {
+            log.info("Firestore can now serve {} {}; leaving the index-free plan", collection, key.describe());
+        }
+    }
+
+    /** Records a failed query of {@code shape} and returns whether it failed for lack of a composite index. */
+    public boolean recordFailure(String collection, QueryShape shape, Throwable failure) {
+        Throwable missingIndex = missingIndexError(failure);
+        if (missingIndex == null) {
+            return false;
+        }
+        ShapeKey key = key(collection, shape);
+        QueryCapability previous = capabilities.put(key, capability(key, Support.MISSING, missingIndex.getMessage()));
+        if (previous == null || previous.support() != Support.MISSING) {
+            log.warn("Firestore is missing a composite index for {} {}; using the index-free plan until it is built: {}",
+                    collection, key.describe(), missingIndex.getMessage());
+        }
+        return true;
+    }
+
+    /** Every shape checked so far, by collection and shape. */
+    public List<QueryCapability> capabilities() {
+        List<QueryCapability> all = new ArrayList<>(capabilities.values());
+        all.sort(Comparator.comparing(QueryCapability::collection).thenComparing(QueryCapability::shape));
+        return all;
+    }
+
+    private Support support(ShapeKey key) {
+        QueryCapability capability = capabilities.get(key);
+        return capability == null ? Support.UNKNOWN : capability.support();
+    }
+
+    private QueryCapability capability(ShapeKey key, Support support, String detail) {
+        Instant now = clock.instant();
+        Instant nextProbeAt = support == Support.MISSING && reprobeInterval.isPositive() ? now.plus(reprobeInterval) : null;
+        return new QueryCapability(
+                key.collection(), key.describe(), key.filters(), key.orderBy(), support, now, nextProbeAt, detail);
+    }
+
+    private static ShapeKey key(String collection, QueryShape shape) {
+        return new ShapeKey(collection, shape.filters(), shape.orderBy());
+    }
+
+    /** The Firestore error in {@code failure}'s cause chain saying the query requires an index, if any. */
+    private static Throwable missingIndexError(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            String message = current.getMessage();
+            if (message != null && message.contains("requires an index")) {
+                return current;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * What is known about one query shape; {@code nextProbeAt} is set while the shape is missing and re-probing is on,
+     * and {@code detail} carries Firestore's message, including its index-creation link, when the last check failed.
+     */
+    public record QueryCapability(
+            String collection,
+            String shape,
+            List<String> filters,
+            String orderBy,
+            Support support,
+            Instant checkedAt,
+            Instant nextProbeAt,
+            String detail) {
+    }
+
+    /** Limits and the fallback flag don't change which index a query needs, so they are not part of the key. */
+    private record ShapeKey(String collection, List<String> filters, String orderBy) {
+
+        String describe() {
+            return new QueryShape(filters, orderBy, null, false).describe();
+        }
+    }
+}
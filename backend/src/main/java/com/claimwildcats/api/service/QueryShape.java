@@ -0,0 +1,41 @@
+package com.claimwildcats.api.service;
+
+import java.util.List;
+
+/**
+ * The structure of a Firestore query without its values: the equality filters (as {@code field==}), the ordering,
+ * the limit this call used, and whether the query is the client-side scan that replaces a filtered query when a
+ * composite index is missing. {@link #describe()} leaves the limit value out, so pages of different sizes share
+ * one shape.
+ */
+public record QueryShape(List<String> filters, String orderBy, Integer limit, boolean indexFallback) {
+
+    public QueryShape {
+        filters = List.copyOf(filters);
+    }
+
+    /** A filtered query or aggregation without ordering or limit. */
+    public static QueryShape filtered(List<String> filters) {
+        return new QueryShape(filters, null, null, false);
+    }
+
+    public QueryShape withLimit(int limit) {
+        return new QueryShape(filters, orderBy, limit, indexFallback);
+    }
+
+    /** e.g. {@code status==,campusZone== orderBy createdAt desc limit}; {@code all} for an unfiltered count. */
+    public String describe() {
+        StringBuilder shape = new StringBuilder(String.join(",", filters));
+        if (orderBy != null) {
+            shape.append(" orderBy ").append(orderBy);
+        }
+        if (limit != null) {
+            shape.append(" limit");
+        }
+        if (indexFallback) {
+            shape.append(" [index fallback]");
+        }
+        String described = shape.toString().trim();
+        return described.isEmpty() ? "all" : described;
+    }
+}
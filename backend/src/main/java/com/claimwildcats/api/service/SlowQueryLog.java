@@ -0,0 +1,177 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recent Firestore queries that took at least {@code firebase.slow-queries.threshold}, and running totals for every
+ * query shape. Slow queries go into a fixed ring of {@code firebase.slow-queries.capacity} slots claimed with an
+ * atomic sequence, so recording never blocks a callback thread and the oldest entries are overwritten first. A
+ * {@link #slowQueries()} read that races a writer may miss the entry being replaced, never return a torn one.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final long thresholdNanos;
+    private final Clock clock;
+    private final AtomicReferenceArray<SlowQuery> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<ShapeKey, ShapeTotals> shapes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SlowQueryLog(FirebaseProperties firebaseProperties) {
+        this(firebaseProperties.getSlowQueries(), Clock.systemUTC());
+    }
+
+    SlowQueryLog(FirebaseProperties.SlowQueries settings, Clock clock) {
+        this.thresholdNanos = Math.max(settings.getThreshold().toNanos(), 0);
+        this.clock = clock;
+        this.ring = new AtomicReferenceArray<>(Math.max(settings.getCapacity(), 1));
+    }
+
+    /** Adds a finished query or aggregation to its shape's totals, and to the ring if it was slow. */
+    public void record(FirestoreOperation operation, int documents, long elapsedNanos, boolean failed) {
+        QueryShape query = operation.query();
+        if (query == null) {
+            return;
+        }
+        boolean slow = elapsedNanos >= thresholdNanos;
+        shapes.computeIfAbsent(new ShapeKey(operation.collection(), operation.operation(), operation.shape()),
+                        key -> new ShapeTotals())
+                .add(documents, elapsedNanos, slow, failed);
+        if (!slow) {
+            return;
+        }
+        long position = sequence.getAndIncrement();
+        ring.set((int) (position % ring.length()), new SlowQuery(
+                position,
+                clock.instant(),
+                operation.collection(),
+                operation.operation(),
+                query.filters(),
+                query.orderBy(),
+                query.limit(),
+                documents,
+                millis(elapsedNanos),
+                query.indexFallback(),
+                failed));
+    }
+
+    /** The slow queries still in the ring, newest first. */
+    public List<SlowQuery> slowQueries() {
+        long end = sequence.get();
+        long start = Math.max(0, end - ring.length());
+        List<SlowQuery> entries = new ArrayList<>((int) (end - start));
+        for (long position = end - 1; position >= start; position--) {
+            SlowQuery entry = ring.get((int) (position % ring.length()));
+            // A slot may still be empty (claimed but not yet written) or already reused by a newer query.
+            if (entry != null && entry.sequence() == position) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /** Totals per query shape since startup, the shapes with the most time spent first. */
+    public List<ShapeStats> shapeStats() {
+        List<ShapeStats> stats = new ArrayList<>(shapes.size());
+        shapes.forEach((key, totals) -> stats.add(totals.toStats(key)));
+        stats.sort(Comparator.comparingDouble(ShapeStats::totalMillis).reversed());
+        return stats;
+    }
+
+    public Duration threshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    public int capacity() {
+        return ring.length();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** One query that exceeded the threshold; {@code limit} is null for unlimited queries and aggregations. */
+    public record SlowQuery(
+            long sequence,
+            Instant completedAt,
+            String collection,
+            String operation,
+            List<String> filters,
+            String orderBy,
+            Integer limit,
+            int documents,
+            double elapsedMillis,
+            boolean indexFallback,
+            boolean failed) {
+    }
+
+    public record ShapeStats(
+            String collection,
+            String operation,
+            String shape,
+            long count,
+            long slow,
+            long failed,
+            long documents,
+            double totalMillis,
+            double meanMillis,
+            double maxMillis) {
+    }
+
+    private record ShapeKey(String collection, String operation, String shape) {
+    }
+
+    private static final class ShapeTotals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder documents = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(int documentsRead, long elapsedNanos, boolean wasSlow, boolean wasFailed) {
+            count.increment();
+            if (wasSlow) {
+                slow.increment();
+            }
+            if (wasFailed) {
+                failed.increment();
+            }
+            documents.add(documentsRead);
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        ShapeStats toStats(ShapeKey key) {
+            long calls = count.sum();
+            long total = totalNanos.sum();
+            return new ShapeStats(
+                    key.collection(),
+                    key.operation(),
+                    key.shape(),
+                    calls,
+                    slow.sum(),
+                    failed.sum(),
+                    documents.sum(),
+                    millis(total),
+                    calls == 0 ? 0 : millis(total / calls),
+                    millis(maxNanos.get()));
+        }
+    }
+}
@@ -1,17 +1,18 @@
 package com.claimwildcats.api.service;
 
-import com.claimwildcats.api.domain.ClaimSummary;
-import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ClaimStatus;
 import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.domain.ReportCounts;
 import com.claimwildcats.api.domain.UserProfile;
 import com.claimwildcats.api.domain.UserRole;
+import com.claimwildcats.api.dto.ClaimPage;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.Firestore;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -25,87 +26,105 @@ public class UserService {
     private final ItemService itemService;
     private final ClaimService claimService;
     private final FirebaseFacade firebaseFacade;
+    private final FirestoreFutures firestoreFutures;
 
-    public UserService(ItemService itemService, ClaimService claimService, FirebaseFacade firebaseFacade) {
+    public UserService(
+            ItemService itemService,
+            ClaimService claimService,
+            FirebaseFacade firebaseFacade,
+            FirestoreFutures firestoreFutures) {
         this.itemService = itemService;
         this.claimService = claimService;
         this.firebaseFacade = firebaseFacade;
+        this.firestoreFutures = firestoreFutures;
     }
 
     public UserProfile getProfile(String userId) {
-        List<ItemSummary> reports = listMyReports(userId);
-        long resolvedCount = reports.stream().filter(summary -> summary.status() == ItemStatus.CLAIMED).count();
-        long openCount = reports.size() - resolvedCount;
+        return FirestoreFutures.await(getProfileAsync(userId));
+    }
+
+    /**
+     * Reads the {@code users/{id}} document and counts the user's reports concurrently, so the profile costs one
+     * round trip of latency instead of two.
+     */
+    public CompletableFuture<UserProfile> getProfileAsync(String userId) {
+        CompletableFuture<ReportCounts> counts = itemService.countReportsForUserAsync(userId);
+        return firebaseFacade.getFirestore()
+                .map(firestore -> fetchUserDocument(firestore, userId)
+                        .thenCombine(counts, (snapshot, reports) -> toProfile(snapshot, userId, reports)))
+                .orElseGet(() -> {
+                    firestoreFutures.metrics().fallback(FirestoreMetrics.STUB, "users.profile");
+                    return counts.thenApply(reports -> defaultProfile(userId, reports));
+                });
+    }
+
+    public List<ItemSummary> listMyReports(String userId) {
+        return FirestoreFutures.await(listMyReportsAsync(userId));
+    }
 
-        Optional<UserProfile> firestoreProfile = firebaseFacade.getFirestore()
-                .map(firestore -> fetchUserProfile(firestore, userId, (int) openCount, (int) resolvedCount));
+    public CompletableFuture<List<ItemSummary>> listMyReportsAsync(String userId) {
+        return itemService.listReportsForUserAsync(userId);
+    }
 
-        return firestoreProfile.orElseGet(() -> new UserProfile(
+    public ClaimPage listMyClaims(String userId) {
+        return FirestoreFutures.await(listMyClaimsAsync(userId, null, null, ClaimService.DEFAULT_PAGE_SIZE, false));
+    }
+
+    public CompletableFuture<ClaimPage> listMyClaimsAsync(
+            String userId, ClaimStatus status, String cursor, int limit, boolean expandItems) {
+        return claimService.listClaimsForUserAsync(userId, status, cursor, limit, expandItems);
+    }
+
+    private CompletableFuture<DocumentSnapshot> fetchUserDocument(Firestore firestore, String userId) {
+        return firestoreFutures.adapt(
+                firestore.collection(USERS_COLLECTION).document(userId).get(),
+                FirestoreOperation.get(USERS_COLLECTION),
+                "Failed to load user profile from Firestore");
+    }
+
+    private UserProfile defaultProfile(String userId, ReportCounts reports) {
+        return new UserProfile(
                 userId,
                 userId,
                 userId,
                 UserRole.USER,
                 false,
-                (int) openCount,
-                (int) resolvedCount,
-                Instant.now()));
+                reports.open(),
+                reports.resolved(),
+                Instant.now());
     }
 
-    public List<ItemSummary> listMyReports(String userId) {
-        return itemService.listReportsForUser(userId);
-    }
+    private UserProfile toProfile(DocumentSnapshot snapshot, String userId, ReportCounts reports) {
+        if (!snapshot.exists()) {
+            return defaultProfile(userId, reports);
+        }
 
-    public List<ClaimSummary> listMyClaims(String userId) {
-        return claimService.listClaimsForUser(userId);
-    }
+        String fullName = Optional.ofNullable(snapshot.getString("fullName")).orElse(userId);
+        String email = Optional.ofNullable(snapshot.getString("email")).orElse(userId);
+        boolean emailVerified = Optional.ofNullable(snapshot.getBoolean("emailVerified")).orElse(false);
+        UserRole role = Optional.ofNullable(snapshot.getString("role"))
+                .map(value -> {
+                    try {
+                        return UserRole.valueOf(value);
+                    } catch (IllegalArgumentException ex) {
+                        log.warn("Unknown role '{}' for user {}", value, userId);
+                        return UserRole.USER;
+                    }
+                })
+                .orElse(UserRole.USER);
+        Instant createdAt = Optional.ofNullable(snapshot.getTimestamp("createdAt"))
+                .map(this::toInstant)
+                .orElse(Instant.now());
 
-    private UserProfile fetchUserProfile(Firestore firestore, String userId, int openCount, int resolvedCount) {
-        try {
-            DocumentSnapshot snapshot = firestore.collection(USERS_COLLECTION).document(userId).get().get();
-            if (!snapshot.exists()) {
-                return new UserProfile(
-                        userId,
-                        userId,
-                        userId,
-                        UserRole.USER,
-                        false,
-                        openCount,
-                        resolvedCount,
-                        Instant.now());
-            }
-
-            String fullName = Optional.ofNullable(snapshot.getString("fullName")).orElse(userId);
-            String email = Optional.ofNullable(snapshot.getString("email")).orElse(userId);
-            boolean emailVerified = Optional.ofNullable(snapshot.getBoolean("emailVerified")).orElse(false);
-            UserRole role = Optional.ofNullable(snapshot.getString("role"))
-                    .map(value -> {
-                        try {
-                            return UserRole.valueOf(value);
-                        } catch (IllegalArgumentException ex) {
-                            log.warn("Unknown role '{}' for user {}", value, userId);
-                            return UserRole.USER;
-                        }
-                    })
-                    .orElse(UserRole.USER);
-            Instant createdAt = Optional.ofNullable(snapshot.getTimestamp("createdAt"))
-                    .map(this::toInstant)
-                    .orElse(Instant.now());
-
-            return new UserProfile(
-                    userId,
-                    fullName,
-                    email,
-                    role,
-                    emailVerified,
-                    openCount,
-                    resolvedCount,
-                    createdAt);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while loading user profile", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to load user profile from Firestore", e);
-        }
+        return new UserProfile(
+                userId,
+                fullName,
+                email,
+                role,
+                emailVerified,
+                reports.open(),
+                reports.resolved(),
+                createdAt);
     }
 
     private Instant toInstant(Timestamp timestamp) {
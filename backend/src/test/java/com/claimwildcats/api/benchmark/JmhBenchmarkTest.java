@@ -0,0 +1,38 @@
+package com.claimwildcats.api.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks in the test tree ({@code *Benchmark} classes) with the GC profiler, so every score comes
+ * with {@code gc.alloc.rate} and {@code gc.alloc.rate.norm} (bytes per operation). Run with
+ * {@code ./mvnw -Pbenchmark test}; {@code -Dbenchmark.include=<regex>} narrows the set, e.g.
+ * {@code -Dbenchmark.include=ItemSearch}. Results are printed and written to {@code target/jmh-result.json}.
+ */
+@Tag("benchmark")
+class JmhBenchmarkTest {
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("benchmark.include", "com\\.claimwildcats\\.api\\..*Benchmark"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .shouldFailOnError(true)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -5,18 +5,28 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.claimwildcats.api.domain.ClaimStatus;
 import com.claimwildcats.api.domain.ClaimSummary;
 import com.claimwildcats.api.dto.ClaimItemRequest;
+import com.claimwildcats.api.dto.ClaimPage;
 import com.claimwildcats.api.service.ClaimService;
+import com.claimwildcats.api.service.DashboardRollups;
+import com.claimwildcats.api.service.FirebaseFacade;
+import com.claimwildcats.api.service.FirestoreFutures;
+import com.claimwildcats.api.service.ItemService;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 class ClaimControllerTest {
 
@@ -47,9 +57,47 @@ class ClaimControllerTest {
                 Instant.now(),
                 null,
                 null);
-        when(claimService.submitClaim(any(), any(), any())).thenReturn(summary);
+        when(claimService.submitClaimAsync(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(summary));
 
-        ClaimSummary result = controller.submit("item-1", new ClaimItemRequest("detail", "justification", List.of()));
+        ClaimSummary result = controller.submit("item-1", new ClaimItemRequest("detail", "justification", List.of()))
+                .join();
         assertThat(result).isEqualTo(summary);
     }
+
+    @Test
+    void list_passesPagingAndExpandsItemsOnlyWhenAskedFor() {
+        when(claimService.listClaimsForItemAsync(
+                any(), any(), any(), org.mockito.ArgumentMatchers.anyInt(), org.mockito.ArgumentMatchers.anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(new ClaimPage(List.of(), 20, null)));
+
+        controller.list("item-1", null, null, 20, null).join();
+        controller.list("item-1", ClaimStatus.PENDING, "cursor-1", 5, " Item ").join();
+
+        org.mockito.Mockito.verify(claimService).listClaimsForItemAsync("item-1", null, null, 20, false);
+        org.mockito.Mockito.verify(claimService).listClaimsForItemAsync("item-1", ClaimStatus.PENDING, "cursor-1", 5, true);
+    }
+
+    @Test
+    void list_rejectsUnsupportedExpansionsAsBadRequests() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/items/item-1/claims").param("expand", "item,claimant"))
+                .andExpect(status().isBadRequest());
+        org.mockito.Mockito.verifyNoInteractions(claimService);
+    }
+
+    @Test
+    void list_rejectsMalformedCursorsAsBadRequests() throws Exception {
+        ClaimController withService = new ClaimController(new ClaimService(
+                mock(FirebaseFacade.class), mock(ItemService.class), mock(FirestoreFutures.class),
+                mock(DashboardRollups.class)));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(withService)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/items/item-1/claims").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
 }
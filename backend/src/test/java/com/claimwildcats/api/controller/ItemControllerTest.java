@@ -6,6 +6,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.claimwildcats.api.domain.CampusZone;
 import com.claimwildcats.api.domain.ItemDetail;
@@ -15,11 +17,16 @@ import com.claimwildcats.api.dto.UpdateItemStatusRequest;
 import com.claimwildcats.api.service.ItemService;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 class ItemControllerTest {
 
@@ -61,7 +68,7 @@ class ItemControllerTest {
                 List.of("electronics"),
                 List.of(),
                 "user-7");
-        when(itemService.createLostItem(any(), eq("user-7"))).thenReturn(detail);
+        when(itemService.createLostItemAsync(any(), eq("user-7"))).thenReturn(CompletableFuture.completedFuture(detail));
 
         ItemDetail response = controller.reportLost(new CreateLostItemRequest(
                 "Laptop",
@@ -70,11 +77,25 @@ class ItemControllerTest {
                 CampusZone.LIBRARY,
                 Instant.now(),
                 List.of("electronics"),
-                List.of()));
+                List.of())).join();
 
         assertThat(response).isEqualTo(detail);
     }
 
+    @Test
+    void lookup_rejectsMoreThanTheIdCapAsABadRequest() throws Exception {
+        // The cap is checked before any read, so the real method runs on the mock without touching Firestore.
+        when(itemService.findByIdsAsync(org.mockito.ArgumentMatchers.anyList())).thenCallRealMethod();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+        String ids = IntStream.rangeClosed(0, ItemService.MAX_LOOKUP_IDS)
+                .mapToObj(i -> "item-" + i)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/items").param("ids", ids)).andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateStatus_requiresAuthentication() {
         assertThrows(AccessDeniedException.class,
@@ -0,0 +1,53 @@
+package com.claimwildcats.api.domain;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link CampusZone#fromValue} and {@link ItemStatus#fromValue}, which run for every mapped document and every
+ * filtered request, over the spellings they actually receive: stored values, JSON values in mixed case and query
+ * parameters with stray whitespace. Scores are per parsed value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainEnumBenchmark {
+
+    private static final String[] ZONES = {
+        "Library", "Main", "Gym", "Labs", "Canteen", "Parking", "Gate1", "Gate2", "Other",
+        "library", "GYM", " Labs ", "gate2", "Canteen", "Main", "Other"
+    };
+    private static final String[] STATUSES = {
+        "FOUND", "LOST", "CLAIMED", "FOUND", "found", "lost", " Found ", "claimed",
+        "FOUND", "LOST", "FOUND", "CLAIMED", "found", "FOUND", "LOST", "Lost"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void campusZoneFromValue(Blackhole blackhole) {
+        for (String value : ZONES) {
+            blackhole.consume(CampusZone.fromValue(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void itemStatusFromValue(Blackhole blackhole) {
+        for (String value : STATUSES) {
+            blackhole.consume(ItemStatus.fromValue(value));
+        }
+    }
+}
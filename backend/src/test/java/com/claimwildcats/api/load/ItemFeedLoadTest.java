@@ -0,0 +1,166 @@
+package com.claimwildcats.api.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.claimwildcats.api.support.FakeFirestore;
+import com.google.cloud.Timestamp;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Drives {@code GET /api/items} against a {@link FakeFirestore} that takes {@code load.latency-ms} per RPC, once
+ * with platform request threads (Tomcat capped at {@value #TOMCAT_THREADS}) and once with
+ * {@code spring.threads.virtual.enabled}. Each mode runs against a Firestore whose latency is paid on the calling
+ * thread (a client blocking in {@code get()}) and one whose futures complete later, and prints throughput and
+ * latency percentiles. The search index is off so every request reaches Firestore.
+ *
+ * <p>Excluded from the default build; run with {@code ./mvnw -Pload-test test}. {@code -Dload.clients},
+ * {@code -Dload.seconds} and {@code -Dload.latency-ms} tune the run.
+ */
+@Tag("load")
+class ItemFeedLoadTest {
+
+    private static final int TOMCAT_THREADS = 32;
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+    private static final Duration FIRESTORE_LATENCY = Duration.ofMillis(Long.getLong("load.latency-ms", 50));
+    private static final int SEEDED_ITEMS = 200;
+
+    @Test
+    void itemFeedUnderSlowFirestore() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        for (boolean blockingFirestore : new boolean[] {true, false}) {
+            for (boolean virtualThreads : new boolean[] {false, true}) {
+                results.add(run(virtualThreads, blockingFirestore));
+            }
+        }
+
+        System.out.printf(Locale.US, "%nGET /api/items, %d clients, Firestore latency %d ms per RPC%n",
+                CLIENTS, FIRESTORE_LATENCY.toMillis());
+        System.out.printf(Locale.US, "%-9s %-10s %9s %10s %9s %9s %7s%n",
+                "threads", "firestore", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        for (LoadResult result : results) {
+            System.out.printf(Locale.US, "%-9s %-10s %9d %10.1f %9.1f %9.1f %7d%n",
+                    result.virtualThreads() ? "virtual" : "platform",
+                    result.blockingFirestore() ? "blocking" : "async",
+                    result.requests(),
+                    result.throughput(),
+                    result.p50Millis(),
+                    result.p99Millis(),
+                    result.errors());
+        }
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.errors()).isZero();
+            assertThat(result.requests()).isPositive();
+        });
+    }
+
+    private LoadResult run(boolean virtualThreads, boolean blockingFirestore) throws Exception {
+        FakeFirestore fake = seededFirestore();
+        if (blockingFirestore) {
+            fake.withBlockingLatency(FIRESTORE_LATENCY);
+        } else {
+            fake.withLatency(FIRESTORE_LATENCY);
+        }
+        try (ConfigurableApplicationContext context = LoadTestApplication.boot(
+                fake,
+                null,
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "firebase.items.search-index.enabled=false",
+                "firebase.items.replica.enabled=false")) {
+            int port = LoadTestApplication.port(context);
+            return drive(URI.create("http://localhost:" + port + "/api/items?pageSize=12"), virtualThreads, blockingFirestore);
+        }
+    }
+
+    private LoadResult drive(URI uri, boolean virtualThreads, boolean blockingFirestore) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASURE.toNanos();
+
+        List<Future<LatencySamples>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    LatencySamples stats = new LatencySamples();
+                    while (System.nanoTime() < measureUntil) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (java.io.IOException e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= measureUntil) {
+                            stats.record(end - start, ok);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+        }
+
+        LatencySamples total = new LatencySamples();
+        for (Future<LatencySamples> stats : clients) {
+            total.addAll(stats.get());
+        }
+        return new LoadResult(
+                virtualThreads,
+                blockingFirestore,
+                total.requests(),
+                total.requests() / (double) MEASURE.toSeconds(),
+                total.percentileMillis(0.50),
+                total.percentileMillis(0.99),
+                total.errors());
+    }
+
+    private static FakeFirestore seededFirestore() {
+        FakeFirestore fake = new FakeFirestore();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < SEEDED_ITEMS; i++) {
+            Instant createdAt = base.plusSeconds(i * 60L);
+            fake.seed("items", "item-" + i, Map.of(
+                    "title", "Item " + i,
+                    "description", "Seeded for the load test",
+                    "status", i % 2 == 0 ? "LOST" : "FOUND",
+                    "locationText", "Library Atrium",
+                    "campusZone", "Library",
+                    "tags", List.of("seed"),
+                    "docUrls", List.of(),
+                    "reporterId", "user-" + (i % 20),
+                    "createdAt", Timestamp.ofTimeSecondsAndNanos(createdAt.getEpochSecond(), 0)));
+        }
+        return fake;
+    }
+
+    private record LoadResult(
+            boolean virtualThreads,
+            boolean blockingFirestore,
+            int requests,
+            double throughput,
+            double p50Millis,
+            double p99Millis,
+            int errors) {
+    }
+}
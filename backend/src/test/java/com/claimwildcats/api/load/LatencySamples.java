@@ -0,0 +1,48 @@
+package com.claimwildcats.api.load;
+
+import java.util.Arrays;
+
+/** Latencies of successful requests and a count of failed ones, collected by one client and merged at the end. */
+final class LatencySamples {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private int errors;
+
+    void record(long nanos, boolean ok) {
+        if (!ok) {
+            errors++;
+            return;
+        }
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.latencies[i], true);
+        }
+        errors += other.errors;
+    }
+
+    int requests() {
+        return size;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    /** Nearest-rank percentile of the recorded latencies, in milliseconds. */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.claimwildcats.api.load;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.claimwildcats.api.ClaimWildCatsApiApplication;
+import com.claimwildcats.api.service.FirebaseFacade;
+import com.claimwildcats.api.support.FakeFirestore;
+import com.google.firebase.auth.FirebaseAuth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Boots the real application on a random port with every Firestore call served by a {@link FakeFirestore}. When a
+ * {@link FirebaseAuth} is given it replaces the Firebase one, so load clients can send bearer tokens to the
+ * authenticated endpoints.
+ */
+final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    static ConfigurableApplicationContext boot(FakeFirestore fake, FirebaseAuth firebaseAuth, String... properties) {
+        FirebaseFacade facade = mock(FirebaseFacade.class, withSettings().stubOnly());
+        when(facade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        List<String> settings = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "firebase.enabled=false",
+                "logging.level.root=WARN"));
+        settings.addAll(List.of(properties));
+        // Command-line arguments, unlike builder properties, take precedence over application.yml.
+        String[] arguments = settings.stream().map(setting -> "--" + setting).toArray(String[]::new);
+        return new SpringApplicationBuilder(ClaimWildCatsApiApplication.class)
+                .initializers(applicationContext -> {
+                    GenericApplicationContext context = (GenericApplicationContext) applicationContext;
+                    context.registerBean("loadTestFirebaseFacade", FirebaseFacade.class, () -> facade,
+                            definition -> definition.setPrimary(true));
+                    if (firebaseAuth != null) {
+                        context.registerBean("loadTestFirebaseAuth", FirebaseAuth.class, () -> firebaseAuth,
+                                definition -> definition.setPrimary(true));
+                    }
+                })
+                .run(arguments);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
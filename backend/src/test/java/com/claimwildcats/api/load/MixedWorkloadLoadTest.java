@@ -0,0 +1,321 @@
+package com.claimwildcats.api.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.claimwildcats.api.support.FakeFirestore;
+import com.claimwildcats.api.support.SyntheticItems;
+import com.google.cloud.Timestamp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseToken;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Drives a weighted mix of the item, claim and user endpoints against the booted application, backed by a
+ * {@link FakeFirestore} seeded with {@value #SEEDED_ITEMS} synthetic items, claims on a third of them and their
+ * reporters' profiles. Every RPC takes {@code load.latency-ms} plus up to {@code load.jitter-ms}, and a
+ * {@code load.error-rate} share of RPCs fail with {@code UNAVAILABLE}. The report gives throughput, p50/p99 and
+ * errors per endpoint, Firestore round trips per request over the whole run, and round trips per request for each
+ * endpoint, measured afterwards one request at a time so concurrent requests are not counted against each other.
+ *
+ * <p>Excluded from the default build; run with {@code ./mvnw -Pload-test test -Dtest=MixedWorkloadLoadTest}.
+ * {@code -Dload.mix=feed=40,detail=30,profile=30} picks endpoints and weights (names as in {@link #ENDPOINTS});
+ * {@code -Dload.clients}, {@code -Dload.seconds}, {@code -Dload.warmup-seconds} and {@code -Dload.virtual-threads}
+ * tune the run and {@code -Dload.app-properties=key=value;key=value} passes settings to the application. The search
+ * index and replica are off by default so requests reach Firestore. On machines with one or two cores the JIT
+ * competes with the server for the whole warmup; lengthen it before reading absolute numbers.
+ */
+@Tag("load")
+class MixedWorkloadLoadTest {
+
+    private static final int SEEDED_ITEMS = 500;
+    private static final int USERS = 400;
+    private static final int PROFILE_SAMPLES = 20;
+    private static final int CLIENTS = Integer.getInteger("load.clients", 100);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+    private static final Duration LATENCY = Duration.ofMillis(Long.getLong("load.latency-ms", 20));
+    private static final Duration JITTER = Duration.ofMillis(Long.getLong("load.jitter-ms", 20));
+    private static final double ERROR_RATE = Double.parseDouble(System.getProperty("load.error-rate", "0"));
+    private static final String DEFAULT_MIX = "feed=25,search=10,filter=10,detail=20,similar=5,itemClaims=5,"
+            + "profile=10,userReports=5,userClaims=5,submitClaim=3,reportLost=2";
+    private static final String[] QUERIES = {"wallet", "blue", "umbrella", "hydro flask", "keys", "charger"};
+
+    /** Endpoints the mix can draw from, keyed by the names used in {@code load.mix}. */
+    private static final Map<String, Endpoint> ENDPOINTS = endpoints();
+
+    @Test
+    void mixedWorkloadUnderSlowFirestore() throws Exception {
+        Map<String, Integer> mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+        FakeFirestore fake = seededFirestore();
+        fake.withLatency(LATENCY).withLatencyJitter(JITTER).withErrorRate(ERROR_RATE);
+
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.threads.virtual.enabled=" + Boolean.getBoolean("load.virtual-threads"),
+                "firebase.items.search-index.enabled=false",
+                "firebase.items.replica.enabled=false"));
+        String extra = System.getProperty("load.app-properties", "");
+        for (String property : extra.split(";")) {
+            if (!property.isBlank()) {
+                properties.add(property.trim());
+            }
+        }
+
+        try (ConfigurableApplicationContext context =
+                LoadTestApplication.boot(fake, firebaseAuth(), properties.toArray(String[]::new))) {
+            URI base = URI.create("http://localhost:" + LoadTestApplication.port(context));
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Run run = drive(client, base, mix, fake);
+
+            fake.withLatency(Duration.ZERO).withLatencyJitter(Duration.ZERO).withErrorRate(0);
+            Map<String, Double> roundTripsPerRequest = new LinkedHashMap<>();
+            for (String name : mix.keySet()) {
+                roundTripsPerRequest.put(name, roundTripsPerRequest(client, base, ENDPOINTS.get(name), fake));
+            }
+
+            print(mix, run, roundTripsPerRequest);
+            LatencySamples total = run.total();
+            assertThat(total.requests()).isPositive();
+            if (ERROR_RATE == 0) {
+                assertThat(total.errors()).isZero();
+            }
+        }
+    }
+
+    private Run drive(HttpClient client, URI base, Map<String, Integer> mix, FakeFirestore fake) throws Exception {
+        List<String> draw = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                draw.add(name);
+            }
+        });
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASURE.toNanos();
+
+        List<Future<Map<String, LatencySamples>>> clients = new ArrayList<>(CLIENTS);
+        int roundTrips;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    Map<String, LatencySamples> stats = new LinkedHashMap<>();
+                    Random random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < measureUntil) {
+                        String name = draw.get(random.nextInt(draw.size()));
+                        long start = System.nanoTime();
+                        boolean ok = send(client, ENDPOINTS.get(name).request(base, random));
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= measureUntil) {
+                            stats.computeIfAbsent(name, key -> new LatencySamples()).record(end - start, ok);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+            Thread.sleep(WARMUP.toMillis());
+            fake.resetCounts();
+            Thread.sleep(MEASURE.toMillis());
+            roundTrips = fake.roundTrips();
+        }
+
+        Map<String, LatencySamples> byEndpoint = new LinkedHashMap<>();
+        mix.keySet().forEach(name -> byEndpoint.put(name, new LatencySamples()));
+        for (Future<Map<String, LatencySamples>> stats : clients) {
+            stats.get().forEach((name, samples) -> byEndpoint.get(name).addAll(samples));
+        }
+        return new Run(byEndpoint, roundTrips, fake.injectedErrors());
+    }
+
+    private static double roundTripsPerRequest(HttpClient client, URI base, Endpoint endpoint, FakeFirestore fake)
+            throws Exception {
+        Random random = new Random(7);
+        fake.resetCounts();
+        for (int i = 0; i < PROFILE_SAMPLES; i++) {
+            send(client, endpoint.request(base, random));
+        }
+        return fake.roundTrips() / (double) PROFILE_SAMPLES;
+    }
+
+    private static boolean send(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void print(Map<String, Integer> mix, Run run, Map<String, Double> roundTripsPerRequest) {
+        double seconds = MEASURE.toSeconds();
+        System.out.printf(Locale.US,
+                "%nMixed workload, %d clients, %s threads, Firestore latency %d+%d ms, error rate %.3f%n",
+                CLIENTS, Boolean.getBoolean("load.virtual-threads") ? "virtual" : "platform",
+                LATENCY.toMillis(), JITTER.toMillis(), ERROR_RATE);
+        System.out.printf(Locale.US, "%-12s %6s %9s %9s %9s %9s %7s %9s%n",
+                "endpoint", "weight", "requests", "req/s", "p50 ms", "p99 ms", "errors", "RPCs/req");
+        run.byEndpoint().forEach((name, samples) -> System.out.printf(Locale.US,
+                "%-12s %6d %9d %9.1f %9.1f %9.1f %7d %9.2f%n",
+                name,
+                mix.get(name),
+                samples.requests(),
+                samples.requests() / seconds,
+                samples.percentileMillis(0.50),
+                samples.percentileMillis(0.99),
+                samples.errors(),
+                roundTripsPerRequest.get(name)));
+        LatencySamples total = run.total();
+        int completed = total.requests() + total.errors();
+        System.out.printf(Locale.US, "%-12s %6s %9d %9.1f %9.1f %9.1f %7d %9.2f%n",
+                "all", "",
+                total.requests(),
+                total.requests() / seconds,
+                total.percentileMillis(0.50),
+                total.percentileMillis(0.99),
+                total.errors(),
+                completed == 0 ? 0 : run.roundTrips() / (double) completed);
+        System.out.printf(Locale.US, "Firestore round trips during the run: %d (%d failed by injection)%n",
+                run.roundTrips(), run.injectedErrors());
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (!ENDPOINTS.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Unknown endpoint '" + parts[0] + "'; known: " + ENDPOINTS.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                weights.put(parts[0], weight);
+            }
+        }
+        return weights;
+    }
+
+    private static Map<String, Endpoint> endpoints() {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        endpoints.put("feed", (base, random) -> get(base, "/api/items?pageSize=12"));
+        endpoints.put("search", (base, random) -> get(base,
+                "/api/items?pageSize=12&q=" + QUERIES[random.nextInt(QUERIES.length)].replace(" ", "%20")));
+        endpoints.put("filter", (base, random) -> get(base,
+                "/api/items?pageSize=12&status=found&campusZone=" + (random.nextBoolean() ? "Library" : "Gym")));
+        endpoints.put("detail", (base, random) -> get(base, "/api/items/" + itemId(random)));
+        endpoints.put("similar", (base, random) -> get(base, "/api/items/" + itemId(random) + "/similar"));
+        endpoints.put("itemClaims", (base, random) -> get(base, "/api/items/" + itemId(random) + "/claims"));
+        endpoints.put("profile", (base, random) -> get(base, "/api/users/" + userId(random)));
+        endpoints.put("userReports", (base, random) -> get(base, "/api/users/" + userId(random) + "/reports"));
+        endpoints.put("userClaims", (base, random) -> get(base, "/api/users/" + userId(random) + "/claims"));
+        endpoints.put("submitClaim", (base, random) -> post(base, "/api/items/" + itemId(random) + "/claims",
+                userId(random), "{\"secretDetail\":\"Initials inside\",\"justification\":\"Lost it last week\"}"));
+        endpoints.put("reportLost", (base, random) -> post(base, "/api/items/lost", userId(random),
+                "{\"title\":\"Black umbrella\",\"description\":\"Folding umbrella with a wooden handle\","
+                        + "\"locationText\":\"Library Atrium\",\"campusZone\":\"Library\",\"tags\":[\"umbrella\"]}"));
+        return endpoints;
+    }
+
+    private static String itemId(Random random) {
+        return "item-%05d".formatted(random.nextInt(SEEDED_ITEMS));
+    }
+
+    private static String userId(Random random) {
+        return "user-" + random.nextInt(USERS);
+    }
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    /** Bearer tokens are the user id itself; the stub {@link #firebaseAuth()} accepts any of them. */
+    private static HttpRequest post(URI base, String path, String userId, String json) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static FirebaseAuth firebaseAuth() {
+        return mock(FirebaseAuth.class, withSettings().stubOnly().defaultAnswer(invocation -> {
+            if (!invocation.getMethod().getName().equals("verifyIdToken")) {
+                return RETURNS_DEFAULTS.answer(invocation);
+            }
+            String uid = invocation.getArgument(0);
+            Map<String, Object> claims = Map.of("exp", Instant.now().plus(Duration.ofHours(1)).getEpochSecond());
+            return mock(FirebaseToken.class, withSettings().stubOnly().defaultAnswer(token ->
+                    switch (token.getMethod().getName()) {
+                        case "getUid" -> uid;
+                        case "getClaims" -> claims;
+                        default -> RETURNS_DEFAULTS.answer(token);
+                    }));
+        }));
+    }
+
+    private static FakeFirestore seededFirestore() {
+        FakeFirestore fake = new FakeFirestore();
+        Map<String, Map<String, Object>> items = SyntheticItems.documents(SEEDED_ITEMS, 42);
+        items.forEach((id, data) -> fake.seed("items", id, data));
+        for (int user = 0; user < USERS; user++) {
+            fake.seed("users", "user-" + user, Map.of(
+                    "fullName", "Load User " + user,
+                    "email", "user" + user + "@campus.edu",
+                    "emailVerified", true,
+                    "role", "USER",
+                    "createdAt", Timestamp.ofTimeSecondsAndNanos(SyntheticItems.EPOCH.getEpochSecond(), 0)));
+        }
+        Random random = new Random(42);
+        int claim = 0;
+        for (String itemId : items.keySet()) {
+            if (random.nextInt(3) > 0) {
+                continue;
+            }
+            for (int claims = 1 + random.nextInt(2); claims > 0; claims--) {
+                fake.seed("claims", "claim-" + claim++, Map.of(
+                        "itemId", itemId,
+                        "claimantId", "user-" + random.nextInt(USERS),
+                        "status", random.nextInt(4) == 0 ? "APPROVED" : "PENDING",
+                        "submittedAt", Timestamp.ofTimeSecondsAndNanos(
+                                SyntheticItems.EPOCH.getEpochSecond() - random.nextInt(86_400 * 30), 0)));
+            }
+        }
+        return fake;
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        HttpRequest request(URI base, Random random);
+    }
+
+    private record Run(Map<String, LatencySamples> byEndpoint, int roundTrips, int injectedErrors) {
+
+        LatencySamples total() {
+            LatencySamples total = new LatencySamples();
+            byEndpoint.values().forEach(total::addAll);
+            return total;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.claimwildcats.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FirebaseTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T08:00:00Z");
+
+    private final FirebaseAuth firebaseAuth = mock(FirebaseAuth.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FirebaseProperties.TokenCache settings = new FirebaseProperties.TokenCache();
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void verify_servesRepeatedTokensFromCacheUntilExp() throws Exception {
+        FirebaseToken decoded = token("user-1", NOW.plus(Duration.ofMinutes(30)));
+        when(firebaseAuth.verifyIdToken("id-token", false)).thenReturn(decoded);
+        FirebaseTokenCache cache = new FirebaseTokenCache(firebaseAuth, settings, meterRegistry, clock);
+
+        assertThat(cache.verify("id-token")).isSameAs(decoded);
+        clock.advance(Duration.ofMinutes(29));
+        assertThat(cache.verify("id-token")).isSameAs(decoded);
+        verify(firebaseAuth, times(1)).verifyIdToken("id-token", false);
+
+        clock.advance(Duration.ofMinutes(1));
+        cache.verify("id-token");
+        verify(firebaseAuth, times(2)).verifyIdToken("id-token", false);
+
+        assertThat(meterRegistry.get(FirebaseTokenCache.VERIFICATION_TIMER).timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", FirebaseTokenCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_rechecksRevocationOncePerInterval() throws Exception {
+        settings.setRevocationCheckInterval(Duration.ofMinutes(5));
+        FirebaseToken decoded = token("user-1", NOW.plus(Duration.ofHours(1)));
+        when(firebaseAuth.verifyIdToken("id-token", true)).thenReturn(decoded);
+        FirebaseTokenCache cache = new FirebaseTokenCache(firebaseAuth, settings, meterRegistry, clock);
+
+        cache.verify("id-token");
+        clock.advance(Duration.ofMinutes(4));
+        cache.verify("id-token");
+        verify(firebaseAuth, times(1)).verifyIdToken("id-token", true);
+
+        clock.advance(Duration.ofMinutes(1));
+        FirebaseAuthException revoked = new FirebaseAuthException(
+                ErrorCode.INVALID_ARGUMENT, "revoked", null, null, AuthErrorCode.REVOKED_ID_TOKEN);
+        when(firebaseAuth.verifyIdToken("id-token", true)).thenThrow(revoked);
+        assertThatThrownBy(() -> cache.verify("id-token")).isSameAs(revoked);
+        assertThatThrownBy(() -> cache.verify("id-token")).isSameAs(revoked);
+        verify(firebaseAuth, times(3)).verifyIdToken("id-token", true);
+    }
+
+    @Test
+    void verify_passesThroughWhenCacheDisabled() throws Exception {
+        settings.setEnabled(false);
+        FirebaseToken decoded = token("user-1", NOW.plus(Duration.ofHours(1)));
+        when(firebaseAuth.verifyIdToken(anyString(), anyBoolean())).thenReturn(decoded);
+        FirebaseTokenCache cache = new FirebaseTokenCache(firebaseAuth, settings, meterRegistry, clock);
+
+        cache.verify("id-token");
+        cache.verify("id-token");
+
+        verify(firebaseAuth, times(2)).verifyIdToken("id-token", false);
+    }
+
+    private static FirebaseToken token(String uid, Instant exp) {
+        FirebaseToken token = mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn(uid);
+        when(token.getClaims()).thenReturn(Map.of("exp", exp.getEpochSecond()));
+        return token;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.claimwildcats.api.security;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+    private static final String PENDING_CLAIMS = "/api/admin/claims/pending";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void adminClaimListing_isForbiddenToAnonymousCallers() throws Exception {
+        mockMvc.perform(get(PENDING_CLAIMS).with(anonymous())).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminClaimListing_isForbiddenToUsers() throws Exception {
+        mockMvc.perform(get(PENDING_CLAIMS).with(user("user-1").roles("USER"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void dashboardAndAnalytics_areForbiddenToUsers() throws Exception {
+        for (String path : new String[] {"/api/admin/dashboard", "/api/admin/analytics/time-to-claim"}) {
+            mockMvc.perform(get(path).with(anonymous())).andExpect(status().isForbidden());
+            mockMvc.perform(get(path).with(user("user-1").roles("USER"))).andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void adminClaimListing_isServedToAdmins() throws Exception {
+        mockMvc.perform(get(PENDING_CLAIMS).with(user("admin-1").roles("USER", "ADMIN")))
+                .andExpect(request().asyncStarted());
+    }
+}
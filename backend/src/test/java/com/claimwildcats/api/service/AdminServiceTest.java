@@ -0,0 +1,145 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.AdminDashboardSnapshot;
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ClaimStatus;
+import com.claimwildcats.api.domain.Hotspot;
+import com.claimwildcats.api.domain.TimeToClaimReport;
+import com.google.cloud.firestore.WriteBatch;
+import com.claimwildcats.api.support.FakeFirestore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdminServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T04:00:00Z");
+
+    private final FirebaseFacade firebaseFacade = mock(FirebaseFacade.class);
+    private final FakeFirestore fake = new FakeFirestore();
+    private final HotspotTracker hotspotTracker =
+            new HotspotTracker(new FirebaseProperties.Hotspots(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private DashboardRollups rollups;
+    private AdminService adminService;
+
+    @BeforeEach
+    void setUp() {
+        rollups = new DashboardRollups(
+                new FirestoreFutures(Runnable::run), hotspotTracker, Clock.fixed(NOW, ZoneOffset.UTC));
+        adminService = new AdminService(mock(ItemService.class), mock(ClaimService.class), firebaseFacade, rollups,
+                new FirestoreMetrics(new SimpleMeterRegistry()));
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+    }
+
+    @Test
+    void dashboard_readsRollupsInOneRoundTrip() {
+        LocalDate today = LocalDate.ofInstant(NOW, ItemService.CAMPUS_ZONE_ID);
+        fake.seed(DashboardRollups.STATS_COLLECTION, DashboardRollups.CLAIM_TOTALS, Map.of(
+                "approved", 3L,
+                "denied", 1L,
+                "timeToClaimCount", 3L,
+                "timeToClaimSeconds", 3 * 12 * 3600L));
+        seedDay(today, 4);
+        seedDay(today.minusDays(6), 2);
+        seedDay(today.minusDays(7), 5);
+        seedDay(today.minusDays(30), 50);
+        report("Library Atrium", CampusZone.LIBRARY, 0, 3);
+        report("Gym Lobby", CampusZone.GYM, 6, 2);
+        report("Canteen", CampusZone.CANTEEN, 8, 5);
+
+        AdminDashboardSnapshot snapshot = adminService.dashboard();
+
+        assertThat(snapshot.claimRate()).isCloseTo(0.75, within(1e-9));
+        assertThat(snapshot.averageMatchHours()).isCloseTo(12.0, within(1e-9));
+        assertThat(snapshot.itemsLast7Days()).isEqualTo(6);
+        assertThat(snapshot.itemsLast30Days()).isEqualTo(11);
+        assertThat(snapshot.hotspotBuildings())
+                .containsExactly("Canteen (Canteen)", "Library Atrium (Library)", "Gym Lobby (Gym)");
+        assertThat(snapshot.hotspotsLast7Days()).containsExactly(
+                new Hotspot("Library Atrium", CampusZone.LIBRARY, 3),
+                new Hotspot("Gym Lobby", CampusZone.GYM, 2));
+        assertThat(fake.roundTrips()).isEqualTo(1);
+    }
+
+    @Test
+    void dashboard_isEmptyBeforeAnyWrites() {
+        AdminDashboardSnapshot snapshot = adminService.dashboard();
+
+        assertThat(snapshot.claimRate()).isZero();
+        assertThat(snapshot.averageMatchHours()).isZero();
+        assertThat(snapshot.timeToClaim().claims()).isZero();
+        assertThat(snapshot.itemsLast30Days()).isZero();
+        assertThat(snapshot.hotspotBuildings()).isEmpty();
+    }
+
+    @Test
+    void dashboard_readsANegativeCounterAsZero() {
+        fake.seed(DashboardRollups.STATS_COLLECTION, DashboardRollups.CLAIM_TOTALS, Map.of(
+                "approved", -1L,
+                "denied", 2L));
+
+        assertThat(adminService.dashboard().claimRate()).isZero();
+    }
+
+    @Test
+    void timeToClaim_mergesWeeklyZoneSketchesInOneRoundTrip() {
+        for (int hours = 1; hours <= 100; hours++) {
+            approve(hours * 3600L, "Library", NOW);
+        }
+        approve(500 * 3600L, "gym", NOW.minus(Duration.ofDays(7)));
+        approve(3600L, null, NOW.minus(Duration.ofDays(7 * 20)));
+        // Re-reviewing an approved claim takes it back out of its sketches.
+        approve(9 * 3600L, "Library", NOW);
+        WriteBatch batch = fake.firestore().batch();
+        rollups.recordClaimReviewed(fake.firestore(), batch, ClaimStatus.APPROVED, ClaimStatus.DENIED,
+                rollups.timingOf(9 * 3600L, "Library", NOW), null);
+        batch.commit();
+        int writes = fake.roundTrips();
+
+        TimeToClaimReport report = adminService.timeToClaimAsync(12).join();
+
+        assertThat(fake.roundTrips() - writes).isEqualTo(1);
+        assertThat(report.weeks()).isEqualTo(12);
+        assertThat(report.overall().claims()).isEqualTo(101);
+        assertThat(report.overall().p50Hours()).isCloseTo(51, within(51 * 0.02));
+        assertThat(report.overall().p99Hours()).isCloseTo(100, within(100 * 0.02));
+        assertThat(report.byZone().get("Library").claims()).isEqualTo(100);
+        assertThat(report.byZone().get("Library").p90Hours()).isCloseTo(90, within(90 * 0.02));
+        assertThat(report.byZone().get("Gym").p50Hours()).isCloseTo(500, within(500 * 0.02));
+        assertThat(report.byZone().get("Unknown").claims()).isZero();
+        assertThat(report.byWeek()).hasSize(12);
+        assertThat(report.byWeek().values()).extracting(stats -> stats.claims()).endsWith(1L, 100L);
+        assertThat(adminService.dashboard().timeToClaim().claims()).isEqualTo(102);
+    }
+
+    private void approve(long seconds, String zone, Instant approvedAt) {
+        WriteBatch batch = fake.firestore().batch();
+        rollups.recordClaimReviewed(fake.firestore(), batch, ClaimStatus.PENDING, ClaimStatus.APPROVED,
+                null, rollups.timingOf(seconds, zone, approvedAt));
+        batch.commit();
+    }
+
+    private void seedDay(LocalDate day, long reported) {
+        fake.seed(DashboardRollups.DAILY_ITEMS_COLLECTION, day.toString(), Map.of("reported", reported));
+    }
+
+    private void report(String location, CampusZone zone, int daysAgo, int times) {
+        for (int i = 0; i < times; i++) {
+            hotspotTracker.record(location, zone, NOW.minus(Duration.ofDays(daysAgo)));
+        }
+    }
+}
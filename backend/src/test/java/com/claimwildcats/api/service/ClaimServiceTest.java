@@ -1,6 +1,7 @@
 package com.claimwildcats.api.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
@@ -9,12 +10,18 @@ import static org.mockito.Mockito.when;
 import com.claimwildcats.api.domain.ClaimStatus;
 import com.claimwildcats.api.domain.ClaimSummary;
 import com.claimwildcats.api.dto.ClaimItemRequest;
+import com.claimwildcats.api.dto.ClaimPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.claimwildcats.api.support.FakeFirestore;
 import com.google.api.core.SettableApiFuture;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
+import java.time.Duration;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +41,13 @@ class ClaimServiceTest {
 
     @BeforeEach
     void setUp() {
-        claimService = new ClaimService(firebaseFacade);
+        FirestoreFutures firestoreFutures = new FirestoreFutures(Runnable::run);
+        ItemService itemService = TestItemServices.builder(firebaseFacade).futures(firestoreFutures).build();
+        claimService = new ClaimService(
+                firebaseFacade,
+                itemService,
+                firestoreFutures,
+                new DashboardRollups(firestoreFutures, mock(HotspotTracker.class)));
         lenient().when(firebaseFacade.getFirestore()).thenReturn(Optional.of(firestore));
         lenient().when(firestore.collection("claims")).thenReturn(collection);
     }
@@ -64,11 +77,257 @@ class ClaimServiceTest {
         assertThat(summary.status()).isEqualTo(ClaimStatus.PENDING);
     }
 
+    @Test
+    void submitClaim_completesInOneRoundTrip() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        ClaimSummary summary = claimService.submitClaim(
+                "item-1", new ClaimItemRequest("Blue keychain", "Has initials", List.of()), "user-9");
+
+        assertThat(fake.roundTrips()).isEqualTo(1);
+        Map<String, Object> stored = fake.data("claims", summary.id());
+        assertThat(stored).containsEntry("itemId", "item-1").containsEntry("status", ClaimStatus.PENDING.name());
+        assertThat(summary.submittedAt()).isEqualTo(((Timestamp) stored.get("submittedAt")).toDate().toInstant());
+        assertThat(summary.claimantId()).isEqualTo("user-9");
+    }
+
+    @Test
+    void reviewClaim_movesDashboardCountersWithTheReview() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        Instant reportedAt = Instant.now().minus(Duration.ofHours(6));
+        fake.seed("items", "item-1", Map.of(
+                "status", "FOUND",
+                "campusZone", "Library",
+                "createdAt", Timestamp.ofTimeSecondsAndNanos(reportedAt.getEpochSecond(), 0)));
+        fake.seed("claims", "claim-1", Map.of(
+                "itemId", "item-1",
+                "claimantId", "user-9",
+                "status", ClaimStatus.PENDING.name(),
+                "submittedAt", Timestamp.now()));
+
+        ClaimSummary approved = claimService.reviewClaim("claim-1", ClaimStatus.APPROVED, "admin-1");
+
+        assertThat(approved.status()).isEqualTo(ClaimStatus.APPROVED);
+        assertThat(approved.itemId()).isEqualTo("item-1");
+        Map<String, Object> totals = fake.data(DashboardRollups.STATS_COLLECTION, DashboardRollups.CLAIM_TOTALS);
+        assertThat(totals).containsEntry("approved", 1L).containsEntry("timeToClaimCount", 1L);
+        assertThat((Long) totals.get("timeToClaimSeconds")).isBetween(6 * 3600L, 6 * 3600L + 60);
+        Map<String, Object> claim = fake.data("claims", "claim-1");
+        assertThat(claim).containsEntry("timeToClaimZone", "Library");
+        String weeklySketch = claim.get("timeToClaimWeek") + "_Library";
+        assertThat(fake.data(DashboardRollups.SKETCH_COLLECTION, DashboardRollups.ALL_TIME_SKETCH))
+                .containsEntry("count", 1L);
+        assertThat(fake.data(DashboardRollups.SKETCH_COLLECTION, weeklySketch)).containsEntry("count", 1L);
+
+        claimService.reviewClaim("claim-1", ClaimStatus.DENIED, "admin-1");
+
+        assertThat(fake.data(DashboardRollups.STATS_COLLECTION, DashboardRollups.CLAIM_TOTALS))
+                .containsEntry("approved", 0L)
+                .containsEntry("denied", 1L)
+                .containsEntry("timeToClaimCount", 0L)
+                .containsEntry("timeToClaimSeconds", 0L);
+        assertThat(fake.data("claims", "claim-1")).doesNotContainKeys("timeToClaimSeconds", "timeToClaimWeek");
+        assertThat(fake.data(DashboardRollups.SKETCH_COLLECTION, weeklySketch)).containsEntry("count", 0L);
+    }
+
+    @Test
+    void reviewClaim_backsOutOnlyDecisionsTheCountersCounted() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        // Approved before the rollups existed: never counted, and nothing was backfilled.
+        fake.seed("claims", "claim-1", Map.of(
+                "itemId", "item-1",
+                "claimantId", "user-9",
+                "status", ClaimStatus.APPROVED.name(),
+                "submittedAt", Timestamp.now()));
+
+        claimService.reviewClaim("claim-1", ClaimStatus.DENIED, "admin-1");
+
+        assertThat(fake.data(DashboardRollups.STATS_COLLECTION, DashboardRollups.CLAIM_TOTALS))
+                .containsEntry("denied", 1L)
+                .doesNotContainKey("approved");
+        assertThat(fake.data("claims", "claim-1")).containsEntry(DashboardRollups.COUNTED_DECISION, "DENIED");
+
+        claimService.reviewClaim("claim-1", ClaimStatus.PENDING, "admin-1");
+
+        assertThat(fake.data(DashboardRollups.STATS_COLLECTION, DashboardRollups.CLAIM_TOTALS))
+                .containsEntry("denied", 0L)
+                .doesNotContainKey("approved");
+        assertThat(fake.data("claims", "claim-1")).doesNotContainKey(DashboardRollups.COUNTED_DECISION);
+    }
+
+    @Test
+    void reviewClaim_rejectsUnknownClaims() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        assertThatThrownBy(() -> claimService.reviewClaim("missing", ClaimStatus.APPROVED, "admin-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(fake.data(DashboardRollups.STATS_COLLECTION, DashboardRollups.CLAIM_TOTALS)).isNull();
+    }
+
     @Test
     void listClaimsForUser_fallsBackWhenFirestoreUnavailable() {
         when(firebaseFacade.getFirestore()).thenReturn(Optional.empty());
-        List<ClaimSummary> claims = claimService.listClaimsForUser("user-77");
-        assertThat(claims).isNotEmpty();
+        ClaimPage page = claimService.listClaimsForUser("user-77");
+        assertThat(page.claims()).isNotEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void listClaimsForUser_expandsItemsWithOneBatchedRead() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        seedItem(fake, "item-1", "Blue keychain");
+        seedItem(fake, "item-2", "Calculator");
+        seedClaim(fake, "claim-1", "item-1", 300);
+        seedClaim(fake, "claim-2", "item-2", 200);
+        seedClaim(fake, "claim-3", "item-1", 100);
+        seedClaim(fake, "claim-4", "item-deleted", 50);
+        seedClaim(fake, "claim-other", "item-2", 400, "user-1");
+        fake.resetCounts();
+
+        List<ClaimSummary> claims = claimService.listClaimsForUserAsync("user-9", null, null, 10, true).join().claims();
+
+        assertThat(claims).extracting(ClaimSummary::id).containsExactly("claim-1", "claim-2", "claim-3", "claim-4");
+        assertThat(claims).extracting(claim -> claim.item() == null ? null : claim.item().title())
+                .containsExactly("Blue keychain", "Calculator", "Blue keychain", null);
+        assertThat(fake.roundTrips("query")).isEqualTo(1);
+        assertThat(fake.roundTrips("get")).isEqualTo(1);
+        assertThat(fake.roundTrips()).isEqualTo(2);
+    }
+
+    @Test
+    void listClaimsForItem_leavesItemsOutUnlessAskedFor() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        seedItem(fake, "item-1", "Blue keychain");
+        seedClaim(fake, "claim-1", "item-1", 100);
+        fake.resetCounts();
+
+        assertThat(claimService.listClaimsForItem("item-1").claims()).singleElement()
+                .satisfies(claim -> assertThat(claim.item()).isNull());
+        assertThat(fake.roundTrips()).isEqualTo(1);
+        assertThat(claimService.listClaimsForItemAsync("item-1", null, null, 10, true).join().claims()).singleElement()
+                .satisfies(claim -> assertThat(claim.item().id()).isEqualTo("item-1"));
+    }
+
+    @Test
+    void listClaimsForUser_pagesWithAKeysetCursorReadingOnePageAtATime() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        for (int i = 1; i <= 5; i++) {
+            seedClaim(fake, "claim-" + i, "item-" + i, 1000 - i);
+        }
+        // Same submission time as claim-3: the document id breaks the tie.
+        seedClaim(fake, "claim-3b", "item-3", 997);
+        fake.resetCounts();
+
+        List<String> seen = new java.util.ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ClaimPage page = claimService.listClaimsForUser("user-9", null, cursor, 2);
+            assertThat(page.claims()).hasSizeLessThanOrEqualTo(2);
+            page.claims().forEach(claim -> seen.add(claim.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly("claim-1", "claim-2", "claim-3b", "claim-3", "claim-4", "claim-5");
+        assertThat(pages).isEqualTo(3);
+        assertThat(fake.roundTrips("query")).isEqualTo(3);
+    }
+
+    @Test
+    void listClaimsForUser_cursorKeepsSubMillisecondSubmittedAt() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        fake.seed("claims", "claim-1", Map.of(
+                "itemId", "item-1",
+                "claimantId", "user-9",
+                "status", ClaimStatus.PENDING.name(),
+                "submittedAt", Timestamp.ofTimeSecondsAndNanos(1_700_000_000L, 123_456_789)));
+        fake.seed("claims", "claim-2", Map.of(
+                "itemId", "item-2",
+                "claimantId", "user-9",
+                "status", ClaimStatus.PENDING.name(),
+                "submittedAt", Timestamp.ofTimeSecondsAndNanos(1_700_000_000L, 123_400_000)));
+
+        ClaimPage first = claimService.listClaimsForUser("user-9", null, null, 1);
+        ClaimPage second = claimService.listClaimsForUser("user-9", null, first.nextCursor(), 1);
+
+        assertThat(first.claims()).extracting(ClaimSummary::id).containsExactly("claim-1");
+        assertThat(first.claims().get(0).submittedAt()).isEqualTo(Instant.ofEpochSecond(1_700_000_000L, 123_456_789));
+        // Both were submitted in the same millisecond, so a millisecond cursor would skip the older one.
+        assertThat(second.claims()).extracting(ClaimSummary::id).containsExactly("claim-2");
+    }
+
+    @Test
+    void listClaimsForItem_filtersByStatus() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        seedClaim(fake, "claim-1", "item-1", 300);
+        seedClaim(fake, "claim-2", "item-1", 200);
+        seedClaim(fake, "claim-3", "item-2", 100);
+        claimService.reviewClaim("claim-2", ClaimStatus.DENIED, "admin-1");
+
+        assertThat(claimService.listClaimsForItem("item-1", ClaimStatus.PENDING, null, 10).claims())
+                .extracting(ClaimSummary::id)
+                .containsExactly("claim-1");
+        assertThat(claimService.listClaimsByStatusAsync(ClaimStatus.PENDING, null, 10, false).join().claims())
+                .extracting(ClaimSummary::id)
+                .containsExactly("claim-1", "claim-3");
+    }
+
+    @Test
+    void listClaims_runsOnTheCompositeIndexesDeclaredInFirestoreIndexesJson() throws Exception {
+        FakeFirestore fake = new FakeFirestore().requireCompositeIndexes();
+        JsonNode indexes = new ObjectMapper().readTree(Path.of("..", "firestore.indexes.json").toFile());
+        for (JsonNode index : indexes.get("indexes")) {
+            List<String> fields = new java.util.ArrayList<>();
+            index.get("fields").forEach(field -> fields.add(field.get("fieldPath").asText()));
+            fake.withCompositeIndex(index.get("collectionGroup").asText(), fields.toArray(String[]::new));
+        }
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        seedClaim(fake, "claim-1", "item-1", 100);
+
+        assertThat(claimService.listClaimsForItem("item-1").claims()).hasSize(1);
+        assertThat(claimService.listClaimsForItem("item-1", ClaimStatus.PENDING, null, 10).claims()).hasSize(1);
+        assertThat(claimService.listClaimsForUser("user-9").claims()).hasSize(1);
+        assertThat(claimService.listClaimsForUser("user-9", ClaimStatus.PENDING, null, 10).claims()).hasSize(1);
+        assertThat(claimService.listClaimsByStatusAsync(ClaimStatus.PENDING, null, 10, false).join().claims())
+                .hasSize(1);
+    }
+
+    @Test
+    void listClaims_rejectsMalformedCursors() {
+        assertThatThrownBy(() -> claimService.listClaimsForUser("user-9", null, "not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static void seedItem(FakeFirestore fake, String id, String title) {
+        fake.seed("items", id, Map.of(
+                "title", title,
+                "status", "FOUND",
+                "campusZone", "Library",
+                "createdAt", Timestamp.now(),
+                "reporterId", "finder-1"));
+    }
+
+    private static void seedClaim(FakeFirestore fake, String id, String itemId, long submittedSeconds) {
+        seedClaim(fake, id, itemId, submittedSeconds, "user-9");
+    }
+
+    private static void seedClaim(
+            FakeFirestore fake, String id, String itemId, long submittedSeconds, String claimantId) {
+        fake.seed("claims", id, Map.of(
+                "itemId", itemId,
+                "claimantId", claimantId,
+                "status", ClaimStatus.PENDING.name(),
+                "submittedAt", Timestamp.ofTimeSecondsAndNanos(1_700_000_000L + submittedSeconds, 0)));
     }
 
     private void prepareDocumentMock(Map<String, Object> data) throws Exception {
@@ -0,0 +1,111 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.dto.ItemSearchResponse;
+import com.claimwildcats.api.support.FakeFirestore;
+import com.claimwildcats.api.support.SyntheticItems;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class FirestoreMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FirestoreMetrics metrics = new FirestoreMetrics(meterRegistry);
+    private final FakeFirestore fake = new FakeFirestore();
+
+    @Test
+    void adapt_timesEachCallAndCountsTheDocumentsItReturned() {
+        SyntheticItems.documents(30, 7).forEach((id, data) -> fake.seed("items", id, data));
+        FirestoreFutures futures = new FirestoreFutures(Runnable::run, metrics);
+        FirestoreOperation operation = FirestoreOperation.query("items", QueryShape.filtered(List.of("status==")));
+
+        QuerySnapshot found = futures.adapt(
+                fake.firestore().collection("items").whereEqualTo("status", "FOUND").get(), operation).join();
+
+        assertThat(meterRegistry.get(FirestoreMetrics.OPERATION_TIMER)
+                .tags("collection", "items", "operation", "query", "shape", "status==", "outcome", "success")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(FirestoreMetrics.DOCUMENTS_READ)
+                .tags("collection", "items", "operation", "query", "shape", "status==")
+                .summary()
+                .totalAmount()).isEqualTo(found.size()).isPositive();
+    }
+
+    @Test
+    void requestTally_followsCallsIssuedFromCompletionStagesOnOtherThreads() {
+        SyntheticItems.documents(30, 7).forEach((id, data) -> fake.seed("items", id, data));
+        fake.withLatency(Duration.ofMillis(5));
+        ExecutorService callbacks = Executors.newSingleThreadExecutor();
+        try {
+            FirestoreFutures futures = new FirestoreFutures(callbacks, metrics);
+            FirestoreMetrics.RequestTally tally = metrics.beginRequest();
+            var request = futures.<DocumentSnapshot>adapt(
+                            fake.firestore().collection("items").document("item-00001").get(),
+                            FirestoreOperation.get("items"))
+                    .thenCompose(item -> futures.adapt(
+                            fake.firestore().collection("items").whereEqualTo("status", item.getString("status")).get(),
+                            FirestoreOperation.query("items", QueryShape.filtered(List.of("status==")))));
+            metrics.endRequest();
+
+            QuerySnapshot sameStatus = request.join();
+            metrics.recordRequest(tally, "GET", "/api/items/{id}/similar");
+
+            assertThat(tally.operations()).isEqualTo(2);
+            assertThat(tally.documentsRead()).isEqualTo(1 + sameStatus.size());
+            assertThat(metrics.currentRequest()).isNull();
+            assertThat(meterRegistry.get(FirestoreMetrics.REQUEST_DOCUMENTS_READ)
+                    .tags("method", "GET", "uri", "/api/items/{id}/similar")
+                    .summary()
+                    .totalAmount()).isEqualTo(tally.documentsRead());
+        } finally {
+            callbacks.shutdownNow();
+        }
+    }
+
+    @Test
+    void itemSearch_countsIndexFreeScansAndStubAnswers() {
+        SyntheticItems.documents(30, 7).forEach((id, data) -> fake.seed("items", id, data));
+        fake.requireCompositeIndexes();
+        FirebaseFacade firebaseFacade = mock(FirebaseFacade.class);
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        ItemService itemService = itemService(firebaseFacade);
+
+        ItemSearchResponse response = itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.empty());
+        itemService.findById("item-00001");
+
+        assertThat(response.items()).isNotEmpty().allMatch(item -> item.status() == ItemStatus.FOUND);
+        assertThat(meterRegistry.get(FirestoreMetrics.FALLBACKS)
+                .tags("path", FirestoreMetrics.INDEX_FREE_SCAN, "call", "items.search")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(FirestoreMetrics.FALLBACKS)
+                .tags("path", FirestoreMetrics.STUB, "call", "items.findById")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(FirestoreMetrics.OPERATION_TIMER)
+                .tags("operation", "query", "shape", "status== orderBy createdAt desc,__name__ desc limit",
+                        "outcome", "failure")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    private ItemService itemService(FirebaseFacade firebaseFacade) {
+        return TestItemServices.builder(firebaseFacade)
+                .futures(new FirestoreFutures(Runnable::run, metrics))
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.Hotspot;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HotspotTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T04:00:00Z");
+
+    private final FirebaseProperties.Hotspots settings = new FirebaseProperties.Hotspots();
+
+    @Test
+    void top_separatesSevenAndThirtyDayWindows() {
+        HotspotTracker tracker = tracker();
+        record(tracker, "Library Atrium", CampusZone.LIBRARY, 1, 3);
+        record(tracker, "  library   atrium ", CampusZone.LIBRARY, 2, 1);
+        record(tracker, "Gate 1 guard house", CampusZone.GATE1, 20, 6);
+        record(tracker, "Parking B", CampusZone.PARKING, 45, 9);
+
+        assertThat(tracker.top(7)).containsExactly(new Hotspot("Library Atrium", CampusZone.LIBRARY, 4));
+        assertThat(tracker.top(30)).containsExactly(
+                new Hotspot("Gate 1 guard house", CampusZone.GATE1, 6),
+                new Hotspot("Library Atrium", CampusZone.LIBRARY, 4));
+    }
+
+    @Test
+    void top_keepsHeavyHittersWithFewerCountersThanLocations() {
+        settings.setCapacity(8);
+        settings.setTopK(3);
+        HotspotTracker tracker = tracker();
+        Random random = new Random(42);
+        Map<String, Integer> heavy = Map.of("Canteen counter", 300, "Gym lockers", 200, "Library desk", 150);
+        heavy.forEach((location, times) -> record(tracker, location, CampusZone.MAIN, 0, times));
+        for (int i = 0; i < 400; i++) {
+            // A long tail of one-off locations interleaved with the heavy hitters.
+            record(tracker, "Room " + random.nextInt(1_000), CampusZone.MAIN, 0, 1);
+            record(tracker, "Canteen counter", CampusZone.MAIN, 0, 1);
+        }
+
+        assertThat(tracker.top(7))
+                .extracting(Hotspot::locationText)
+                .containsExactly("Canteen counter", "Gym lockers", "Library desk");
+        // Space-Saving never undercounts.
+        assertThat(tracker.top(7).get(0).reports()).isGreaterThanOrEqualTo(700);
+    }
+
+    @Test
+    void record_reusesTheSlotOfADayThatLeftTheWindow() {
+        HotspotTracker tracker = tracker();
+        record(tracker, "Old spot", CampusZone.OTHER, 30, 5);
+        record(tracker, "Fresh spot", CampusZone.OTHER, 0, 1);
+
+        assertThat(tracker.top(30)).containsExactly(new Hotspot("Fresh spot", CampusZone.OTHER, 1));
+    }
+
+    private HotspotTracker tracker() {
+        return new HotspotTracker(settings, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static void record(HotspotTracker tracker, String location, CampusZone zone, int daysAgo, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(location, zone, NOW.minus(Duration.ofDays(daysAgo)));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.support.FirestoreSnapshots;
+import com.claimwildcats.api.support.SyntheticItems;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Read- and create-path conversions of {@link ItemService}, each scored per document or URL: mapping Firestore
+ * snapshots to summaries and details, reading the {@code tags} list, and validating photo URLs as item creates do.
+ * Snapshots carry protobuf-encoded fields as a real query response would, so field decoding is part of the cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemMappingBenchmark {
+
+    static final int DOCUMENTS = 1_000;
+
+    private ItemService itemService;
+    private List<QueryDocumentSnapshot> documents;
+    private String[] docUrls;
+
+    @Setup
+    public void setUp() {
+        itemService = TestItemServices.create();
+        documents = new ArrayList<>(DOCUMENTS);
+        List<String> urls = new ArrayList<>();
+        SyntheticItems.documents(DOCUMENTS, 7).forEach((id, data) -> {
+            documents.add(FirestoreSnapshots.of("items", id, data));
+            for (Object url : (List<?>) data.get("docUrls")) {
+                if (urls.size() < DOCUMENTS) {
+                    urls.add((String) url);
+                }
+            }
+        });
+        docUrls = urls.toArray(String[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void mapSummary(Blackhole blackhole) {
+        for (QueryDocumentSnapshot doc : documents) {
+            blackhole.consume(itemService.mapSummary(doc));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void mapDetail(Blackhole blackhole) {
+        for (QueryDocumentSnapshot doc : documents) {
+            blackhole.consume(itemService.mapDetail(doc));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void extractStringList(Blackhole blackhole) {
+        for (QueryDocumentSnapshot doc : documents) {
+            blackhole.consume(itemService.extractStringList(doc, "tags"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void parseStoragePath(Blackhole blackhole) {
+        for (String url : docUrls) {
+            blackhole.consume(itemService.parseStoragePath(url, SyntheticItems.BUCKET));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void parseItemIdAndValidate(Blackhole blackhole) {
+        for (String url : docUrls) {
+            blackhole.consume(itemService.parseItemIdAndValidate(url, SyntheticItems.BUCKET));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.support.FirestoreSnapshots;
+import com.claimwildcats.api.support.SyntheticItems;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One {@link ItemSearchIndex#similar} call, the scoring behind {@code findSimilar}, over an index of synthetic items
+ * of which about 60% are found. Each invocation matches the next of the indexed lost reports, so the score is
+ * averaged over common and rare titles; scores are microseconds per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemMatchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int documents;
+
+    private ItemSearchIndex searchIndex;
+    private List<String> lostIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ItemService itemService = TestItemServices.create();
+        searchIndex = new ItemSearchIndex();
+        lostIds = new ArrayList<>();
+        SyntheticItems.documents(documents, 11).forEach((id, data) -> {
+            QueryDocumentSnapshot doc = FirestoreSnapshots.of("items", id, data);
+            itemService.mapSummary(doc).ifPresent(summary -> {
+                searchIndex.upsert(summary, doc.getString("description"));
+                if (summary.status() == ItemStatus.LOST) {
+                    lostIds.add(id);
+                }
+            });
+        });
+        searchIndex.markReady();
+    }
+
+    @Benchmark
+    public List<ItemMatch> similar() {
+        String id = lostIds.get(next);
+        next = next + 1 == lostIds.size() ? 0 : next + 1;
+        return searchIndex.similar(id, ItemStatus.FOUND, 8);
+    }
+}
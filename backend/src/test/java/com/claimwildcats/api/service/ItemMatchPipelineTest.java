@@ -0,0 +1,215 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemDetail;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.dto.CreateFoundItemRequest;
+import com.claimwildcats.api.dto.CreateLostItemRequest;
+import com.claimwildcats.api.dto.UpdateItemStatusRequest;
+import com.claimwildcats.api.support.FakeFirestore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ItemMatchPipelineTest {
+
+    private static final Instant SEEN = Instant.parse("2026-10-17T09:00:00Z");
+
+    private final FirebaseProperties properties = new FirebaseProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FakeFirestore fake = new FakeFirestore();
+    private final FirebaseFacade firebaseFacade = mock(FirebaseFacade.class);
+    private final FirestoreFutures futures = new FirestoreFutures(Runnable::run);
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex();
+
+    private ItemMatchPipeline pipeline;
+    private ItemService itemService;
+
+    @BeforeEach
+    void setUp() {
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        properties.getItems().getSearchIndex().setEnabled(true);
+        properties.getItems().getMatches().setEnabled(true);
+        searchIndex.markReady();
+        pipeline = new ItemMatchPipeline(firebaseFacade, properties, searchIndex, futures, meterRegistry);
+        itemService = TestItemServices.builder(firebaseFacade)
+                .properties(properties)
+                .searchIndex(searchIndex)
+                .futures(futures)
+                .meterRegistry(meterRegistry)
+                .matchPipeline(pipeline)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.drain();
+    }
+
+    @Test
+    void reportedItem_storesItsCandidatesAndRefreshesTheirLists() {
+        ItemDetail found = itemService.createFoundItem(new CreateFoundItemRequest(
+                "Blue water bottle", "Hydro Flask with a dented lid", "Library 2F", CampusZone.LIBRARY, SEEN,
+                List.of("bottle"), List.of()), "finder");
+        ItemDetail lost = itemService.createLostItem(new CreateLostItemRequest(
+                "Hydro Flask bottle", "Blue, dent near the lid", "Library", CampusZone.LIBRARY, SEEN,
+                List.of("bottle"), List.of()), "owner");
+        // Drain rejects new work, so the refreshes the lost report queues have to be waited for first.
+        awaitJobs("refresh", "stored", 1);
+        pipeline.drain();
+
+        assertThat(candidateIds(lost.id())).containsExactly(found.id());
+        // Whether the found item was first matched before or after the lost report arrived, its list now has it.
+        assertThat(candidateIds(found.id())).containsExactly(lost.id());
+        assertThat(fake.data(ItemMatchPipeline.COLLECTION, lost.id()))
+                .containsEntry("itemStatus", "LOST")
+                .containsKey("computedAt");
+        assertThat(jobs("reported", "stored")).isEqualTo(2);
+        assertThat(jobs("refresh", "stored")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void findSimilar_readsTheStoredCandidatesInOneRoundTrip() {
+        ItemDetail found = itemService.createFoundItem(new CreateFoundItemRequest(
+                "Casio calculator", "fx-991ES", "Labs", CampusZone.LABS, SEEN, List.of(), List.of()), "finder");
+        ItemDetail lost = itemService.createLostItem(new CreateLostItemRequest(
+                "Calculator", "Casio fx-991ES, initials on the back", "Labs", CampusZone.LABS, SEEN,
+                List.of(), List.of()), "owner");
+        pipeline.drain();
+        fake.resetCounts();
+
+        List<ItemSummary> similar = itemService.findSimilar(lost.id());
+
+        assertThat(similar).extracting(ItemSummary::id).containsExactly(found.id());
+        assertThat(similar.get(0).title()).isEqualTo("Casio calculator");
+        assertThat(similar.get(0).campusZone()).isEqualTo(CampusZone.LABS);
+        assertThat(similar.get(0).lastSeenAt()).isEqualTo(SEEN);
+        assertThat(fake.roundTrips()).isEqualTo(1);
+        assertThat(fake.roundTrips("get")).isEqualTo(1);
+    }
+
+    @Test
+    void findSimilar_leavesOutCandidatesClaimedSinceTheyWereStored() {
+        ItemDetail found = itemService.createFoundItem(new CreateFoundItemRequest(
+                "Black umbrella", "Folding", "Gym", CampusZone.GYM, SEEN, List.of(), List.of()), "finder");
+        ItemDetail lost = itemService.createLostItem(new CreateLostItemRequest(
+                "Umbrella", "Black folding umbrella", "Gym", CampusZone.GYM, SEEN, List.of(), List.of()), "owner");
+        pipeline.drain();
+
+        searchIndex.upsert(withStatus(searchIndex.find(found.id()).orElseThrow(), ItemStatus.CLAIMED), "Folding");
+
+        assertThat(candidateIds(lost.id())).containsExactly(found.id());
+        assertThat(itemService.findSimilar(lost.id())).isEmpty();
+    }
+
+    @Test
+    void findSimilar_queuesAnItemWithNothingStoredAndAnswersFromTheIndex() {
+        searchIndex.upsert(summary("found-1", ItemStatus.FOUND, "Grey hoodie"), "Nike");
+        searchIndex.upsert(summary("lost-1", ItemStatus.LOST, "Grey Nike hoodie"), "Name tag");
+
+        assertThat(itemService.findSimilar("lost-1")).extracting(ItemSummary::id).containsExactly("found-1");
+        pipeline.drain();
+
+        assertThat(jobs("requested", "stored")).isEqualTo(1);
+        assertThat(candidateIds("lost-1")).containsExactly("found-1");
+    }
+
+    @Test
+    void statusChange_rematchesTheItemAgainstTheOtherStatus() {
+        ItemDetail found = itemService.createFoundItem(new CreateFoundItemRequest(
+                "Car keys", "Toyota fob", "Main", CampusZone.MAIN, SEEN, List.of("keys"), List.of()), "finder");
+        ItemDetail lost = itemService.createLostItem(new CreateLostItemRequest(
+                "Keys", "Toyota key fob", "Main", CampusZone.MAIN, SEEN, List.of("keys"), List.of()), "owner");
+
+        itemService.updateStatus(lost.id(), new UpdateItemStatusRequest(ItemStatus.CLAIMED, null), "owner");
+        pipeline.drain();
+
+        assertThat(candidateIds(lost.id())).isEmpty();
+        assertThat(fake.data(ItemMatchPipeline.COLLECTION, lost.id())).containsEntry("itemStatus", "CLAIMED");
+    }
+
+    @Test
+    void submit_shedsWorkOnceTheQueueIsFullAndDrainsWhatItAccepted() {
+        FirebaseProperties.Matches settings = new FirebaseProperties.Matches();
+        settings.setEnabled(true);
+        settings.setQueueCapacity(2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ItemMatchPipeline small = new ItemMatchPipeline(firebaseFacade, settings, searchIndex, futures, registry);
+        for (int i = 0; i < 10; i++) {
+            searchIndex.upsert(summary("lost-" + i, ItemStatus.LOST, "Wallet " + i), "Brown leather");
+        }
+        fake.withBlockingLatency(Duration.ofMillis(50));
+
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            accepted += small.submit("lost-" + i, ItemMatchPipeline.Trigger.REPORTED) ? 1 : 0;
+        }
+        assertThat(registry.get(ItemMatchPipeline.QUEUE_DEPTH).gauge().value()).isBetween(1.0, 2.0);
+        small.drain();
+
+        assertThat(accepted).isBetween(2, 3);
+        assertThat(jobs(registry, "reported", "rejected")).isEqualTo(10 - accepted);
+        assertThat(jobs(registry, "reported", "stored")).isEqualTo(accepted);
+        assertThat(registry.get(ItemMatchPipeline.QUEUE_DEPTH).gauge().value()).isZero();
+        assertThat(small.submit("lost-0", ItemMatchPipeline.Trigger.REPORTED)).isFalse();
+    }
+
+    @Test
+    void disabledPipeline_takesNoWork() {
+        ItemMatchPipeline disabled = new ItemMatchPipeline(
+                firebaseFacade, new FirebaseProperties.Matches(), searchIndex, futures, new SimpleMeterRegistry());
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.submit("lost-1", ItemMatchPipeline.Trigger.REPORTED)).isFalse();
+        disabled.drain();
+    }
+
+    private List<String> candidateIds(String id) {
+        Map<String, Object> stored = fake.data(ItemMatchPipeline.COLLECTION, id);
+        assertThat(stored).as("matches for %s", id).isNotNull();
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) stored.get("candidates");
+        return candidates.stream().map(candidate -> (String) candidate.get("id")).toList();
+    }
+
+    private void awaitJobs(String trigger, String outcome, int count) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (jobs(trigger, outcome) < count && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double jobs(String trigger, String outcome) {
+        return jobs(meterRegistry, trigger, outcome);
+    }
+
+    private static double jobs(MeterRegistry registry, String trigger, String outcome) {
+        Counter counter = registry.find(ItemMatchPipeline.JOBS)
+                .tags("trigger", trigger, "outcome", outcome)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static ItemSummary summary(String id, ItemStatus status, String title) {
+        return new ItemSummary(id, title, status, "Somewhere", CampusZone.MAIN, SEEN, SEEN, List.of());
+    }
+
+    private static ItemSummary withStatus(ItemSummary summary, ItemStatus status) {
+        return new ItemSummary(summary.id(), summary.title(), status, summary.locationText(), summary.campusZone(),
+                summary.createdAt(), summary.lastSeenAt(), summary.tags());
+    }
+}
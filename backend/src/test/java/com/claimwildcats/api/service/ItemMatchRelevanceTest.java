@@ -0,0 +1,119 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A small labelled set of lost reports, each with the found report that is really it, all in one pool of found
+ * items. Every case also has a distractor that the old "newest found item in the same zone" rule would have
+ * returned first: a newer item in the zone, the same item in a far zone, one turned in before the loss, or one
+ * that shares only a common word.
+ */
+class ItemMatchRelevanceTest {
+
+    private static final Instant T = Instant.parse("2026-10-01T12:00:00Z");
+
+    private final ItemSearchIndex index = new ItemSearchIndex();
+    /** Lost report id to the id of the found report that is the same item. */
+    private final Map<String, String> labels = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lost("lost-bottle", "Blue Hydro Flask", "32oz water bottle with a dent near the lid",
+                CampusZone.LIBRARY, 0, "bottle", "hydro flask");
+        found("found-bottle", "Water bottle", "Blue Hydro Flask, dented lid", CampusZone.LIBRARY, 20, "bottle");
+        found("found-umbrella", "Black umbrella", "Folding umbrella", CampusZone.LIBRARY, 60);
+        found("found-plastic-bottle", "Water bottle", "Clear plastic bottle", CampusZone.GYM, 10, "bottle");
+        labels.put("lost-bottle", "found-bottle");
+
+        lost("lost-calculator", "Casio calculator", "fx-991ES with initials JR on the back",
+                CampusZone.LABS, 100, "casio", "calculator");
+        found("found-calculator", "Scientific calculator", "Casio, initials scratched on the back",
+                CampusZone.LABS, 110, "calculator");
+        found("found-old-calculator", "Calculator", "Basic calculator", CampusZone.LABS, 112, "calculator");
+        labels.put("lost-calculator", "found-calculator");
+
+        lost("lost-wallet", "Brown leather wallet", "Bifold", CampusZone.GATE1, 200, "wallet");
+        found("found-wallet-parking", "Brown leather wallet", "Bifold", CampusZone.PARKING, 206, "wallet");
+        found("found-wallet-gym", "Brown leather wallet", "Bifold", CampusZone.GYM, 205, "wallet");
+        labels.put("lost-wallet", "found-wallet-parking");
+
+        lost("lost-keys", "Car keys", "Toyota key fob on a red lanyard", CampusZone.MAIN, 300, "keys");
+        found("found-keys", "Keys", "Key fob with a red lanyard", CampusZone.MAIN, 305, "keys");
+        found("found-keys-before", "Keys", "Key fob with a red lanyard", CampusZone.MAIN, 300 - 240, "keys");
+        labels.put("lost-keys", "found-keys");
+
+        lost("lost-hoodie", "Grey hoodie", "Nike, name tag says Ana", CampusZone.CANTEEN, 400);
+        found("found-hoodie", "Sweatshirt", "Grey Nike hoodie, tag reads Ana", CampusZone.CANTEEN, 402);
+        found("found-jacket", "Grey jacket", "Zip-up jacket", CampusZone.CANTEEN, 403);
+        labels.put("lost-hoodie", "found-hoodie");
+
+        lost("lost-earbuds", "White earbuds", "AirPods Pro in a white case", CampusZone.LIBRARY, 500, "apple");
+        found("found-airpods", "Earphones case", "AirPods case", CampusZone.MAIN, 520);
+        found("found-notebook", "White notebook", "White cover", CampusZone.LIBRARY, 510);
+        labels.put("lost-earbuds", "found-airpods");
+
+        lost("lost-phone", "Samsung phone", "Galaxy with a cracked screen protector", null, 600, "samsung", "phone");
+        found("found-phone", "Phone", "Samsung Galaxy, cracked protector", CampusZone.GYM, 601, "phone");
+        found("found-iphone", "Phone", "iPhone in a pink case", CampusZone.GYM, 603, "phone");
+        labels.put("lost-phone", "found-phone");
+    }
+
+    @Test
+    void similar_ranksTheLabelledFoundReportFirstForEveryLostReport() {
+        List<String> misses = new ArrayList<>();
+        double reciprocalRanks = 0;
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            List<String> ranked = index.similar(label.getKey(), ItemStatus.FOUND, 8).stream()
+                    .map(match -> match.item().id())
+                    .toList();
+            int rank = ranked.indexOf(label.getValue()) + 1;
+            reciprocalRanks += rank == 0 ? 0 : 1.0 / rank;
+            if (rank != 1) {
+                misses.add(label.getKey() + " -> " + ranked);
+            }
+        }
+
+        assertThat(misses).isEmpty();
+        assertThat(reciprocalRanks / labels.size()).isEqualTo(1.0);
+    }
+
+    @Test
+    void similar_returnsOnlyOtherItemsOfTheCandidateStatusBestFirst() {
+        List<ItemMatch> matches = index.similar("lost-bottle", ItemStatus.FOUND, 3);
+
+        assertThat(matches).hasSize(3)
+                .allSatisfy(match -> assertThat(match.item().status()).isEqualTo(ItemStatus.FOUND));
+        assertThat(matches).extracting(ItemMatch::score).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(index.similar("lost-bottle", ItemStatus.LOST, 8))
+                .extracting(match -> match.item().id())
+                .doesNotContain("lost-bottle");
+        assertThat(index.similar("missing", ItemStatus.FOUND, 8)).isEmpty();
+    }
+
+    private void lost(String id, String title, String description, CampusZone zone, long hours, String... tags) {
+        upsert(id, title, description, ItemStatus.LOST, zone, hours, tags);
+    }
+
+    private void found(String id, String title, String description, CampusZone zone, long hours, String... tags) {
+        upsert(id, title, description, ItemStatus.FOUND, zone, hours, tags);
+    }
+
+    private void upsert(
+            String id, String title, String description, ItemStatus status, CampusZone zone, long hours,
+            String... tags) {
+        Instant seen = T.plus(Duration.ofHours(hours));
+        index.upsert(new ItemSummary(id, title, status, "Somewhere", zone, seen, seen, List.of(tags)), description);
+    }
+}
@@ -0,0 +1,86 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.support.FirestoreSnapshots;
+import com.claimwildcats.api.support.SyntheticItems;
+import com.google.cloud.Timestamp;
+import com.google.firestore.v1.Document;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * What a summary query pays per result document with and without {@code Query.select}: decoding the
+ * {@code Document} proto off the wire, wrapping it as the SDK does and mapping it with
+ * {@link ItemService#mapSummary}. {@code full} is every stored field, {@code summary} is
+ * {@link ItemService#SUMMARY_FIELDS} (feed pages, similar items, my reports) and {@code searchable} adds the
+ * {@code searchText} that keyword scans read. Setup prints the mean encoded size of one result for each projection;
+ * {@code gc.alloc.rate.norm} shows the deserialization garbage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemProjectionBenchmark {
+
+    static final int DOCUMENTS = 1_000;
+
+    @Param({"full", "summary", "searchable"})
+    public String projection;
+
+    private ItemService itemService;
+    private List<byte[]> encoded;
+
+    @Setup
+    public void setUp() {
+        itemService = TestItemServices.create();
+        Set<String> fields = switch (projection) {
+            case "summary" -> Set.of(ItemService.SUMMARY_FIELDS);
+            case "searchable" -> Set.of(ItemService.SEARCHABLE_SUMMARY_FIELDS);
+            default -> null;
+        };
+        encoded = new ArrayList<>(DOCUMENTS);
+        Timestamp updateTime = Timestamp.now();
+        long[] wireBytes = {0};
+        SyntheticItems.documents(DOCUMENTS, 7).forEach((id, stored) -> {
+            Map<String, Object> data = new HashMap<>(stored);
+            @SuppressWarnings("unchecked")
+            List<String> tags = (List<String>) data.get("tags");
+            data.put(ItemService.SEARCH_TEXT_FIELD, ItemService.searchTextOf(
+                    (String) data.get("title"), (String) data.get("description"), tags));
+            if (fields != null) {
+                data.keySet().retainAll(fields);
+            }
+            byte[] bytes = FirestoreSnapshots.document("items", id, data, updateTime).toByteArray();
+            encoded.add(bytes);
+            wireBytes[0] += bytes.length;
+        });
+        System.out.printf("%s projection: %d wire bytes per document%n", projection, wireBytes[0] / DOCUMENTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void decodeAndMapSummary(Blackhole blackhole) throws InvalidProtocolBufferException {
+        for (byte[] bytes : encoded) {
+            blackhole.consume(itemService.mapSummary(FirestoreSnapshots.of(Document.parseFrom(bytes))));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.claimwildcats.api.service;
+
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.dto.ItemSearchResponse;
+import com.claimwildcats.api.support.FirestoreSnapshots;
+import com.claimwildcats.api.support.SyntheticItems;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Search-path hot spots of {@link ItemService}: the two {@code matchesQuery} filters run over a feed of
+ * {@value #DOCUMENTS} synthetic items (scores are per item checked), and {@code paginate} over the same feed by page
+ * number and by cursor. The query parameter covers a common noun, a colour that also appears in tags, a two-word phrase and
+ * a miss, which has to look at every field. {@code searchFromIndex} is a whole {@code searchItems} request for the
+ * third page of 20, answered from the loaded {@link ItemSearchIndex}; its {@code gc.alloc.rate.norm} is the
+ * allocation per search request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    static final int DOCUMENTS = 1_000;
+    private static final int PAGE_SIZE = 20;
+
+    private ItemService itemService;
+    private List<QueryDocumentSnapshot> documents;
+    private List<ItemSummary> feed;
+    private ItemCursor cursor;
+    private ItemService indexedService;
+
+    @Setup
+    public void setUp() {
+        itemService = TestItemServices.create();
+        documents = new ArrayList<>(DOCUMENTS);
+        SyntheticItems.documents(DOCUMENTS, 42)
+                .forEach((id, data) -> documents.add(FirestoreSnapshots.of("items", id, data)));
+        feed = new ArrayList<>(DOCUMENTS);
+        documents.forEach(doc -> itemService.mapSummary(doc).ifPresent(feed::add));
+        feed.sort(ItemCursor.FEED_ORDER);
+        cursor = ItemCursor.of(feed.get(DOCUMENTS / 2));
+        ItemSearchIndex searchIndex = new ItemSearchIndex();
+        for (QueryDocumentSnapshot doc : documents) {
+            itemService.mapSummary(doc).ifPresent(summary -> searchIndex.upsert(summary, doc.getString("description")));
+        }
+        searchIndex.markReady();
+        indexedService = TestItemServices.withSearchIndex(searchIndex);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public int matchesQueryDocument(SearchQuery search) {
+        int matches = 0;
+        for (QueryDocumentSnapshot doc : documents) {
+            if (itemService.matchesQuery(doc, search.query)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public int matchesQuerySummary(SearchQuery search) {
+        int matches = 0;
+        for (ItemSummary summary : feed) {
+            if (itemService.matchesQuery(summary, search.query)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public ItemSearchResponse paginateByPage() {
+        return itemService.paginate(feed, null, 10, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemSearchResponse paginateByCursor() {
+        return itemService.paginate(feed, cursor, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemSearchResponse searchFromIndex(IndexSearch search) {
+        return indexedService.searchItems(search.status, null, search.query, 2, PAGE_SIZE);
+    }
+
+    /** Kept apart from the feed so only the filter benchmarks are repeated per query. */
+    @State(Scope.Benchmark)
+    public static class SearchQuery {
+
+        @Param({"wallet", "Blue", "water bottle", "skateboard"})
+        public String query;
+    }
+
+    /** The feed unfiltered, one status, a status with a keyword, and a keyword on its own. */
+    @State(Scope.Benchmark)
+    public static class IndexSearch {
+
+        @Param({"feed", "found", "found:wallet", "blue"})
+        public String search;
+
+        ItemStatus status;
+        String query;
+
+        @Setup
+        public void setUp() {
+            String[] parts = search.split(":");
+            status = parts[0].equals("found") ? ItemStatus.FOUND : null;
+            String keyword = parts[parts.length - 1];
+            query = keyword.equals("feed") || keyword.equals("found") ? null : keyword;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ItemSearchIndexTest {
+
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.upsert(summary("lost-1", "Blue Backpack", ItemStatus.LOST, CampusZone.LIBRARY, 10, List.of("bag")),
+                "Canvas bag with a laptop inside");
+        index.upsert(summary("found-1", "Campus ID Card", ItemStatus.FOUND, CampusZone.MAIN, 20, List.of("id", "card")),
+                "Left at the union desk");
+        index.upsert(summary("found-2", "Black Laptop Sleeve", ItemStatus.FOUND, CampusZone.LIBRARY, 30, List.of()),
+                "Neoprene sleeve");
+    }
+
+    @Test
+    void search_withoutFiltersReturnsNewestFirst() {
+        assertThat(index.search(null, null, null))
+                .extracting(ItemSummary::id)
+                .containsExactly("found-2", "found-1", "lost-1");
+    }
+
+    @Test
+    void search_matchesTitleDescriptionAndTagTokensByPrefix() {
+        assertThat(index.search(null, null, "lap")).extracting(ItemSummary::id).containsExactly("found-2", "lost-1");
+        assertThat(index.search(null, null, "union")).extracting(ItemSummary::id).containsExactly("found-1");
+        assertThat(index.search(null, null, "card")).extracting(ItemSummary::id).containsExactly("found-1");
+    }
+
+    @Test
+    void search_intersectsStatusZoneAndEveryQueryToken() {
+        assertThat(index.search(ItemStatus.FOUND, CampusZone.LIBRARY, "laptop"))
+                .extracting(ItemSummary::id)
+                .containsExactly("found-2");
+        assertThat(index.search(null, null, "blue laptop")).extracting(ItemSummary::id).containsExactly("lost-1");
+        assertThat(index.search(ItemStatus.CLAIMED, null, null)).isEmpty();
+    }
+
+    @Test
+    void upsert_replacesPreviousPostings() {
+        index.upsert(summary("lost-1", "Blue Backpack", ItemStatus.CLAIMED, CampusZone.LIBRARY, 10, List.of("bag")),
+                "Returned to owner");
+
+        assertThat(index.search(ItemStatus.LOST, null, null)).isEmpty();
+        assertThat(index.search(ItemStatus.CLAIMED, null, "returned")).extracting(ItemSummary::id).containsExactly("lost-1");
+        assertThat(index.search(null, null, "canvas")).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void remove_dropsItemFromAllPostings() {
+        index.remove("found-1");
+
+        assertThat(index.search(null, CampusZone.MAIN, null)).isEmpty();
+        assertThat(index.search(null, null, "card")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void searchPage_matchesTheFullResultSlicedByPageOrCursor() {
+        ItemSearchIndex large = new ItemSearchIndex();
+        CampusZone[] zones = CampusZone.values();
+        for (int i = 0; i < 200; i++) {
+            ItemStatus status = i % 25 == 0 ? ItemStatus.CLAIMED : i % 2 == 0 ? ItemStatus.FOUND : ItemStatus.LOST;
+            String title = i % 3 == 0 ? "Blue Wallet " + i : "Black Umbrella " + i;
+            // Every tenth item shares its timestamp with the next so ties fall back to the id order.
+            large.upsert(summary("item-" + i, title, status, zones[i % zones.length], i - i % 10 / 9, List.of()),
+                    i % 40 == 0 ? "Engraved" : "");
+        }
+
+        // Broad filters walk the feed; CLAIMED and "engraved" are selective enough to be sorted instead.
+        for (ItemStatus status : new ItemStatus[] {null, ItemStatus.FOUND, ItemStatus.CLAIMED}) {
+            for (String query : new String[] {null, "blue", "engraved", "nothing"}) {
+                List<ItemSummary> all = large.search(status, null, query);
+                for (int pageSize : new int[] {1, 7, 20}) {
+                    ItemCursor cursor = null;
+                    for (int page = 0; page * pageSize <= all.size(); page++) {
+                        List<ItemSummary> expected = all.subList(page * pageSize, Math.min(all.size(), (page + 1) * pageSize));
+                        boolean more = (page + 1) * pageSize < all.size() && !expected.isEmpty();
+                        ItemSearchIndex.Page byNumber = large.searchPage(status, null, query, null, page, pageSize);
+                        ItemSearchIndex.Page byCursor = large.searchPage(status, null, query, cursor, 0, pageSize);
+
+                        for (ItemSearchIndex.Page result : List.of(byNumber, byCursor)) {
+                            assertThat(result.items()).as("%s %s page %d of %d", status, query, page, pageSize)
+                                    .isEqualTo(expected);
+                            assertThat(result.totalMatches()).isEqualTo(all.size());
+                            assertThat(result.hasMore()).isEqualTo(more);
+                        }
+                        if (!expected.isEmpty()) {
+                            cursor = ItemCursor.of(expected.get(expected.size() - 1));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private ItemSummary summary(
+            String id, String title, ItemStatus status, CampusZone zone, long createdOffset, List<String> tags) {
+        return new ItemSummary(
+                id,
+                title,
+                status,
+                "Somewhere",
+                zone,
+                Instant.parse("2024-03-01T00:00:00Z").plusSeconds(createdOffset),
+                null,
+                tags);
+    }
+}
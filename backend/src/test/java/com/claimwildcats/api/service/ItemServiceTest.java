@@ -2,26 +2,39 @@ package com.claimwildcats.api.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.claimwildcats.api.config.FirebaseProperties;
 import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.Hotspot;
 import com.claimwildcats.api.domain.ItemDetail;
 import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.domain.ItemSummary;
+import com.claimwildcats.api.domain.ReportCounts;
+import com.claimwildcats.api.dto.CreateFoundItemRequest;
 import com.claimwildcats.api.dto.CreateLostItemRequest;
+import com.claimwildcats.api.dto.ItemLookup;
 import com.claimwildcats.api.dto.ItemSearchResponse;
 import com.claimwildcats.api.dto.UpdateItemStatusRequest;
+import com.claimwildcats.api.support.FakeFirestore;
 import com.google.api.core.SettableApiFuture;
 import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.AggregateQuery;
+import com.google.cloud.firestore.AggregateQuerySnapshot;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.EventListener;
 import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.WriteBatch;
 import com.google.cloud.firestore.WriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -38,19 +51,32 @@ class ItemServiceTest {
     private final Firestore firestore = mock(Firestore.class);
     private final CollectionReference collection = mock(CollectionReference.class);
     private final DocumentReference document = mock(DocumentReference.class);
+    private final WriteBatch batch = mock(WriteBatch.class);
     private final FirebaseProperties firebaseProperties = new FirebaseProperties();
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HotspotTracker hotspotTracker = new HotspotTracker(firebaseProperties);
 
     private ItemService itemService;
 
     @BeforeEach
     void setUp() {
         firebaseProperties.setStorageBucket(BUCKET);
-        itemService = new ItemService(firebaseFacade, firebaseProperties);
+        itemService = TestItemServices.builder(firebaseFacade)
+                .properties(firebaseProperties)
+                .searchIndex(searchIndex)
+                .meterRegistry(meterRegistry)
+                .hotspotTracker(hotspotTracker)
+                .build();
         lenient().when(firebaseFacade.getFirestore()).thenReturn(Optional.of(firestore));
         lenient().when(firestore.collection("items")).thenReturn(collection);
         lenient().when(collection.document()).thenReturn(document);
         lenient().when(collection.document(org.mockito.ArgumentMatchers.anyString())).thenReturn(document);
         lenient().when(document.getId()).thenReturn("doc-1");
+        CollectionReference dailyStats = mock(CollectionReference.class);
+        lenient().when(firestore.collection(DashboardRollups.DAILY_ITEMS_COLLECTION)).thenReturn(dailyStats);
+        lenient().when(dailyStats.document(org.mockito.ArgumentMatchers.anyString()))
+                .thenReturn(mock(DocumentReference.class));
     }
 
     @Test
@@ -78,7 +104,7 @@ class ItemServiceTest {
         ItemDetail detail = itemService.createLostItem(request, "user-1");
 
         ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
-        org.mockito.Mockito.verify(document).set(captor.capture());
+        org.mockito.Mockito.verify(batch).set(org.mockito.ArgumentMatchers.eq(document), captor.capture());
         Map<String, Object> stored = captor.getValue();
 
         assertThat(stored)
@@ -86,12 +112,75 @@ class ItemServiceTest {
                 .containsEntry("status", "LOST")
                 .containsEntry("campusZone", "Library")
                 .containsEntry("reporterId", "user-1")
-                .containsEntry("docUrls", List.of("gs://" + BUCKET + "/items/doc-1/evidence.jpg"));
+                .containsEntry("docUrls", List.of("gs://" + BUCKET + "/items/doc-1/evidence.jpg"))
+                .containsEntry("searchText", "blue backpack\ncanvas bag with laptop\nbackpack\nlaptop");
 
         assertThat(detail.id()).isEqualTo("doc-1");
         assertThat(detail.docUrls()).containsExactly("gs://" + BUCKET + "/items/doc-1/evidence.jpg");
     }
 
+    @Test
+    void createLostItem_completesInOneRoundTrip() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        CreateLostItemRequest request = new CreateLostItemRequest(
+                "Blue Backpack",
+                "Canvas bag with laptop",
+                "Library Atrium",
+                CampusZone.LIBRARY,
+                Instant.parse("2024-03-01T10:15:30.123456789Z"),
+                List.of("backpack"),
+                List.of());
+
+        ItemDetail detail = itemService.createLostItem(request, "user-1");
+
+        assertThat(fake.roundTrips()).isEqualTo(1);
+        assertThat(fake.roundTrips("commit")).isEqualTo(1);
+        Map<String, Object> stored = fake.data("items", detail.id());
+        Timestamp createdAt = (Timestamp) stored.get("createdAt");
+        assertThat(detail.createdAt()).isEqualTo(Instant.ofEpochSecond(createdAt.getSeconds(), createdAt.getNanos()));
+        assertThat(detail.lastSeenAt()).isEqualTo(Instant.parse("2024-03-01T10:15:30.123456Z"));
+        assertThat(itemService.findById(detail.id())).isEqualTo(detail);
+        assertThat(fake.roundTrips()).isEqualTo(1);
+    }
+
+    @Test
+    void createLostItem_respondsWithWhatALaterReadReturns() throws Exception {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        CreateLostItemRequest request = new CreateLostItemRequest(
+                "Blue Backpack",
+                "Canvas bag with laptop",
+                "Library Atrium",
+                CampusZone.LIBRARY,
+                Instant.parse("2024-03-01T10:15:30.123456789Z"),
+                List.of("backpack"),
+                List.of());
+
+        ItemDetail detail = itemService.createLostItem(request, "user-1");
+        DocumentSnapshot reread = fake.firestore().collection("items").document(detail.id()).get().get();
+
+        // Read straight from the document, not the detail cache the create filled.
+        assertThat(itemService.mapDetail(reread)).isEqualTo(detail);
+    }
+
+    @Test
+    void createFoundItem_countsTheReportInTheSameCommitAndTracksItsLocation() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        CreateFoundItemRequest request = new CreateFoundItemRequest(
+                "Umbrella", "Black folding umbrella", "Gym Lobby", CampusZone.GYM, Instant.now(), List.of(), List.of());
+
+        itemService.createFoundItem(request, "user-1");
+        itemService.createFoundItem(request, "user-2");
+
+        String today = java.time.LocalDate.now(ItemService.CAMPUS_ZONE_ID).toString();
+        assertThat(fake.data(DashboardRollups.DAILY_ITEMS_COLLECTION, today))
+                .containsEntry("reported", 2L);
+        assertThat(fake.roundTrips()).isEqualTo(2);
+        assertThat(hotspotTracker.top(7)).containsExactly(new Hotspot("Gym Lobby", CampusZone.GYM, 2));
+    }
+
     @Test
     void createLostItem_rejectsDocUrlFromOtherBucket() {
         CreateLostItemRequest request = new CreateLostItemRequest(
@@ -106,6 +195,27 @@ class ItemServiceTest {
         assertThrows(IllegalArgumentException.class, () -> itemService.createLostItem(request, "user-1"));
     }
 
+    @Test
+    void createLostItem_acceptsFirebaseDownloadUrl() {
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        String url = "https://firebasestorage.googleapis.com/v0/b/" + BUCKET
+                + "/o/items%2Fdoc-1%2Fevidence.jpg?alt=media&token=abc";
+        CreateLostItemRequest request = new CreateLostItemRequest(
+                "Blue Backpack",
+                "Canvas bag with laptop",
+                "Library Atrium",
+                CampusZone.LIBRARY,
+                Instant.parse("2024-03-01T10:15:30Z"),
+                List.of("backpack"),
+                List.of(url));
+
+        ItemDetail detail = itemService.createLostItem(request, "user-1");
+
+        assertThat(detail.id()).isEqualTo("doc-1");
+        assertThat(fake.data("items", "doc-1")).containsEntry("docUrls", List.of(url));
+    }
+
     @Test
     void createLostItem_rejectsNonImageDocUrl() {
         CreateLostItemRequest request = new CreateLostItemRequest(
@@ -121,21 +231,198 @@ class ItemServiceTest {
     }
 
     @Test
-    void updateStatus_requiresOwnership() throws Exception {
+    void updateStatus_requiresOwnership() {
+        FakeFirestore fake = seededItem("owner-1");
+
+        assertThrows(
+                org.springframework.security.access.AccessDeniedException.class,
+                () -> itemService.updateStatus("doc-1", new UpdateItemStatusRequest(ItemStatus.CLAIMED, null), "other-user"));
+        assertThat(fake.data("items", "doc-1")).containsEntry("status", "LOST");
+    }
+
+    @Test
+    void updateStatus_allowsAdminOnAnotherUsersItem() {
+        FakeFirestore fake = seededItem("owner-1");
+
+        ItemDetail updated = itemService.updateStatus(
+                "doc-1", new UpdateItemStatusRequest(ItemStatus.CLAIMED, "Handed to owner"), "admin-1", true);
+
+        assertThat(updated.status()).isEqualTo(ItemStatus.CLAIMED);
+        assertThat(updated.reporterId()).isEqualTo("owner-1");
+        assertThat(fake.data("items", "doc-1"))
+                .containsEntry("status", "CLAIMED")
+                .containsEntry("statusNote", "Handed to owner");
+    }
+
+    @Test
+    void updateStatus_readsAndWritesInOneTransaction() {
+        FakeFirestore fake = seededItem("owner-1");
+
+        itemService.updateStatus("doc-1", new UpdateItemStatusRequest(ItemStatus.CLAIMED, null), "owner-1");
+
+        assertThat(fake.roundTrips("get")).isEqualTo(1);
+        assertThat(fake.roundTrips("commit")).isEqualTo(1);
+        assertThat(fake.roundTrips()).isEqualTo(2);
+    }
+
+    @Test
+    void updateStatus_concurrentOwnerAndAdminUpdatesAreSerialised() throws Exception {
+        FakeFirestore fake = seededItem("owner-1");
+        java.util.concurrent.CountDownLatch bothRead = new java.util.concurrent.CountDownLatch(2);
+        fake.beforeEachCommit(() -> {
+            bothRead.countDown();
+            try {
+                bothRead.await(5, java.util.concurrent.TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(2);
+        try {
+            java.util.concurrent.Future<ItemDetail> byOwner = executor.submit(() -> itemService.updateStatus(
+                    "doc-1", new UpdateItemStatusRequest(ItemStatus.FOUND, null), "owner-1", false));
+            java.util.concurrent.Future<ItemDetail> byAdmin = executor.submit(() -> itemService.updateStatus(
+                    "doc-1", new UpdateItemStatusRequest(ItemStatus.CLAIMED, "Verified"), "admin-1", true));
+
+            assertThat(byOwner.get(10, java.util.concurrent.TimeUnit.SECONDS).status()).isEqualTo(ItemStatus.FOUND);
+            assertThat(byAdmin.get(10, java.util.concurrent.TimeUnit.SECONDS).status()).isEqualTo(ItemStatus.CLAIMED);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(fake.transactionRetries()).isGreaterThanOrEqualTo(1);
+        assertThat(fake.roundTrips("commit")).isEqualTo(2 + fake.transactionRetries());
+        Object finalStatus = fake.data("items", "doc-1").get("status");
+        assertThat(finalStatus).isIn("FOUND", "CLAIMED");
+        assertThat(itemService.findById("doc-1").status().storageValue()).isEqualTo(finalStatus);
+    }
+
+    @Test
+    void countReportsForUser_usesAggregationsInsteadOfReadingReports() {
+        FakeFirestore fake = seededItem("owner-1");
+        fake.seed("items", "doc-2", Map.of("status", "CLAIMED", "reporterId", "owner-1", "createdAt", Timestamp.now()));
+        fake.seed("items", "doc-3", Map.of("status", "FOUND", "reporterId", "owner-2", "createdAt", Timestamp.now()));
+        fake.resetCounts();
+
+        ReportCounts counts = itemService.countReportsForUserAsync("owner-1").join();
+
+        assertThat(counts).isEqualTo(new ReportCounts(1, 1));
+        assertThat(fake.roundTrips("count")).isEqualTo(2);
+        assertThat(fake.roundTrips("query")).isZero();
+    }
+
+    @Test
+    void findById_servesRepeatedReadsFromCache() throws Exception {
         prepareFirestoreResult(Map.of(
                 "title", "Blue Backpack",
-                "description", "Canvas bag with laptop",
-                "locationText", "Library Atrium",
                 "status", "LOST",
                 "campusZone", "Library",
-                "docUrls", List.of(),
-                "tags", List.of(),
                 "createdAt", Timestamp.now(),
                 "reporterId", "owner-1"));
 
-        assertThrows(
-                org.springframework.security.access.AccessDeniedException.class,
-                () -> itemService.updateStatus("doc-1", new UpdateItemStatusRequest(ItemStatus.CLAIMED, null), "other-user"));
+        itemService.findById("doc-1");
+        ItemDetail second = itemService.findById("doc-1");
+
+        assertThat(second.title()).isEqualTo("Blue Backpack");
+        org.mockito.Mockito.verify(document, org.mockito.Mockito.times(1)).get();
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findByIdAsync_completesWhenFirestoreAnswersAndSharesInFlightReads() {
+        SettableApiFuture<DocumentSnapshot> pending = SettableApiFuture.create();
+        when(document.get()).thenReturn(pending);
+
+        java.util.concurrent.CompletableFuture<ItemDetail> first = itemService.findByIdAsync("doc-1");
+        java.util.concurrent.CompletableFuture<ItemDetail> second = itemService.findByIdAsync("doc-1");
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.getId()).thenReturn("doc-1");
+        when(snapshot.exists()).thenReturn(true);
+        when(snapshot.getString("title")).thenReturn("Blue Backpack");
+        pending.set(snapshot);
+
+        assertThat(first.join().title()).isEqualTo("Blue Backpack");
+        assertThat(second.join()).isEqualTo(first.join());
+        org.mockito.Mockito.verify(document, org.mockito.Mockito.times(1)).get();
+    }
+
+    @Test
+    void findById_reportsMissingItemsAsBefore() {
+        SettableApiFuture<DocumentSnapshot> future = SettableApiFuture.create();
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.exists()).thenReturn(false);
+        future.set(snapshot);
+        when(document.get()).thenReturn(future);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> itemService.findById("doc-1"));
+        assertThat(error.getMessage()).isEqualTo("Item not found: doc-1");
+    }
+
+    @Test
+    void findByIds_readsUncachedItemsInOneGetAllAndKeepsRequestOrder() {
+        FakeFirestore fake = seededItem("owner-1");
+        fake.seed("items", "doc-2", Map.of(
+                "title", "Umbrella",
+                "status", "FOUND",
+                "campusZone", "Gym",
+                "createdAt", Timestamp.now(),
+                "reporterId", "finder-1"));
+        itemService.findById("doc-2");
+        fake.resetCounts();
+
+        List<ItemLookup> lookups = itemService.findByIds(List.of("doc-2", "missing", " doc-1", "doc-2", ""));
+
+        assertThat(lookups).extracting(ItemLookup::id).containsExactly("doc-2", "missing", "doc-1");
+        assertThat(lookups).extracting(ItemLookup::found).containsExactly(true, false, true);
+        assertThat(lookups.get(1).item()).isNull();
+        assertThat(lookups.get(2).item().title()).isEqualTo("Blue Backpack");
+        // doc-2 came from the cache; doc-1 and the missing id shared one getAll.
+        assertThat(fake.roundTrips()).isEqualTo(1);
+
+        fake.resetCounts();
+        assertThat(itemService.findByIds(List.of("doc-1", "doc-2"))).allMatch(ItemLookup::found);
+        assertThat(fake.roundTrips()).isZero();
+    }
+
+    @Test
+    void findByIds_rejectsMoreDistinctIdsThanTheCap() {
+        List<String> ids = new java.util.ArrayList<>();
+        for (int i = 0; i <= ItemService.MAX_LOOKUP_IDS; i++) {
+            ids.add("doc-" + i);
+        }
+
+        assertThrows(InvalidRequestException.class, () -> itemService.findByIdsAsync(ids));
+        // Repeats count once, so a hundred distinct ids are still allowed.
+        ids.set(ItemService.MAX_LOOKUP_IDS, "doc-0");
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.empty());
+        assertThat(itemService.findByIds(ids)).hasSize(ItemService.MAX_LOOKUP_IDS);
+    }
+
+    @Test
+    void findByIds_rejectsOversizedLookups() {
+        seededItem("owner-1");
+        List<String> ids = java.util.stream.IntStream.rangeClosed(0, ItemService.MAX_LOOKUP_IDS)
+                .mapToObj(index -> "doc-" + index)
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> itemService.findByIds(ids));
+    }
+
+    @Test
+    void updateStatus_refreshesCachedDetail() {
+        FakeFirestore fake = seededItem("owner-1");
+        itemService.findById("doc-1");
+
+        itemService.updateStatus("doc-1", new UpdateItemStatusRequest(ItemStatus.CLAIMED, null), "owner-1");
+        fake.resetCounts();
+
+        assertThat(itemService.findById("doc-1").status()).isEqualTo(ItemStatus.CLAIMED);
+        assertThat(fake.roundTrips()).isZero();
     }
 
     @Test
@@ -145,15 +432,418 @@ class ItemServiceTest {
         assertThat(response.items()).isNotEmpty();
     }
 
+    @Test
+    void searchItems_answersFromIndexOnceLoaded() {
+        for (int i = 0; i < 30; i++) {
+            searchIndex.upsert(new ItemSummary(
+                    "item-" + i,
+                    i % 2 == 0 ? "Blue Umbrella" : "Calculator",
+                    ItemStatus.FOUND,
+                    "Library Atrium",
+                    CampusZone.LIBRARY,
+                    Instant.parse("2024-03-01T00:00:00Z").plusSeconds(i),
+                    null,
+                    List.of()), "left near the stairs");
+        }
+        searchIndex.markReady();
+
+        ItemSearchResponse response = itemService.searchItems(ItemStatus.FOUND, CampusZone.LIBRARY, "umbr", 1, 10);
+
+        assertThat(response.totalItems()).isEqualTo(15);
+        assertThat(response.items()).hasSize(5);
+        assertThat(response.items().get(0).id()).isEqualTo("item-8");
+        org.mockito.Mockito.verifyNoInteractions(collection);
+    }
+
+    @Test
+    void searchItems_cursorContinuesWhereThePreviousPageEnded() {
+        for (int i = 0; i < 25; i++) {
+            searchIndex.upsert(new ItemSummary(
+                    "item-" + i,
+                    "Calculator",
+                    ItemStatus.FOUND,
+                    "Labs",
+                    CampusZone.LABS,
+                    Instant.parse("2024-03-01T00:00:00Z").plusSeconds(i),
+                    null,
+                    List.of()), null);
+        }
+        searchIndex.markReady();
+
+        ItemSearchResponse first = itemService.searchItems(null, null, null, null, 0, 10);
+        ItemSearchResponse second = itemService.searchItems(null, null, null, first.nextCursor(), 0, 10);
+        ItemSearchResponse third = itemService.searchItems(null, null, null, second.nextCursor(), 0, 10);
+
+        assertThat(first.items().get(0).id()).isEqualTo("item-24");
+        assertThat(second.items().get(0).id()).isEqualTo("item-14");
+        assertThat(third.items()).extracting(ItemSummary::id)
+                .containsExactly("item-4", "item-3", "item-2", "item-1", "item-0");
+        assertThat(third.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchItems_readsOnlyOnePageFromFirestoreWithCursor() throws Exception {
+        firebaseProperties.getItems().getSearchIndex().setEnabled(false);
+        Query query = mock(Query.class, org.mockito.Mockito.RETURNS_SELF);
+        when(collection.whereEqualTo("status", "FOUND")).thenReturn(query);
+
+        AggregateQuery countQuery = mock(AggregateQuery.class);
+        AggregateQuerySnapshot countSnapshot = mock(AggregateQuerySnapshot.class);
+        when(countSnapshot.getCount()).thenReturn(42L);
+        SettableApiFuture<AggregateQuerySnapshot> countFuture = SettableApiFuture.create();
+        countFuture.set(countSnapshot);
+        when(query.count()).thenReturn(countQuery);
+        when(countQuery.get()).thenReturn(countFuture);
+
+        List<QueryDocumentSnapshot> documents = new java.util.ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            documents.add(queryDocument("item-" + i, Instant.parse("2024-03-01T00:00:00Z").minusSeconds(i)));
+        }
+        QuerySnapshot querySnapshot = mock(QuerySnapshot.class);
+        when(querySnapshot.getDocuments()).thenReturn(documents);
+        SettableApiFuture<QuerySnapshot> queryFuture = SettableApiFuture.create();
+        queryFuture.set(querySnapshot);
+        when(query.get()).thenReturn(queryFuture);
+
+        String cursor = ItemCursor.of(new ItemSummary(
+                "item-x", "Calculator", ItemStatus.FOUND, "Labs", CampusZone.LABS,
+                Instant.parse("2024-03-02T00:00:00Z"), null, List.of())).encode();
+        ItemSearchResponse response = itemService.searchItems(ItemStatus.FOUND, null, null, cursor, 0, 3);
+
+        org.mockito.Mockito.verify(query).limit(4);
+        org.mockito.Mockito.verify(query).startAfter(Timestamp.parseTimestamp("2024-03-02T00:00:00Z"), "item-x");
+        assertThat(response.items()).extracting(ItemSummary::id).containsExactly("item-0", "item-1", "item-2");
+        assertThat(response.totalItems()).isEqualTo(42);
+        assertThat(ItemCursor.decode(response.nextCursor()).id()).isEqualTo("item-2");
+    }
+
+    @Test
+    void searchItems_cursorKeepsSubMillisecondCreatedAt() {
+        firebaseProperties.getItems().getSearchIndex().setEnabled(false);
+        FakeFirestore fake = new FakeFirestore();
+        Map<String, Object> newer = new java.util.HashMap<>(itemData("Blue umbrella", "Folding", 0));
+        newer.put("createdAt", Timestamp.ofTimeSecondsAndNanos(1_700_000_000L, 123_456_000));
+        Map<String, Object> older = new java.util.HashMap<>(itemData("Grey hoodie", "Zip-up", 0));
+        older.put("createdAt", Timestamp.ofTimeSecondsAndNanos(1_700_000_000L, 123_400_000));
+        fake.seed("items", "item-1", newer);
+        fake.seed("items", "item-2", older);
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        ItemSearchResponse first = itemService.searchItems(null, null, null, null, 0, 1);
+        ItemSearchResponse second = itemService.searchItems(null, null, null, first.nextCursor(), 0, 1);
+
+        assertThat(first.items()).extracting(ItemSummary::id).containsExactly("item-1");
+        // Both were created in the same millisecond, so a millisecond cursor would skip the older one.
+        assertThat(second.items()).extracting(ItemSummary::id).containsExactly("item-2");
+    }
+
+    @Test
+    void searchItems_keywordScanMatchesDescriptionsThroughTheProjectedSearchText() {
+        firebaseProperties.getItems().getSearchIndex().setEnabled(false);
+        FakeFirestore fake = new FakeFirestore();
+        Map<String, Object> current = new java.util.HashMap<>(itemData("Blue umbrella", "Left near the chem lab", 2));
+        current.put("searchText", ItemService.searchTextOf("Blue umbrella", "Left near the chem lab", List.of()));
+        fake.seed("items", "item-1", current);
+        fake.seed("items", "item-2", itemData("Grey hoodie", "Found outside the chem lab", 1));
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        ItemSearchResponse response = itemService.searchItems(null, null, "chem lab", 0, 10);
+
+        // item-2 predates searchText, and the scan no longer downloads descriptions.
+        assertThat(response.items()).extracting(ItemSummary::id).containsExactly("item-1");
+        assertThat(itemService.searchItems(null, null, "hoodie", 0, 10).items())
+                .extracting(ItemSummary::id)
+                .containsExactly("item-2");
+    }
+
+    @Test
+    void searchItems_keywordScanCountsEveryMatchForOffsetPages() {
+        firebaseProperties.getItems().getSearchIndex().setEnabled(false);
+        FakeFirestore fake = new FakeFirestore();
+        for (int i = 0; i < 25; i++) {
+            String title = i % 2 == 0 ? "Blue umbrella " + i : "Grey hoodie " + i;
+            fake.seed("items", "item-" + i, itemData(title, "Zip-up", i));
+        }
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        ItemSearchResponse third = itemService.searchItems(null, null, "umbrella", 2, 4);
+
+        assertThat(third.items()).extracting(ItemSummary::id).containsExactly("item-8", "item-6", "item-4", "item-2");
+        // All 13 umbrellas, not just the 12 read up to the end of the page.
+        assertThat(third.totalItems()).isEqualTo(13);
+        assertThat(ItemCursor.decode(third.nextCursor()).id()).isEqualTo("item-2");
+        assertThat(itemService.searchItems(null, null, "umbrella", third.nextCursor(), 0, 4).items())
+                .extracting(ItemSummary::id)
+                .containsExactly("item-0");
+    }
+
+    @Test
+    void searchItems_keywordScanResumesPastTheWindowOnlyWhenTheOffsetWasReached() {
+        firebaseProperties.getItems().getSearchIndex().setEnabled(false);
+        FakeFirestore fake = new FakeFirestore();
+        for (int i = 0; i < 3; i++) {
+            fake.seed("items", "old-" + i, itemData("Blue umbrella", "Zip-up", i));
+        }
+        for (int i = 0; i < 200; i++) {
+            fake.seed("items", "new-" + i, itemData("Grey hoodie", "Zip-up", 100 + i));
+        }
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        ItemSearchResponse first = itemService.searchItems(null, null, "umbrella", 0, 4);
+        ItemSearchResponse second = itemService.searchItems(null, null, "umbrella", 1, 4);
+
+        // The newest 200 documents hold no umbrellas, so the first page resumes after them.
+        assertThat(first.items()).isEmpty();
+        assertThat(first.totalItems()).isZero();
+        assertThat(itemService.searchItems(null, null, "umbrella", first.nextCursor(), 0, 4).items())
+                .extracting(ItemSummary::id)
+                .containsExactly("old-2", "old-1", "old-0");
+        // A later page number would lose its offset on resume, so it gets no cursor.
+        assertThat(second.items()).isEmpty();
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void loadSearchIndex_backfillsSearchTextOnOlderItems() {
+        FakeFirestore fake = new FakeFirestore();
+        fake.seed("items", "item-2", itemData("Grey hoodie", "Found outside the chem lab", 1));
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        itemService.loadSearchIndex();
+
+        assertThat(fake.data("items", "item-2"))
+                .containsEntry("searchText", "grey hoodie\nfound outside the chem lab")
+                .containsEntry("description", "Found outside the chem lab");
+    }
+
+    @Test
+    void loadSearchIndex_backfillsSearchTextWithTheIndexDisabled() {
+        firebaseProperties.getItems().getSearchIndex().setEnabled(false);
+        FakeFirestore fake = new FakeFirestore();
+        fake.seed("items", "item-2", itemData("Grey hoodie", "Found outside the chem lab", 1));
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        itemService.loadSearchIndex();
+
+        assertThat(fake.data("items", "item-2")).containsEntry("searchText", "grey hoodie\nfound outside the chem lab");
+        assertThat(itemService.searchItems(null, null, "chem lab", 0, 10).items())
+                .extracting(ItemSummary::id)
+                .containsExactly("item-2");
+    }
+
+    @Test
+    void replica_backfillsSearchTextOnOlderItemsItReplays() {
+        FakeFirestore fake = replicatedFirestore();
+        fake.seed("items", "lost-1", itemData("Umbrella", "Left near the chem lab", 1));
+
+        itemService.loadSearchIndex();
+
+        assertThat(fake.data("items", "lost-1")).containsEntry("searchText", "umbrella\nleft near the chem lab");
+        fake.resetCounts();
+        assertThat(itemService.searchItems(null, null, "chem lab", 0, 10).items())
+                .extracting(ItemSummary::id)
+                .containsExactly("lost-1");
+        assertThat(fake.roundTrips()).isZero();
+    }
+
+    @Test
+    void backfillSearchText_doesNotRecreateItemsDeletedSinceTheyWereRead() {
+        FakeFirestore fake = new FakeFirestore();
+        fake.seed("items", "item-1", itemData("Grey hoodie", "Zip-up", 1));
+
+        int written = itemService.backfillSearchText(fake.firestore(), Map.of(
+                "item-1", "grey hoodie\nzip-up",
+                "deleted", "black umbrella")).join();
+
+        assertThat(written).isEqualTo(1);
+        assertThat(fake.data("items", "item-1")).containsEntry("searchText", "grey hoodie\nzip-up");
+        assertThat(fake.data("items", "deleted")).isNull();
+    }
+
+    @Test
+    void replica_servesReadPathsFromListenerChangesOnceWarm() throws Exception {
+        FakeFirestore fake = replicatedFirestore();
+        fake.seed("items", "lost-1", replicaItem("Umbrella", "LOST", "user-1", 30));
+        fake.seed("items", "found-1", replicaItem("Umbrella", "FOUND", "user-2", 20));
+
+        itemService.loadSearchIndex();
+        fake.seed("items", "found-2", replicaItem("Umbrella", "FOUND", "user-1", 10));
+        fake.firestore().collection("items").document("found-1").update(Map.of(
+                "title", "Red umbrella",
+                "searchText", ItemService.searchTextOf("Red umbrella", "Folding", List.of()))).get();
+        fake.firestore().collection("items").document("found-2").delete().get();
+        fake.resetCounts();
+
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(itemService.listReportsForUser("user-1")).extracting(ItemSummary::id).containsExactly("lost-1");
+        assertThat(itemService.findSimilar("lost-1")).extracting(ItemSummary::id).containsExactly("found-1");
+        assertThat(itemService.searchItems(null, null, "umbrella", 0, 10).totalItems()).isEqualTo(2);
+        assertThat(itemService.searchItems(null, null, "red", 0, 10).items())
+                .extracting(ItemSummary::id)
+                .containsExactly("found-1");
+        assertThat(fake.roundTrips()).isZero();
+    }
+
+    @Test
+    void replica_listenerErrorFallsBackToDirectQueries() {
+        FakeFirestore fake = replicatedFirestore();
+        firebaseProperties.getItems().getReplica().setResubscribeDelay(Duration.ofMinutes(1));
+        fake.seed("items", "lost-1", replicaItem("Umbrella", "LOST", "user-1", 30));
+        itemService.loadSearchIndex();
+        assertThat(searchIndex.isReady()).isTrue();
+
+        fake.failSnapshotListeners("items");
+
+        assertThat(searchIndex.isReady()).isFalse();
+        assertThat(searchIndex.size()).isZero();
+        fake.resetCounts();
+        assertThat(itemService.listReportsForUser("user-1")).extracting(ItemSummary::id).containsExactly("lost-1");
+        assertThat(fake.roundTrips("query")).isEqualTo(1);
+    }
+
+    @Test
+    void replica_resubscribesAfterAListenerErrorAndWarmsAgain() throws Exception {
+        FakeFirestore fake = replicatedFirestore();
+        firebaseProperties.getItems().getReplica().setResubscribeDelay(Duration.ofSeconds(1));
+        fake.seed("items", "lost-1", replicaItem("Umbrella", "LOST", "user-1", 30));
+        itemService.loadSearchIndex();
+
+        fake.failSnapshotListeners("items");
+        // No listener is registered now, so only the new listener's first event carries this report.
+        fake.seed("items", "found-1", replicaItem("Umbrella", "FOUND", "user-2", 20));
+
+        assertThat(searchIndex.isReady()).isFalse();
+        fake.awaitSnapshotListeners("items", 1);
+        fake.resetCounts();
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(itemService.findSimilar("lost-1")).extracting(ItemSummary::id).containsExactly("found-1");
+        assertThat(fake.roundTrips()).isZero();
+    }
+
+    @Test
+    void replica_keepsHotspotsUntilTheNewListenerReplaysThem() throws Exception {
+        FakeFirestore fake = replicatedFirestore();
+        firebaseProperties.getItems().getReplica().setResubscribeDelay(Duration.ofSeconds(1));
+        Map<String, Object> report = new java.util.HashMap<>(replicaItem("Calculator", "FOUND", "user-2", 0));
+        report.put("locationText", "Gym Lobby");
+        report.put("createdAt", Timestamp.now());
+        fake.seed("items", "found-1", report);
+        itemService.loadSearchIndex();
+
+        fake.failSnapshotListeners("items");
+
+        // Reports made while the replica is down reach the tracker only through the replay, so it is not cleared yet.
+        assertThat(hotspotTracker.top(7)).containsExactly(new Hotspot("Gym Lobby", CampusZone.LABS, 1));
+        fake.awaitSnapshotListeners("items", 1);
+
+        assertThat(hotspotTracker.top(7)).containsExactly(new Hotspot("Gym Lobby", CampusZone.LABS, 1));
+    }
+
+    @Test
+    void replicaBackoff_doublesUpToTheMaximum() {
+        firebaseProperties.getItems().getReplica().setResubscribeDelay(Duration.ofSeconds(1));
+        firebaseProperties.getItems().getReplica().setMaxResubscribeDelay(Duration.ofSeconds(10));
+
+        assertThat(itemService.replicaBackoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(itemService.replicaBackoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(itemService.replicaBackoff(5)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(itemService.replicaBackoff(100)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void createLostItem_addsItemToSearchIndex() throws Exception {
+        CreateLostItemRequest request = new CreateLostItemRequest(
+                "Blue Backpack",
+                "Canvas bag with laptop",
+                "Library Atrium",
+                CampusZone.LIBRARY,
+                Instant.parse("2024-03-01T10:15:30Z"),
+                List.of("backpack"),
+                List.of());
+        prepareFirestoreResult(Map.of(
+                "title", "Blue Backpack",
+                "description", "Canvas bag with laptop",
+                "locationText", "Library Atrium",
+                "status", "LOST",
+                "campusZone", "Library",
+                "tags", List.of("backpack"),
+                "createdAt", Timestamp.now(),
+                "reporterId", "user-1"));
+
+        itemService.createLostItem(request, "user-1");
+
+        assertThat(searchIndex.search(ItemStatus.LOST, null, "laptop"))
+                .extracting(ItemSummary::id)
+                .containsExactly("doc-1");
+    }
+
+    /** Routes the replica's listener to {@code fake}, as {@link FirebaseFacade#listenToCollection} does. */
+    private FakeFirestore replicatedFirestore() {
+        firebaseProperties.getItems().getReplica().setEnabled(true);
+        FakeFirestore fake = new FakeFirestore();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        when(firebaseFacade.listenToCollection(
+                        org.mockito.ArgumentMatchers.eq("items"), org.mockito.ArgumentMatchers.any()))
+                .thenAnswer(invocation -> Optional.of(fake.firestore()
+                        .collection(invocation.getArgument(0))
+                        .addSnapshotListener(invocation.<EventListener<QuerySnapshot>>getArgument(1))));
+        return fake;
+    }
+
+    private static Map<String, Object> replicaItem(String title, String status, String reporterId, int createdSeconds) {
+        Map<String, Object> data = new java.util.HashMap<>(itemData(title, "Folding", createdSeconds));
+        data.put("status", status);
+        data.put("reporterId", reporterId);
+        data.put("searchText", ItemService.searchTextOf(title, "Folding", List.of()));
+        return data;
+    }
+
+    private QueryDocumentSnapshot queryDocument(String id, Instant createdAt) {
+        QueryDocumentSnapshot doc = mock(QueryDocumentSnapshot.class);
+        when(doc.getId()).thenReturn(id);
+        when(doc.getString("title")).thenReturn("Calculator");
+        when(doc.getString("status")).thenReturn("FOUND");
+        when(doc.getString("campusZone")).thenReturn("Labs");
+        when(doc.getTimestamp("createdAt"))
+                .thenReturn(Timestamp.ofTimeSecondsAndNanos(createdAt.getEpochSecond(), createdAt.getNano()));
+        return doc;
+    }
+
+    private static Map<String, Object> itemData(String title, String description, int createdSeconds) {
+        return Map.of(
+                "title", title,
+                "description", description,
+                "locationText", "Chem Lab 2",
+                "status", "FOUND",
+                "campusZone", "Labs",
+                "docUrls", List.of(),
+                "tags", List.of(),
+                "createdAt", Timestamp.ofTimeSecondsAndNanos(1_700_000_000L + createdSeconds, 0),
+                "reporterId", "user-1");
+    }
+
+    private FakeFirestore seededItem(String reporterId) {
+        FakeFirestore fake = new FakeFirestore();
+        fake.seed("items", "doc-1", Map.of(
+                "title", "Blue Backpack",
+                "description", "Canvas bag with laptop",
+                "locationText", "Library Atrium",
+                "status", "LOST",
+                "campusZone", "Library",
+                "docUrls", List.of(),
+                "tags", List.of(),
+                "createdAt", Timestamp.now(),
+                "reporterId", reporterId));
+        fake.resetCounts();
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        return fake;
+    }
+
     private void prepareFirestoreResult(Map<String, Object> data) throws Exception {
-        ArgumentCaptor<Map<String, Object>> mapCaptor = ArgumentCaptor.forClass(Map.class);
-        SettableApiFuture<WriteResult> writeFuture = SettableApiFuture.create();
-        writeFuture.set(mock(WriteResult.class));
-        when(document.set(mapCaptor.capture())).thenReturn(writeFuture);
-
-        SettableApiFuture<WriteResult> mergeFuture = SettableApiFuture.create();
-        mergeFuture.set(mock(WriteResult.class));
-        when(document.set(any(), org.mockito.ArgumentMatchers.eq(SetOptions.merge()))).thenReturn(mergeFuture);
+        SettableApiFuture<List<WriteResult>> commitFuture = SettableApiFuture.create();
+        commitFuture.set(List.of(mock(WriteResult.class), mock(WriteResult.class)));
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit()).thenReturn(commitFuture);
 
         DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
         when(snapshot.getId()).thenReturn("doc-1");
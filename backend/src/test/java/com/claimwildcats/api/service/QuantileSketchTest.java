@@ -0,0 +1,51 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+    @Test
+    void quantile_staysWithinRelativeAccuracyOfTheExactValue() {
+        Random random = new Random(42);
+        double[] values = new double[20_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            // Long-tailed like real time-to-claim: most claims within a day, some after weeks.
+            values[i] = Math.exp(random.nextGaussian() * 1.5 + 10);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+            double exact = values[(int) Math.floor(quantile * (values.length - 1))];
+            assertThat(sketch.quantile(quantile))
+                    .isCloseTo(exact, within(exact * QuantileSketch.RELATIVE_ACCURACY));
+        }
+        assertThat(sketch.count()).isEqualTo(values.length);
+    }
+
+    @Test
+    void merge_matchesASketchOfAllValuesAndRemovalsUndoAdds() {
+        QuantileSketch early = new QuantileSketch();
+        QuantileSketch late = new QuantileSketch();
+        QuantileSketch combined = new QuantileSketch();
+        for (int seconds = 1; seconds <= 1_000; seconds++) {
+            (seconds % 2 == 0 ? early : late).add(seconds * 60.0);
+            combined.add(seconds * 60.0);
+        }
+
+        early.merge(late);
+
+        assertThat(early.count()).isEqualTo(combined.count());
+        assertThat(early.quantile(0.9)).isEqualTo(combined.quantile(0.9));
+
+        combined.add(QuantileSketch.bucketOf(60_000), -1);
+        assertThat(combined.count()).isEqualTo(999);
+        assertThat(new QuantileSketch().quantile(0.5)).isZero();
+    }
+}
@@ -0,0 +1,165 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.dto.ItemSearchResponse;
+import com.claimwildcats.api.support.FakeFirestore;
+import com.claimwildcats.api.support.SyntheticItems;
+import io.micrometer.core.instrument.search.Search;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCapabilitiesTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T04:00:00Z");
+    private static final String STATUS_FEED = "status== orderBy createdAt desc,__name__ desc";
+
+    private final FirebaseProperties properties = new FirebaseProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(NOW);
+    private final FakeFirestore fake = new FakeFirestore().requireCompositeIndexes();
+
+    private QueryCapabilities capabilities;
+    private ItemService itemService;
+
+    @BeforeEach
+    void setUp() {
+        SyntheticItems.documents(30, 7).forEach((id, data) -> fake.seed("items", id, data));
+        properties.getItems().getIndexProbes().setReprobeInterval(Duration.ofMinutes(10));
+        capabilities = new QueryCapabilities(properties.getItems().getIndexProbes(), clock);
+        FirebaseFacade firebaseFacade = mock(FirebaseFacade.class);
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+        FirestoreFutures futures = new FirestoreFutures(Runnable::run, new FirestoreMetrics(meterRegistry));
+        itemService = TestItemServices.builder(firebaseFacade)
+                .properties(properties)
+                .futures(futures)
+                .meterRegistry(meterRegistry)
+                .queryCapabilities(capabilities)
+                .build();
+    }
+
+    @Test
+    void searchItems_skipsTheIndexedQueryOnceItHasFailedForAMissingIndex() {
+        ItemSearchResponse first = itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+        ItemSearchResponse second = itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+
+        assertThat(second.items()).isEqualTo(first.items()).isNotEmpty();
+        assertThat(failedQueries()).isEqualTo(1);
+        assertThat(capabilities.capabilities()).singleElement().satisfies(capability -> {
+            assertThat(capability.shape()).isEqualTo(STATUS_FEED);
+            assertThat(capability.support()).isEqualTo(QueryCapabilities.Support.MISSING);
+            assertThat(capability.nextProbeAt()).isEqualTo(NOW.plus(Duration.ofMinutes(10)));
+            assertThat(capability.detail()).contains("create_composite=status,createdAt");
+        });
+    }
+
+    @Test
+    void probeSearchIndexes_recordsEachFilteredFeedShapeUpFront() {
+        fake.withCompositeIndex("items", "status", "createdAt");
+
+        itemService.probeSearchIndexes();
+        itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+        itemService.searchItems(null, CampusZone.MAIN, null, 0, 10);
+
+        assertThat(capabilities.capabilities())
+                .extracting(QueryCapabilities.QueryCapability::shape, QueryCapabilities.QueryCapability::support)
+                .containsExactlyInAnyOrder(
+                        tuple("campusZone== orderBy createdAt desc,__name__ desc", QueryCapabilities.Support.MISSING),
+                        tuple(STATUS_FEED, QueryCapabilities.Support.SUPPORTED),
+                        tuple(
+                                "status==,campusZone== orderBy createdAt desc,__name__ desc",
+                                QueryCapabilities.Support.MISSING));
+        // Only the two failed probes; neither search tried a query Firestore had already refused.
+        assertThat(failedQueries()).isEqualTo(2);
+    }
+
+    @Test
+    void searchItems_returnsToTheIndexedQueryOnceAReprobeFindsTheIndex() {
+        itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+        fake.withCompositeIndex("items", "status", "createdAt");
+
+        clock.advance(Duration.ofMinutes(9));
+        itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+        assertThat(capabilities.capabilities().get(0).support()).isEqualTo(QueryCapabilities.Support.MISSING);
+
+        clock.advance(Duration.ofMinutes(1));
+        itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+        assertThat(capabilities.capabilities().get(0).support()).isEqualTo(QueryCapabilities.Support.SUPPORTED);
+
+        fake.resetCounts();
+        ItemSearchResponse indexed = itemService.searchItems(ItemStatus.FOUND, null, null, 0, 10);
+        assertThat(indexed.items()).isNotEmpty().allMatch(item -> item.status() == ItemStatus.FOUND);
+        // One page query plus its count, instead of a client-side scan.
+        assertThat(fake.roundTrips("query")).isEqualTo(1);
+        assertThat(fake.roundTrips("count")).isEqualTo(1);
+    }
+
+    @Test
+    void probe_keepsThePreviousStateWhenTheProbeFailsForAnotherReason() {
+        QueryShape shape = new QueryShape(List.of("status=="), "createdAt desc", null, false);
+        capabilities.recordSupported("items", shape);
+
+        QueryCapabilities.Support support = capabilities.probe("items", shape.withLimit(1),
+                () -> CompletableFuture.failedFuture(new IllegalStateException("UNAVAILABLE")))
+                .join();
+
+        assertThat(support).isEqualTo(QueryCapabilities.Support.SUPPORTED);
+        assertThat(capabilities.isUsable("items", shape)).isTrue();
+        assertThat(capabilities.capabilities()).singleElement()
+                .extracting(QueryCapabilities.QueryCapability::detail)
+                .asString()
+                .contains("UNAVAILABLE");
+    }
+
+    private long failedQueries() {
+        return Search.in(meterRegistry)
+                .name(FirestoreMetrics.OPERATION_TIMER)
+                .tags("operation", "query", "outcome", "failure")
+                .timers()
+                .stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
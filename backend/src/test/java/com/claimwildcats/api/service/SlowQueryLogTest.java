@@ -0,0 +1,115 @@
+package com.claimwildcats.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.claimwildcats.api.support.FakeFirestore;
+import com.claimwildcats.api.support.SyntheticItems;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SlowQueryLogTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T04:00:00Z");
+    private static final FirestoreOperation FEED_PAGE = FirestoreOperation.query(
+            "items", new QueryShape(List.of("status=="), "createdAt desc", 21, false));
+
+    private final FirebaseProperties.SlowQueries settings = new FirebaseProperties.SlowQueries();
+
+    @Test
+    void record_keepsOnlyQueriesAtOrOverTheThreshold() {
+        settings.setThreshold(Duration.ofMillis(100));
+        SlowQueryLog log = log();
+
+        log.record(FEED_PAGE, 21, millis(99), false);
+        log.record(FEED_PAGE, 21, millis(100), false);
+        log.record(FirestoreOperation.get("items"), 1, millis(500), false);
+
+        assertThat(log.slowQueries()).singleElement().satisfies(slow -> {
+            assertThat(slow.completedAt()).isEqualTo(NOW);
+            assertThat(slow.filters()).containsExactly("status==");
+            assertThat(slow.orderBy()).isEqualTo("createdAt desc");
+            assertThat(slow.limit()).isEqualTo(21);
+            assertThat(slow.elapsedMillis()).isEqualTo(100.0);
+        });
+        assertThat(log.shapeStats()).singleElement().satisfies(stats -> {
+            assertThat(stats.shape()).isEqualTo("status== orderBy createdAt desc limit");
+            assertThat(stats.count()).isEqualTo(2);
+            assertThat(stats.slow()).isEqualTo(1);
+            assertThat(stats.documents()).isEqualTo(42);
+            assertThat(stats.maxMillis()).isEqualTo(100.0);
+        });
+    }
+
+    @Test
+    void slowQueries_overwritesTheOldestOnceTheRingIsFull() {
+        settings.setThreshold(Duration.ZERO);
+        settings.setCapacity(4);
+        SlowQueryLog log = log();
+
+        for (int documents = 1; documents <= 10; documents++) {
+            log.record(FEED_PAGE, documents, millis(5), false);
+        }
+
+        assertThat(log.slowQueries()).extracting(SlowQueryLog.SlowQuery::documents).containsExactly(10, 9, 8, 7);
+        assertThat(log.shapeStats()).singleElement()
+                .extracting(SlowQueryLog.ShapeStats::count)
+                .isEqualTo(10L);
+    }
+
+    @Test
+    void itemSearch_flagsTheIndexFreeScanSeparatelyFromTheIndexedQuery() {
+        settings.setThreshold(Duration.ZERO);
+        SlowQueryLog log = log();
+        FakeFirestore fake = new FakeFirestore().requireCompositeIndexes();
+        SyntheticItems.documents(30, 7).forEach((id, data) -> fake.seed("items", id, data));
+        FirebaseFacade firebaseFacade = mock(FirebaseFacade.class);
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(fake.firestore()));
+
+        itemService(firebaseFacade, log).searchItems(ItemStatus.FOUND, null, null, 0, 10);
+
+        assertThat(log.shapeStats())
+                .extracting(SlowQueryLog.ShapeStats::shape)
+                .contains(
+                        "status== orderBy createdAt desc,__name__ desc limit",
+                        "orderBy createdAt desc,__name__ desc limit [index fallback]");
+        assertThat(log.slowQueries())
+                .filteredOn(SlowQueryLog.SlowQuery::indexFallback)
+                .isNotEmpty()
+                .allSatisfy(slow -> {
+                    assertThat(slow.filters()).isEmpty();
+                    assertThat(slow.failed()).isFalse();
+                });
+        assertThat(log.slowQueries())
+                .filteredOn(SlowQueryLog.SlowQuery::failed)
+                .singleElement()
+                .extracting(SlowQueryLog.SlowQuery::filters)
+                .isEqualTo(List.of("status=="));
+    }
+
+    private SlowQueryLog log() {
+        return new SlowQueryLog(settings, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static ItemService itemService(FirebaseFacade firebaseFacade, SlowQueryLog log) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return TestItemServices.builder(firebaseFacade)
+                .futures(new FirestoreFutures(Runnable::run, new FirestoreMetrics(meterRegistry), log))
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+}
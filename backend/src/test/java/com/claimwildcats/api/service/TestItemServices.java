@@ -0,0 +1,114 @@
+package com.claimwildcats.api.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.claimwildcats.api.config.FirebaseProperties;
+import com.claimwildcats.api.support.SyntheticItems;
+import com.google.cloud.firestore.Firestore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+
+/**
+ * Wires {@link ItemService}s for tests and benchmarks. {@link #builder} takes the collaborators a test inspects or
+ * configures and builds the rest from them: a detail cache, rollups, hotspot tracker, query capabilities and match
+ * pipeline over the same properties, index, futures and meter registry. {@link #create} and
+ * {@link #withSearchIndex} are the two benchmark setups.
+ */
+final class TestItemServices {
+
+    private TestItemServices() {
+    }
+
+    static Builder builder(FirebaseFacade firebaseFacade) {
+        return new Builder(firebaseFacade);
+    }
+
+    /** No Firestore, for benchmarks that call its helpers directly. */
+    static ItemService create() {
+        FirebaseFacade firebaseFacade = mock(FirebaseFacade.class);
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.empty());
+        return builder(firebaseFacade).properties(benchmarkProperties()).build();
+    }
+
+    /** Searches are answered from {@code searchIndex}, which the caller loads and marks ready; Firestore is never read. */
+    static ItemService withSearchIndex(ItemSearchIndex searchIndex) {
+        FirebaseFacade firebaseFacade = mock(FirebaseFacade.class);
+        when(firebaseFacade.getFirestore()).thenReturn(Optional.of(mock(Firestore.class)));
+        return builder(firebaseFacade).properties(benchmarkProperties()).searchIndex(searchIndex).build();
+    }
+
+    private static FirebaseProperties benchmarkProperties() {
+        FirebaseProperties properties = new FirebaseProperties();
+        properties.setStorageBucket(SyntheticItems.BUCKET);
+        return properties;
+    }
+
+    static final class Builder {
+
+        private final FirebaseFacade firebaseFacade;
+        private FirebaseProperties properties = new FirebaseProperties();
+        private ItemSearchIndex searchIndex = new ItemSearchIndex();
+        private FirestoreFutures futures = new FirestoreFutures(Runnable::run);
+        private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private HotspotTracker hotspotTracker;
+        private QueryCapabilities queryCapabilities;
+        private ItemMatchPipeline matchPipeline;
+
+        private Builder(FirebaseFacade firebaseFacade) {
+            this.firebaseFacade = firebaseFacade;
+        }
+
+        Builder properties(FirebaseProperties properties) {
+            this.properties = properties;
+            return this;
+        }
+
+        Builder searchIndex(ItemSearchIndex searchIndex) {
+            this.searchIndex = searchIndex;
+            return this;
+        }
+
+        Builder futures(FirestoreFutures futures) {
+            this.futures = futures;
+            return this;
+        }
+
+        Builder meterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        Builder hotspotTracker(HotspotTracker hotspotTracker) {
+            this.hotspotTracker = hotspotTracker;
+            return this;
+        }
+
+        Builder queryCapabilities(QueryCapabilities queryCapabilities) {
+            this.queryCapabilities = queryCapabilities;
+            return this;
+        }
+
+        Builder matchPipeline(ItemMatchPipeline matchPipeline) {
+            this.matchPipeline = matchPipeline;
+            return this;
+        }
+
+        ItemService build() {
+            HotspotTracker tracker = hotspotTracker != null ? hotspotTracker : new HotspotTracker(properties);
+            return new ItemService(
+                    firebaseFacade,
+                    properties,
+                    searchIndex,
+                    new ItemDetailCache(properties, meterRegistry),
+                    futures,
+                    new DashboardRollups(futures, tracker),
+                    tracker,
+                    queryCapabilities != null ? queryCapabilities : new QueryCapabilities(properties),
+                    matchPipeline != null
+                            ? matchPipeline
+                            : new ItemMatchPipeline(firebaseFacade, properties, searchIndex, futures, meterRegistry));
+        }
+    }
+}
@@ -3,10 +3,15 @@ package com.claimwildcats.api.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.claimwildcats.api.domain.ReportCounts;
 import com.claimwildcats.api.domain.UserProfile;
 import com.claimwildcats.api.domain.UserRole;
+import com.claimwildcats.api.dto.ClaimPage;
+import com.google.api.core.ApiFutures;
 import com.google.api.core.SettableApiFuture;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.CollectionReference;
@@ -15,6 +20,7 @@ import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -31,9 +37,11 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(itemService, claimService, firebaseFacade);
-        lenient().when(itemService.listReportsForUser("user-1")).thenReturn(List.of());
-        lenient().when(claimService.listClaimsForUser("user-1")).thenReturn(List.of());
+        userService = new UserService(itemService, claimService, firebaseFacade, new FirestoreFutures(Runnable::run));
+        lenient().when(itemService.countReportsForUserAsync("user-1"))
+                .thenReturn(CompletableFuture.completedFuture(new ReportCounts(0, 0)));
+        lenient().when(claimService.listClaimsForUserAsync("user-1", null, null, ClaimService.DEFAULT_PAGE_SIZE, false))
+                .thenReturn(CompletableFuture.completedFuture(new ClaimPage(List.of(), ClaimService.DEFAULT_PAGE_SIZE, null)));
         lenient().when(firebaseFacade.getFirestore()).thenReturn(Optional.of(firestore));
         lenient().when(firestore.collection("users")).thenReturn(usersCollection);
         lenient().when(usersCollection.document("user-1")).thenReturn(userDocument);
@@ -59,6 +67,24 @@ class UserServiceTest {
         assertThat(profile.role()).isEqualTo(UserRole.ADMIN);
     }
 
+    @Test
+    void getProfileAsync_readsUserDocumentWhileReportsAreCounted() {
+        CompletableFuture<ReportCounts> counts = new CompletableFuture<>();
+        when(itemService.countReportsForUserAsync("user-1")).thenReturn(counts);
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.exists()).thenReturn(false);
+        when(userDocument.get()).thenReturn(ApiFutures.immediateFuture(snapshot));
+
+        CompletableFuture<UserProfile> profile = userService.getProfileAsync("user-1");
+
+        verify(userDocument).get();
+        assertThat(profile).isNotDone();
+        counts.complete(new ReportCounts(3, 2));
+        assertThat(profile.join().openReports()).isEqualTo(3);
+        assertThat(profile.join().resolvedReports()).isEqualTo(2);
+        verify(itemService, never()).listReportsForUserAsync("user-1");
+    }
+
     @Test
     void getProfile_fallbackWhenFirestoreMissing() {
         when(firebaseFacade.getFirestore()).thenReturn(Optional.empty());
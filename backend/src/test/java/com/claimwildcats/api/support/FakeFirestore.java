@@ -0,0 +1,922 @@
+package com.claimwildcats.api.support;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.ApiExceptionFactory;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.AggregateQuery;
+import com.google.cloud.firestore.AggregateQuerySnapshot;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentChange;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.EventListener;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreException;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.Transaction;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mockito.invocation.InvocationOnMock;
+import io.grpc.Status;
+import org.mockito.stubbing.Answer;
+
+/**
+ * In-process stand-in for {@link Firestore} backed by plain maps. Every call that would be a network round trip
+ * (document reads and writes, {@code getAll}, queries, aggregations, batch and transaction commits) is counted so
+ * tests can assert how many RPCs a service method issues. Transactions use optimistic concurrency: a commit whose
+ * reads were overwritten in the meantime is rejected and the transaction function is run again, as the real client
+ * does. Merged writes merge nested maps and apply {@code FieldValue.increment} and {@code FieldValue.delete()}.
+ * Updates merge the same way but fail with {@code NOT_FOUND} when the document does not exist, and a batch holding
+ * such an update applies none of its writes.
+ *
+ * <p>Queries support {@code whereEqualTo}, {@code orderBy}, {@code offset}, {@code limit}, {@code startAfter} and
+ * {@code count()}. {@link #withLatency(Duration)} and {@link #withBlockingLatency(Duration)} make every RPC slow for
+ * load tests, {@link #withLatencyJitter(Duration)} spreads that latency, and {@link #withErrorRate(double)} fails a
+ * share of RPCs with {@code UNAVAILABLE}. {@link #requireCompositeIndexes()} rejects queries that real Firestore
+ * only serves from a composite index, with the same {@code FAILED_PRECONDITION} message, until the index is
+ * declared with {@link #withCompositeIndex}. The mocks are stub-only and answer through a single dispatching answer,
+ * so they record nothing and stay cheap under heavy concurrency.
+ *
+ * <p>Collections accept {@code addSnapshotListener}. A new listener gets every stored document as {@code ADDED},
+ * then one event per seed, write, batch or transaction commit and {@code delete} with the {@code ADDED},
+ * {@code MODIFIED} or {@code REMOVED} changes it made. Events are delivered one at a time on the writing thread, so
+ * a write made by a listener reaches it after the event it is handling. {@link #failSnapshotListeners(String)} ends
+ * a collection's listeners with an error, as a dropped listen stream does.
+ */
+public class FakeFirestore {
+
+    private static final int MAX_TRANSACTION_ATTEMPTS = 5;
+    private static final ScheduledExecutorService LATENCY_TIMER =
+            Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "fake-firestore-latency");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Map<String, Map<String, StoredDocument>> collections = new ConcurrentHashMap<>();
+    private final Map<String, CollectionReference> collectionRefs = new ConcurrentHashMap<>();
+    private final Map<DocumentReference, DocumentKey> documentKeys = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> operations = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicInteger transactionRetries = new AtomicInteger();
+    private final Firestore firestore;
+    private volatile Runnable commitHook = () -> { };
+    private volatile Duration latency = Duration.ZERO;
+    private volatile boolean blockCaller;
+    private volatile Duration jitter = Duration.ZERO;
+    private volatile double errorRate;
+    private final AtomicInteger injectedErrors = new AtomicInteger();
+    private volatile boolean enforceIndexes;
+    private final Set<String> compositeIndexes = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<EventListener<QuerySnapshot>>> listeners = new HashMap<>();
+    private final ArrayDeque<Runnable> pendingEvents = new ArrayDeque<>();
+    private boolean delivering;
+
+    public FakeFirestore() {
+        firestore = stub(Firestore.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "collection" -> collection(invocation.getArgument(0));
+            case "runTransaction" -> runTransaction(invocation.getArgument(0));
+            case "batch" -> batch();
+            case "getAll" -> getAll((DocumentReference[]) invocation.getRawArguments()[0]);
+            default -> RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    public Firestore firestore() {
+        return firestore;
+    }
+
+    /** Completes every RPC {@code latency} later on a timer thread, like a network round trip. */
+    public FakeFirestore withLatency(Duration latency) {
+        this.latency = latency;
+        this.blockCaller = false;
+        return this;
+    }
+
+    /** Makes every RPC sleep for {@code latency} on the calling thread, like a client blocking in {@code get()}. */
+    public FakeFirestore withBlockingLatency(Duration latency) {
+        this.latency = latency;
+        this.blockCaller = true;
+        return this;
+    }
+
+    /** Adds a uniformly random extra delay of up to {@code jitter} to every RPC. */
+    public FakeFirestore withLatencyJitter(Duration jitter) {
+        this.jitter = jitter;
+        return this;
+    }
+
+    /** Fails each RPC with probability {@code rate} with an {@code UNAVAILABLE} error, after its latency. */
+    public FakeFirestore withErrorRate(double rate) {
+        this.errorRate = rate;
+        return this;
+    }
+
+    /** Number of RPCs failed by {@link #withErrorRate(double)}. */
+    public int injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    /**
+     * Rejects queries that combine equality filters with an ordering on another field, as Firestore does when no
+     * composite index covers them. Queries on a single field, or with equality filters only, always run.
+     */
+    public FakeFirestore requireCompositeIndexes() {
+        this.enforceIndexes = true;
+        return this;
+    }
+
+    /** Declares a composite index over {@code fields} on {@code collection}; field order does not matter here. */
+    public FakeFirestore withCompositeIndex(String collection, String... fields) {
+        compositeIndexes.add(indexKey(collection, Arrays.asList(fields)));
+        return this;
+    }
+
+    public synchronized void seed(String collection, String id, Map<String, Object> data) {
+        StoredDocument stored = new StoredDocument(new HashMap<>(data), Timestamp.now(), versions.incrementAndGet());
+        StoredDocument existing = documents(collection).put(id, stored);
+        publish(List.of(new Change(new DocumentKey(collection, id), changeType(existing), stored)));
+    }
+
+    public Map<String, Object> data(String collection, String id) {
+        StoredDocument stored = documents(collection).get(id);
+        return stored == null ? null : Map.copyOf(stored.data());
+    }
+
+    /** Total round trips issued against the fake. */
+    public int roundTrips() {
+        return operations.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * Round trips of a single kind: {@code get}, {@code set}, {@code update}, {@code delete}, {@code query},
+     * {@code count} or {@code commit}.
+     */
+    public int roundTrips(String operation) {
+        AtomicInteger count = operations.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    public void resetCounts() {
+        operations.clear();
+        transactionRetries.set(0);
+    }
+
+    /** Number of transaction attempts that were rejected because a document they read changed. */
+    public int transactionRetries() {
+        return transactionRetries.get();
+    }
+
+    /** Number of snapshot listeners currently registered on {@code collection}. */
+    public synchronized int snapshotListeners(String collection) {
+        List<EventListener<QuerySnapshot>> registered = listeners.get(collection);
+        return registered == null ? 0 : registered.size();
+    }
+
+    /**
+     * Waits up to five seconds until {@code collection} has {@code count} snapshot listeners, each of which has
+     * received its initial event, e.g. after a service subscribes again on another thread.
+     */
+    public synchronized void awaitSnapshotListeners(String collection, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (snapshotListeners(collection) < count) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new AssertionError("Expected " + count + " snapshot listeners on " + collection
+                        + " but found " + snapshotListeners(collection));
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+    }
+
+    /**
+     * Ends every snapshot listener on {@code collection} with an {@code UNAVAILABLE} error. As in the SDK, an error
+     * is a listener's last event; later writes no longer reach it.
+     */
+    public synchronized void failSnapshotListeners(String collection) {
+        List<EventListener<QuerySnapshot>> failed = listeners.remove(collection);
+        if (failed == null) {
+            return;
+        }
+        FirestoreException error = FirestoreException.forServerRejection(
+                Status.UNAVAILABLE, "UNAVAILABLE: listen stream closed by FakeFirestore");
+        failed.forEach(listener -> deliver(() -> listener.onEvent(null, error)));
+    }
+
+    /** Runs {@code hook} on the calling thread right before every transaction commit is validated. */
+    public void beforeEachCommit(Runnable hook) {
+        this.commitHook = hook;
+    }
+
+    private Map<String, StoredDocument> documents(String collection) {
+        return collections.computeIfAbsent(collection, key -> new ConcurrentHashMap<>());
+    }
+
+    private void count(String operation) {
+        operations.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Answers an RPC after the configured latency; {@code result} is evaluated when the response is sent, and an
+     * exception it throws fails the returned future.
+     */
+    private <T> ApiFuture<T> respond(Callable<T> result) throws Exception {
+        Duration delay = latency;
+        if (!jitter.isZero()) {
+            delay = delay.plusNanos(ThreadLocalRandom.current().nextLong(jitter.toNanos()));
+        }
+        Callable<T> answer = result;
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrors.incrementAndGet();
+            answer = () -> {
+                throw error(Status.Code.UNAVAILABLE, "UNAVAILABLE: injected by FakeFirestore");
+            };
+        }
+        if (delay.isZero()) {
+            return completed(answer);
+        }
+        if (blockCaller) {
+            Thread.sleep(delay.toMillis());
+            return completed(answer);
+        }
+        SettableApiFuture<T> future = SettableApiFuture.create();
+        Callable<T> delayed = answer;
+        LATENCY_TIMER.schedule(() -> {
+            try {
+                future.set(delayed.call());
+            } catch (Exception e) {
+                future.setException(e);
+            }
+        }, delay.toNanos(), TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    private static <T> ApiFuture<T> completed(Callable<T> answer) {
+        try {
+            return ApiFutures.immediateFuture(answer.call());
+        } catch (Exception e) {
+            return ApiFutures.immediateFailedFuture(e);
+        }
+    }
+
+    private static ApiException error(Status.Code code, String message) {
+        return ApiExceptionFactory.createException(message, null, GrpcStatusCode.of(code), false);
+    }
+
+    /** Fails like Firestore when {@link #requireCompositeIndexes()} is on and no declared index covers {@code spec}. */
+    private void checkIndex(QuerySpec spec) {
+        if (!enforceIndexes || spec.filters().isEmpty()) {
+            return;
+        }
+        Set<String> equalityFields = new TreeSet<>();
+        spec.filters().forEach(filter -> equalityFields.add(filter.field().toString()));
+        List<String> orderedFields = new ArrayList<>();
+        for (Order order : spec.orders()) {
+            if (!isDocumentId(order.field()) && !equalityFields.contains(fieldName(order))) {
+                orderedFields.add(fieldName(order));
+            }
+        }
+        if (orderedFields.isEmpty()) {
+            return;
+        }
+        List<String> fields = new ArrayList<>(equalityFields);
+        fields.addAll(orderedFields);
+        if (!compositeIndexes.contains(indexKey(spec.collection(), fields))) {
+            throw error(Status.Code.FAILED_PRECONDITION,
+                    "FAILED_PRECONDITION: The query requires an index. You can create it here: "
+                            + "https://console.firebase.google.com/project/fake/firestore/indexes?create_composite="
+                            + String.join(",", fields));
+        }
+    }
+
+    private static String indexKey(String collection, List<String> fields) {
+        return collection + ":" + String.join(",", new TreeSet<>(fields));
+    }
+
+    private CollectionReference collection(String name) {
+        return collectionRefs.computeIfAbsent(name, key -> {
+            QuerySpec spec = QuerySpec.of(name);
+            return stub(CollectionReference.class, invocation -> switch (invocation.getMethod().getName()) {
+                case "getId" -> name;
+                case "document" -> document(
+                        name, invocation.getArguments().length == 0 ? UUID.randomUUID().toString() : invocation.getArgument(0));
+                // The listener is the last argument of every overload.
+                case "addSnapshotListener" -> addSnapshotListener(
+                        name, invocation.getArgument(invocation.getArguments().length - 1));
+                default -> answerQuery(spec, invocation);
+            });
+        });
+    }
+
+    private DocumentReference document(String collection, String id) {
+        DocumentKey key = new DocumentKey(collection, id);
+        DocumentReference reference = stub(DocumentReference.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "getId" -> id;
+            case "set" -> {
+                count("set");
+                boolean merge = invocation.getArguments().length > 1;
+                Map<String, Object> fields = invocation.getArgument(0);
+                yield respond(() -> write(key, fields, merge));
+            }
+            case "update" -> {
+                count("update");
+                Map<String, Object> fields = invocation.getArgument(0);
+                yield respond(() -> commit(List.of(PendingWrite.update(key, fields))).get(0));
+            }
+            case "delete" -> {
+                count("delete");
+                yield respond(() -> delete(key));
+            }
+            case "get" -> {
+                count("get");
+                yield respond(() -> snapshot(DocumentSnapshot.class, collection, id));
+            }
+            default -> RETURNS_DEFAULTS.answer(invocation);
+        });
+        documentKeys.put(reference, key);
+        return reference;
+    }
+
+    /** Answers a multi-document read in request order, as one round trip. */
+    private ApiFuture<List<DocumentSnapshot>> getAll(DocumentReference[] references) throws Exception {
+        count("get");
+        return respond(() -> {
+            List<DocumentSnapshot> snapshots = new ArrayList<>(references.length);
+            for (DocumentReference reference : references) {
+                DocumentKey key = documentKeys.get(reference);
+                snapshots.add(snapshot(DocumentSnapshot.class, key.collection(), key.id()));
+            }
+            return snapshots;
+        });
+    }
+
+    private WriteBatch batch() {
+        List<PendingWrite> writes = new ArrayList<>();
+        WriteBatch[] self = new WriteBatch[1];
+        self[0] = stub(WriteBatch.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "set" -> {
+                writes.add(new PendingWrite(
+                        documentKeys.get(invocation.<DocumentReference>getArgument(0)),
+                        invocation.getArgument(1),
+                        invocation.getArguments().length > 2));
+                yield self[0];
+            }
+            case "update" -> {
+                writes.add(PendingWrite.update(
+                        documentKeys.get(invocation.<DocumentReference>getArgument(0)), invocation.getArgument(1)));
+                yield self[0];
+            }
+            case "commit" -> {
+                count("commit");
+                yield respond(() -> commit(writes));
+            }
+            default -> RETURNS_DEFAULTS.answer(invocation);
+        });
+        return self[0];
+    }
+
+    private Query query(QuerySpec spec) {
+        return stub(Query.class, invocation -> answerQuery(spec, invocation));
+    }
+
+    private Object answerQuery(QuerySpec spec, InvocationOnMock invocation) throws Throwable {
+        Object[] args = invocation.getArguments();
+        return switch (invocation.getMethod().getName()) {
+            case "whereEqualTo" -> query(spec.whereEqualTo(args[0], args[1]));
+            case "orderBy" -> query(spec.orderBy(
+                    args[0], args.length > 1 ? (Query.Direction) args[1] : Query.Direction.ASCENDING));
+            case "limit" -> query(spec.withLimit((Integer) args[0]));
+            case "offset" -> query(spec.withOffset((Integer) args[0]));
+            // Mockito hands varargs over expanded, one field per argument.
+            case "select" -> query(spec.select(args));
+            case "startAfter" -> query(spec.startAfter(
+                    invocation.getMethod().getParameterTypes()[0] == DocumentSnapshot.class
+                            ? cursorValues(spec, (DocumentSnapshot) args[0])
+                            : Arrays.asList(args)));
+            case "get" -> {
+                count("query");
+                yield respond(() -> {
+                    checkIndex(spec);
+                    return querySnapshot(spec.collection(), run(spec), spec.fields(), List.of());
+                });
+            }
+            case "count" -> stub(AggregateQuery.class, aggregate -> {
+                if (!aggregate.getMethod().getName().equals("get")) {
+                    return RETURNS_DEFAULTS.answer(aggregate);
+                }
+                count("count");
+                return respond(() -> {
+                    checkIndex(spec);
+                    long total = run(spec).size();
+                    return stub(AggregateQuerySnapshot.class, snapshot ->
+                            snapshot.getMethod().getName().equals("getCount") ? total : RETURNS_DEFAULTS.answer(snapshot));
+                });
+            });
+            case "hashCode", "equals", "toString" -> RETURNS_DEFAULTS.answer(invocation);
+            default -> throw new UnsupportedOperationException(
+                    "FakeFirestore does not support Query." + invocation.getMethod().getName());
+        };
+    }
+
+    /** Evaluates {@code spec} against the stored documents, returning ids in query order. */
+    private List<String> run(QuerySpec spec) {
+        Map<String, StoredDocument> documents = documents(spec.collection());
+        List<String> ids = new ArrayList<>();
+        for (Map.Entry<String, StoredDocument> entry : documents.entrySet()) {
+            // Firestore leaves documents that lack an ordered field out of the result.
+            boolean hasOrderedFields = spec.orders().stream()
+                    .allMatch(order -> isDocumentId(order.field()) || entry.getValue().data().containsKey(fieldName(order)));
+            boolean matchesFilters = spec.filters().stream()
+                    .allMatch(filter -> matches(filter, entry.getKey(), entry.getValue()));
+            if (hasOrderedFields && matchesFilters) {
+                ids.add(entry.getKey());
+            }
+        }
+        Comparator<String> order = (left, right) -> compareKeys(spec, documents, left, right);
+        ids.sort(order);
+        List<String> matching = ids;
+        if (spec.startAfter() != null) {
+            matching = new ArrayList<>();
+            for (String id : ids) {
+                if (compareToCursor(spec, documents, id) > 0) {
+                    matching.add(id);
+                }
+            }
+        }
+        int from = Math.min(spec.offset(), matching.size());
+        int to = spec.limit() < 0 ? matching.size() : Math.min(matching.size(), from + spec.limit());
+        return List.copyOf(matching.subList(from, to));
+    }
+
+    private static boolean matches(Filter filter, String id, StoredDocument stored) {
+        Object actual = isDocumentId(filter.field()) ? id : stored.data().get(filter.field().toString());
+        return actual != null && compareValues(actual, filter.value()) == 0;
+    }
+
+    private int compareKeys(QuerySpec spec, Map<String, StoredDocument> documents, String left, String right) {
+        Query.Direction last = Query.Direction.ASCENDING;
+        for (Order order : spec.orders()) {
+            int result = compareValues(valueOf(documents, left, order), valueOf(documents, right, order));
+            if (result != 0) {
+                return order.direction() == Query.Direction.DESCENDING ? -result : result;
+            }
+            last = order.direction();
+        }
+        int byId = left.compareTo(right);
+        return last == Query.Direction.DESCENDING ? -byId : byId;
+    }
+
+    private int compareToCursor(QuerySpec spec, Map<String, StoredDocument> documents, String id) {
+        List<Object> cursor = spec.startAfter();
+        for (int i = 0; i < cursor.size() && i < spec.orders().size(); i++) {
+            Order order = spec.orders().get(i);
+            int result = compareValues(valueOf(documents, id, order), cursor.get(i));
+            if (result != 0) {
+                return order.direction() == Query.Direction.DESCENDING ? -result : result;
+            }
+        }
+        return 0;
+    }
+
+    private List<Object> cursorValues(QuerySpec spec, DocumentSnapshot snapshot) {
+        List<Object> values = new ArrayList<>();
+        for (Order order : spec.orders()) {
+            values.add(isDocumentId(order.field()) ? snapshot.getId() : snapshot.get(fieldName(order)));
+        }
+        return values;
+    }
+
+    private Object valueOf(Map<String, StoredDocument> documents, String id, Order order) {
+        if (isDocumentId(order.field())) {
+            return id;
+        }
+        StoredDocument stored = documents.get(id);
+        return stored == null ? null : stored.data().get(fieldName(order));
+    }
+
+    private static boolean isDocumentId(Object field) {
+        return FieldPath.documentId().equals(field);
+    }
+
+    private static String fieldName(Order order) {
+        return order.field().toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object left, Object right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == null) {
+            return -1;
+        }
+        if (right == null) {
+            return 1;
+        }
+        if (left instanceof Number a && right instanceof Number b) {
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        if (left.getClass() == right.getClass() && left instanceof Comparable<?>) {
+            return ((Comparable<Object>) left).compareTo(right);
+        }
+        return left.getClass().getName().compareTo(right.getClass().getName());
+    }
+
+    private synchronized WriteResult write(DocumentKey key, Map<String, Object> fields, boolean merge) {
+        Timestamp commitTime = Timestamp.now();
+        publish(List.of(apply(new PendingWrite(key, fields, merge), commitTime)));
+        return writeResult(commitTime);
+    }
+
+    private synchronized WriteResult delete(DocumentKey key) {
+        StoredDocument removed = documents(key.collection()).remove(key.id());
+        if (removed != null) {
+            publish(List.of(new Change(key, DocumentChange.Type.REMOVED, removed)));
+        }
+        return writeResult(Timestamp.now());
+    }
+
+    private synchronized List<WriteResult> commit(List<PendingWrite> writes) {
+        for (PendingWrite write : writes) {
+            if (write.mustExist() && !documents(write.key().collection()).containsKey(write.key().id())) {
+                throw error(Status.Code.NOT_FOUND, "NOT_FOUND: No document to update: " + write.key().id());
+            }
+        }
+        Timestamp commitTime = Timestamp.now();
+        List<WriteResult> results = new ArrayList<>(writes.size());
+        List<Change> changes = new ArrayList<>(writes.size());
+        for (PendingWrite write : writes) {
+            changes.add(apply(write, commitTime));
+            results.add(writeResult(commitTime));
+        }
+        publish(changes);
+        return results;
+    }
+
+    private static WriteResult writeResult(Timestamp commitTime) {
+        return stub(WriteResult.class, invocation ->
+                invocation.getMethod().getName().equals("getUpdateTime") ? commitTime : RETURNS_DEFAULTS.answer(invocation));
+    }
+
+    private Change apply(PendingWrite write, Timestamp commitTime) {
+        Map<String, StoredDocument> documents = documents(write.key().collection());
+        StoredDocument existing = documents.get(write.key().id());
+        Map<String, Object> data = write.merge() && existing != null ? new HashMap<>(existing.data()) : new HashMap<>();
+        mergeFields(data, write.fields(), commitTime);
+        StoredDocument stored = new StoredDocument(data, commitTime, versions.incrementAndGet());
+        documents.put(write.key().id(), stored);
+        return new Change(write.key(), changeType(existing), stored);
+    }
+
+    private static DocumentChange.Type changeType(StoredDocument existing) {
+        return existing == null ? DocumentChange.Type.ADDED : DocumentChange.Type.MODIFIED;
+    }
+
+    /** Registers {@code listener} and sends it the collection as it stands, every document {@code ADDED}. */
+    private synchronized ListenerRegistration addSnapshotListener(String collection, EventListener<QuerySnapshot> listener) {
+        listeners.computeIfAbsent(collection, key -> new ArrayList<>()).add(listener);
+        List<String> ids = new ArrayList<>(new TreeSet<>(documents(collection).keySet()));
+        List<DocumentChange> initial = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            initial.add(documentChange(collection, id, DocumentChange.Type.ADDED, documents(collection).get(id)));
+        }
+        QuerySnapshot snapshot = querySnapshot(collection, ids, null, initial);
+        deliver(() -> listener.onEvent(snapshot, null));
+        notifyAll();
+        return stub(ListenerRegistration.class, invocation -> {
+            if (invocation.getMethod().getName().equals("remove")) {
+                removeListener(collection, listener);
+                return null;
+            }
+            return RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    private synchronized void removeListener(String collection, EventListener<QuerySnapshot> listener) {
+        List<EventListener<QuerySnapshot>> registered = listeners.get(collection);
+        if (registered != null && registered.remove(listener) && registered.isEmpty()) {
+            listeners.remove(collection);
+        }
+    }
+
+    /** Sends one event per collection, holding the changes of a single write, to that collection's listeners. */
+    private synchronized void publish(List<Change> changes) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Map<String, List<DocumentChange>> byCollection = new LinkedHashMap<>();
+        for (Change change : changes) {
+            String collection = change.key().collection();
+            if (listeners.containsKey(collection)) {
+                byCollection.computeIfAbsent(collection, key -> new ArrayList<>()).add(
+                        documentChange(collection, change.key().id(), change.type(), change.stored()));
+            }
+        }
+        byCollection.forEach((collection, documentChanges) -> {
+            List<String> ids = new ArrayList<>(new TreeSet<>(documents(collection).keySet()));
+            QuerySnapshot snapshot = querySnapshot(collection, ids, null, documentChanges);
+            for (EventListener<QuerySnapshot> listener : List.copyOf(listeners.get(collection))) {
+                deliver(() -> {
+                    if (listeners.getOrDefault(collection, List.of()).contains(listener)) {
+                        listener.onEvent(snapshot, null);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Runs {@code event} now, or after the event being delivered when a listener wrote to the fake while handling
+     * it, so each listener sees its events in order and one at a time. Holds the lock throughout.
+     */
+    private synchronized void deliver(Runnable event) {
+        pendingEvents.add(event);
+        if (delivering) {
+            return;
+        }
+        delivering = true;
+        try {
+            Runnable next;
+            while ((next = pendingEvents.poll()) != null) {
+                next.run();
+            }
+        } finally {
+            delivering = false;
+        }
+    }
+
+    private DocumentChange documentChange(String collection, String id, DocumentChange.Type type, StoredDocument stored) {
+        QueryDocumentSnapshot document = FirestoreSnapshots.of(collection, id, stored.data(), stored.updateTime());
+        return stub(DocumentChange.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "getType" -> type;
+            case "getDocument" -> document;
+            default -> RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    /** Applies {@code fields} onto {@code target}, merging nested maps and resolving field transforms. */
+    @SuppressWarnings("unchecked")
+    private void mergeFields(Map<String, Object> target, Map<String, Object> fields, Timestamp commitTime) {
+        fields.forEach((field, value) -> {
+            if (FieldValue.delete().equals(value)) {
+                target.remove(field);
+            } else if (value instanceof Map<?, ?> nested) {
+                Map<String, Object> merged = target.get(field) instanceof Map<?, ?> current
+                        ? new HashMap<>((Map<String, Object>) current)
+                        : new HashMap<>();
+                mergeFields(merged, (Map<String, Object>) nested, commitTime);
+                target.put(field, merged);
+            } else if (value instanceof FieldValue transform && incrementOperand(transform) != null) {
+                target.put(field, add(target.get(field), incrementOperand(transform)));
+            } else {
+                target.put(field, resolve(value, commitTime));
+            }
+        });
+    }
+
+    private static Number incrementOperand(FieldValue transform) {
+        try {
+            Field operand = transform.getClass().getDeclaredField("operand");
+            operand.setAccessible(true);
+            return (Number) operand.get(transform);
+        } catch (NoSuchFieldException ex) {
+            return null;
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Number add(Object current, Number operand) {
+        Number base = current instanceof Number number ? number : 0L;
+        boolean integral = !(base instanceof Double || base instanceof Float)
+                && !(operand instanceof Double || operand instanceof Float);
+        return integral ? (Number) (base.longValue() + operand.longValue()) : (Number) (base.doubleValue() + operand.doubleValue());
+    }
+
+    /** Runs the transaction function on the calling thread, retrying it when a document it read has changed. */
+    private <T> ApiFuture<T> runTransaction(Transaction.Function<T> function) {
+        for (int attempt = 0; attempt < MAX_TRANSACTION_ATTEMPTS; attempt++) {
+            Map<DocumentKey, Long> readVersions = new ConcurrentHashMap<>();
+            List<PendingWrite> writes = new ArrayList<>();
+            Transaction[] self = new Transaction[1];
+            self[0] = stub(Transaction.class, invocation -> switch (invocation.getMethod().getName()) {
+                case "get" -> {
+                    count("get");
+                    DocumentKey key = documentKeys.get(invocation.<DocumentReference>getArgument(0));
+                    yield respond(() -> {
+                        synchronized (this) {
+                            StoredDocument stored = documents(key.collection()).get(key.id());
+                            readVersions.put(key, stored == null ? 0L : stored.version());
+                            return snapshot(DocumentSnapshot.class, key.collection(), key.id());
+                        }
+                    });
+                }
+                case "set" -> {
+                    writes.add(new PendingWrite(
+                            documentKeys.get(invocation.<DocumentReference>getArgument(0)),
+                            invocation.getArgument(1),
+                            invocation.getArguments().length > 2));
+                    yield self[0];
+                }
+                default -> RETURNS_DEFAULTS.answer(invocation);
+            });
+
+            T result;
+            try {
+                result = function.updateCallback(self[0]);
+            } catch (Exception e) {
+                return ApiFutures.immediateFailedFuture(e);
+            }
+            commitHook.run();
+            count("commit");
+            synchronized (this) {
+                boolean unchanged = readVersions.entrySet().stream().allMatch(read -> {
+                    StoredDocument current = documents(read.getKey().collection()).get(read.getKey().id());
+                    return (current == null ? 0L : current.version()) == read.getValue();
+                });
+                if (unchanged) {
+                    Timestamp commitTime = Timestamp.now();
+                    List<Change> changes = new ArrayList<>(writes.size());
+                    writes.forEach(write -> changes.add(apply(write, commitTime)));
+                    publish(changes);
+                    return ApiFutures.immediateFuture(result);
+                }
+            }
+            transactionRetries.incrementAndGet();
+        }
+        return ApiFutures.immediateFailedFuture(new IllegalStateException("Transaction aborted after repeated contention"));
+    }
+
+    private Object resolve(Object value, Timestamp commitTime) {
+        return FieldValue.serverTimestamp().equals(value) ? commitTime : value;
+    }
+
+    /**
+     * Snapshots of {@code ids}, holding only {@code fields} when the query selected some, and the listener
+     * {@code changes} that led to them.
+     */
+    private QuerySnapshot querySnapshot(
+            String collection, List<String> ids, Set<String> fields, List<DocumentChange> changes) {
+        // Documents are captured when the query runs, as a real query snapshot would be. They are genuine SDK
+        // snapshots rather than stubs: a scan reads hundreds of them, and every stubbed call walks the stack.
+        List<QueryDocumentSnapshot> documents = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            StoredDocument stored = documents(collection).get(id);
+            if (stored != null) {
+                Map<String, Object> data = stored.data();
+                if (fields != null) {
+                    data = new HashMap<>(data);
+                    data.keySet().retainAll(fields);
+                }
+                documents.add(FirestoreSnapshots.of(collection, id, data, stored.updateTime()));
+            }
+        }
+        return stub(QuerySnapshot.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "getDocuments" -> documents;
+            case "getDocumentChanges" -> changes;
+            case "size" -> documents.size();
+            case "isEmpty" -> documents.isEmpty();
+            case "iterator" -> documents.iterator();
+            default -> RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    private <S extends DocumentSnapshot> S snapshot(Class<S> type, String collection, String id) {
+        StoredDocument stored = documents(collection).get(id);
+        Map<String, Object> data = stored == null ? Map.of() : new HashMap<>(stored.data());
+        return stub(type, invocation -> {
+            Object field = invocation.getArguments().length > 0 ? invocation.getArgument(0) : null;
+            Object value = field == null ? null : data.get(field.toString());
+            return switch (invocation.getMethod().getName()) {
+                case "getId" -> id;
+                case "exists" -> stored != null;
+                case "getData" -> stored == null ? null : data;
+                case "getUpdateTime" -> stored == null ? null : stored.updateTime();
+                case "contains" -> data.containsKey(field.toString());
+                case "get" -> value;
+                case "getString" -> value instanceof String text ? text : null;
+                case "getTimestamp" -> value instanceof Timestamp timestamp ? timestamp : null;
+                case "getBoolean" -> value instanceof Boolean flag ? flag : null;
+                case "getLong" -> value instanceof Number number ? number.longValue() : null;
+                case "getDouble" -> value instanceof Number number ? number.doubleValue() : null;
+                default -> RETURNS_DEFAULTS.answer(invocation);
+            };
+        });
+    }
+
+    private static <T> T stub(Class<T> type, Answer<?> answer) {
+        return mock(type, withSettings().stubOnly().defaultAnswer(answer));
+    }
+
+    private record DocumentKey(String collection, String id) {
+    }
+
+    private record PendingWrite(DocumentKey key, Map<String, Object> fields, boolean merge, boolean mustExist) {
+
+        PendingWrite(DocumentKey key, Map<String, Object> fields, boolean merge) {
+            this(key, fields, merge, false);
+        }
+
+        static PendingWrite update(DocumentKey key, Map<String, Object> fields) {
+            return new PendingWrite(key, fields, true, true);
+        }
+    }
+
+    private record StoredDocument(Map<String, Object> data, Timestamp updateTime, long version) {
+    }
+
+    /** One document a write touched; {@code stored} is the document as written, or as it was before a delete. */
+    private record Change(DocumentKey key, DocumentChange.Type type, StoredDocument stored) {
+    }
+
+    private record Order(Object field, Query.Direction direction) {
+    }
+
+    private record Filter(Object field, Object value) {
+    }
+
+    /** {@code fields} is null unless the query selected a projection. */
+    private record QuerySpec(
+            String collection,
+            List<Filter> filters,
+            List<Order> orders,
+            int offset,
+            int limit,
+            List<Object> startAfter,
+            Set<String> fields) {
+
+        static QuerySpec of(String collection) {
+            return new QuerySpec(collection, List.of(), List.of(), 0, -1, null, null);
+        }
+
+        QuerySpec whereEqualTo(Object field, Object value) {
+            List<Filter> next = new ArrayList<>(filters);
+            next.add(new Filter(field, value));
+            return new QuerySpec(collection, List.copyOf(next), orders, offset, limit, startAfter, fields);
+        }
+
+        QuerySpec orderBy(Object field, Query.Direction direction) {
+            List<Order> next = new ArrayList<>(orders);
+            next.add(new Order(field, direction));
+            return new QuerySpec(collection, filters, List.copyOf(next), offset, limit, startAfter, fields);
+        }
+
+        QuerySpec withLimit(int value) {
+            return new QuerySpec(collection, filters, orders, offset, value, startAfter, fields);
+        }
+
+        QuerySpec withOffset(int value) {
+            return new QuerySpec(collection, filters, orders, value, limit, startAfter, fields);
+        }
+
+        QuerySpec startAfter(List<Object> values) {
+            return new QuerySpec(collection, filters, orders, offset, limit, values, fields);
+        }
+
+        QuerySpec select(Object[] selected) {
+            Set<String> next = new HashSet<>();
+            for (Object field : selected) {
+                // A document-id projection returns no fields at all.
+                if (!isDocumentId(field)) {
+                    next.add(field.toString());
+                }
+            }
+            return new QuerySpec(collection, filters, orders, offset, limit, startAfter, Set.copyOf(next));
+        }
+    }
+}
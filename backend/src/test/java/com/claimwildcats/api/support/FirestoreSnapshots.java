@@ -0,0 +1,112 @@
+package com.claimwildcats.api.support;
+
+import com.google.cloud.NoCredentials;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.firestore.v1.ArrayValue;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.MapValue;
+import com.google.firestore.v1.Value;
+import com.google.protobuf.NullValue;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds genuine {@link QueryDocumentSnapshot}s from plain maps, with fields encoded to Firestore {@code Value}
+ * protos as a query response would carry them. Benchmarks and {@link FakeFirestore}'s query and listener results use
+ * these instead of Mockito stubs so that field decoding is measured and mock bookkeeping is not. No RPC is ever made.
+ *
+ * <p>This adapter is the only test code that depends on Firestore SDK internals. Fields are encoded with the public
+ * proto builders, but the SDK has no public factory for query snapshots, so {@link #of(Document)} calls the
+ * package-private {@code QueryDocumentSnapshot.fromDocument} through a private lookup. If an SDK upgrade changes
+ * that method, this class fails to initialize and nothing else needs to change.
+ */
+public final class FirestoreSnapshots {
+
+    private static final String PROJECT_ID = "claimwildcats-benchmark";
+    private static final Firestore CONTEXT = FirestoreOptions.newBuilder()
+            .setProjectId(PROJECT_ID)
+            .setCredentials(NoCredentials.getInstance())
+            .build()
+            .getService();
+    private static final MethodHandle FROM_DOCUMENT = fromDocumentHandle();
+
+    private FirestoreSnapshots() {
+    }
+
+    public static QueryDocumentSnapshot of(String collection, String id, Map<String, Object> data) {
+        return of(collection, id, data, Timestamp.now());
+    }
+
+    /** As {@link #of(String, String, Map)}, with {@code updateTime} as the document's create and update time. */
+    public static QueryDocumentSnapshot of(
+            String collection, String id, Map<String, Object> data, Timestamp updateTime) {
+        return of(document(collection, id, data, updateTime));
+    }
+
+    /** The {@code Document} proto a query response carries for {@code data}, e.g. to measure its wire size. */
+    public static Document document(String collection, String id, Map<String, Object> data, Timestamp updateTime) {
+        Document.Builder document = Document.newBuilder()
+                .setName("projects/" + PROJECT_ID + "/databases/(default)/documents/" + collection + "/" + id)
+                .setCreateTime(updateTime.toProto())
+                .setUpdateTime(updateTime.toProto());
+        data.forEach((field, value) -> document.putFields(field, encode(value)));
+        return document.build();
+    }
+
+    /** A snapshot of a decoded {@code Document}, as the SDK builds one for each query result. */
+    public static QueryDocumentSnapshot of(Document document) {
+        try {
+            return (QueryDocumentSnapshot) FROM_DOCUMENT.invoke(
+                    CONTEXT, Timestamp.fromProto(document.getUpdateTime()), document);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to build a snapshot of " + document.getName(), ex);
+        }
+    }
+
+    /** Encodes the value types the services store, the way the SDK's own encoder does. */
+    private static Value encode(Object value) {
+        Value.Builder encoded = Value.newBuilder();
+        if (value == null) {
+            encoded.setNullValue(NullValue.NULL_VALUE);
+        } else if (value instanceof String text) {
+            encoded.setStringValue(text);
+        } else if (value instanceof Boolean flag) {
+            encoded.setBooleanValue(flag);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            encoded.setIntegerValue(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            encoded.setDoubleValue(((Number) value).doubleValue());
+        } else if (value instanceof Timestamp timestamp) {
+            encoded.setTimestampValue(timestamp.toProto());
+        } else if (value instanceof List<?> list) {
+            ArrayValue.Builder array = ArrayValue.newBuilder();
+            list.forEach(element -> array.addValues(encode(element)));
+            encoded.setArrayValue(array);
+        } else if (value instanceof Map<?, ?> map) {
+            MapValue.Builder fields = MapValue.newBuilder();
+            map.forEach((field, nested) -> fields.putFields(field.toString(), encode(nested)));
+            encoded.setMapValue(fields);
+        } else {
+            throw new IllegalArgumentException("Unsupported Firestore field value: " + value.getClass().getName());
+        }
+        return encoded.build();
+    }
+
+    private static MethodHandle fromDocumentHandle() {
+        try {
+            Class<?> rpcContext = Class.forName("com.google.cloud.firestore.FirestoreRpcContext");
+            return MethodHandles.privateLookupIn(QueryDocumentSnapshot.class, MethodHandles.lookup()).findStatic(
+                    QueryDocumentSnapshot.class,
+                    "fromDocument",
+                    MethodType.methodType(QueryDocumentSnapshot.class, rpcContext, Timestamp.class, Document.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.claimwildcats.api.support;
+
+import com.claimwildcats.api.domain.CampusZone;
+import com.claimwildcats.api.domain.ItemStatus;
+import com.google.cloud.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic item documents shaped like production reports: short titles built from common lost-and-found
+ * nouns and colours, one- to three-sentence descriptions, zero to five tags, a campus zone on most items, a spread
+ * of {@code createdAt} over the last 90 days and one to three photo URLs in the Firebase Storage download format.
+ * The same seed always yields the same documents, so benchmark and load runs are comparable.
+ */
+public final class SyntheticItems {
+
+    public static final String BUCKET = "claimwildcats-test.appspot.com";
+    public static final Instant EPOCH = Instant.parse("2026-10-18T00:00:00Z");
+
+    private static final String[] NOUNS = {
+        "wallet", "backpack", "umbrella", "water bottle", "calculator", "hoodie", "keys", "ID lanyard",
+        "earbuds", "laptop charger", "notebook", "eyeglasses", "jacket", "phone", "tumbler", "USB drive"
+    };
+    private static final String[] COLOURS = {
+        "black", "blue", "red", "grey", "green", "white", "pink", "navy", "brown", "yellow"
+    };
+    private static final String[] BRANDS = {"Jansport", "Hydro Flask", "Casio", "Nike", "Apple", "Samsung", "Adidas"};
+    private static final String[] LOCATIONS = {
+        "Library Atrium", "Engineering West", "Student Center", "Main Gym Lobby", "Chem Lab 2", "Canteen Annex",
+        "Parking Lot B", "Gate 1 Guardhouse", "Room 304", "Covered Walk"
+    };
+    private static final String[] SENTENCES = {
+        "Left on a table near the windows after the afternoon class.",
+        "Has a sticker on the front and a small scratch on one side.",
+        "Turned over to the guard on duty around lunchtime.",
+        "Name written inside but partly faded.",
+        "Found under a bench; looks well used.",
+        "Contains a few receipts and a library card."
+    };
+
+    private SyntheticItems() {
+    }
+
+    /** {@code count} item documents keyed by id, in creation order. */
+    public static Map<String, Map<String, Object>> documents(int count, long seed) {
+        Random random = new Random(seed);
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>(count * 2);
+        for (int index = 0; index < count; index++) {
+            String id = "item-%05d".formatted(index);
+            documents.put(id, document(id, random));
+        }
+        return documents;
+    }
+
+    private static Map<String, Object> document(String id, Random random) {
+        String noun = pick(NOUNS, random);
+        String colour = pick(COLOURS, random);
+        ItemStatus status = random.nextInt(10) < 6 ? ItemStatus.FOUND
+                : random.nextInt(4) == 0 ? ItemStatus.CLAIMED : ItemStatus.LOST;
+        Instant createdAt = EPOCH.minus(Duration.ofMinutes(random.nextInt(90 * 24 * 60)));
+
+        StringBuilder description = new StringBuilder(capitalise(colour) + " " + noun + ".");
+        for (int sentences = 1 + random.nextInt(3); sentences > 0; sentences--) {
+            description.append(' ').append(pick(SENTENCES, random));
+        }
+        List<String> tags = new ArrayList<>();
+        for (int tagCount = random.nextInt(6); tagCount > 0; tagCount--) {
+            tags.add(switch (random.nextInt(3)) {
+                case 0 -> colour;
+                case 1 -> pick(BRANDS, random).toLowerCase(Locale.US);
+                default -> noun.split(" ")[0];
+            });
+        }
+        List<String> docUrls = new ArrayList<>();
+        int photos = 1 + random.nextInt(3);
+        for (int photo = 1; photo <= photos; photo++) {
+            docUrls.add(downloadUrl(id, "photo-" + photo + (random.nextBoolean() ? ".jpg" : ".png")));
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", capitalise(colour) + " " + (random.nextInt(3) == 0 ? pick(BRANDS, random) + " " : "") + noun);
+        data.put("description", description.toString());
+        data.put("status", status.storageValue());
+        data.put("locationText", pick(LOCATIONS, random));
+        if (random.nextInt(10) > 0) {
+            data.put("campusZone", pick(CampusZone.values(), random).getJsonValue());
+        }
+        data.put("createdAt", Timestamp.of(Date.from(createdAt)));
+        data.put("lastSeenAt", Timestamp.of(Date.from(createdAt.minus(Duration.ofHours(random.nextInt(48))))));
+        data.put("tags", tags);
+        data.put("docUrls", docUrls);
+        data.put("reporterId", "user-" + random.nextInt(400));
+        return data;
+    }
+
+    /** A Firebase Storage download URL for {@code items/{itemId}/{fileName}} in {@link #BUCKET}. */
+    public static String downloadUrl(String itemId, String fileName) {
+        return "https://firebasestorage.googleapis.com/v0/b/" + BUCKET + "/o/items%2F" + itemId + "%2F" + fileName
+                + "?alt=media&token=" + Integer.toHexString((itemId + fileName).hashCode());
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalise(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}